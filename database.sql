@@ -5,6 +5,7 @@ CREATE TABLE IF NOT EXISTS customer (
     name VARCHAR(255) NOT NULL,
     phone BIGINT NOT NULL,
     email VARCHAR(255) NOT NULL UNIQUE,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     CONSTRAINT email_format CHECK (email ~* '^[A-Za-z0-9._%+-]+@[A-Za-z0-9.-]+\.[A-Z|a-z]{2,}$')
 );
 
@@ -14,30 +15,129 @@ CREATE TABLE IF NOT EXISTS product (
     name VARCHAR(255) NOT NULL,
     description VARCHAR(1000),
     price NUMERIC(10, 2) NOT NULL CHECK (price > 0),
-    is_active BOOLEAN NOT NULL DEFAULT TRUE
+    is_active BOOLEAN NOT NULL DEFAULT TRUE,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
 );
 
 -- Orders Table (renamed to avoid SQL keyword conflict)
+-- Partitioned by month of creation; the partition key must be part of the
+-- primary key. Partitions are created below and ahead of time by the
+-- application (orderapp.order-partitions)
 CREATE TABLE IF NOT EXISTS orders (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     customer_id BIGINT NOT NULL,
     total_amount NUMERIC(10, 2),
     status VARCHAR(50) NOT NULL DEFAULT 'PENDING',
     created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    PRIMARY KEY (id, created_at),
     CONSTRAINT fk_customer FOREIGN KEY (customer_id) REFERENCES customer(id) ON DELETE CASCADE,
     CONSTRAINT status_check CHECK (status IN ('PENDING', 'CONFIRMED', 'PROCESSING', 'SHIPPED', 'DELIVERED', 'CANCELLED'))
-);
+) PARTITION BY RANGE (created_at);
 
 -- OrderItem Table
+-- Co-partitioned with orders: order_created_at copies the created_at of the
+-- order, so the items of an order live in the partition of the same month
 CREATE TABLE IF NOT EXISTS order_item (
-    id BIGSERIAL PRIMARY KEY,
+    id BIGSERIAL,
     order_id BIGINT NOT NULL,
+    order_created_at TIMESTAMP NOT NULL,
     product_id BIGINT NOT NULL,
     quantity INTEGER NOT NULL CHECK (quantity > 0),
     unit_price NUMERIC(10, 2) NOT NULL CHECK (unit_price > 0),
-    CONSTRAINT fk_order FOREIGN KEY (order_id) REFERENCES orders(id) ON DELETE CASCADE,
+    PRIMARY KEY (id, order_created_at),
+    CONSTRAINT fk_order FOREIGN KEY (order_id, order_created_at) REFERENCES orders(id, created_at) ON DELETE CASCADE,
     CONSTRAINT fk_product FOREIGN KEY (product_id) REFERENCES product(id) ON DELETE RESTRICT
+) PARTITION BY RANGE (order_created_at);
+
+-- Monthly partitions orders_pYYYY_MM and order_item_pYYYY_MM, from a year
+-- back to three months ahead
+DO $$
+DECLARE
+    month DATE;
+BEGIN
+    FOR month IN SELECT generate_series(date_trunc('month', CURRENT_DATE) - INTERVAL '12 months',
+                                        date_trunc('month', CURRENT_DATE) + INTERVAL '3 months',
+                                        INTERVAL '1 month')::date
+    LOOP
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF orders FOR VALUES FROM (%L) TO (%L)',
+                       'orders_p' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+        EXECUTE format('CREATE TABLE IF NOT EXISTS %I PARTITION OF order_item FOR VALUES FROM (%L) TO (%L)',
+                       'order_item_p' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+    END LOOP;
+END $$;
+
+-- Customer order summary (read model maintained by the application)
+-- Totals exclude cancelled orders
+CREATE TABLE IF NOT EXISTS customer_order_summary (
+    customer_id BIGINT PRIMARY KEY,
+    order_count BIGINT NOT NULL DEFAULT 0,
+    lifetime_value NUMERIC(14, 2) NOT NULL DEFAULT 0,
+    last_order_at TIMESTAMP,
+    CONSTRAINT fk_summary_customer FOREIGN KEY (customer_id) REFERENCES customer(id) ON DELETE CASCADE
+);
+
+-- Analytics rollups (maintained by the application)
+-- Orders per creation hour and current status
+CREATE TABLE IF NOT EXISTS order_status_hourly (
+    bucket_start TIMESTAMP NOT NULL,
+    status VARCHAR(50) NOT NULL,
+    order_count BIGINT NOT NULL,
+    revenue NUMERIC(16, 2) NOT NULL,
+    PRIMARY KEY (bucket_start, status)
+);
+
+-- Units and revenue per creation hour and product, cancelled orders excluded
+CREATE TABLE IF NOT EXISTS product_sales_hourly (
+    bucket_start TIMESTAMP NOT NULL,
+    product_id BIGINT NOT NULL,
+    units BIGINT NOT NULL,
+    revenue NUMERIC(16, 2) NOT NULL,
+    PRIMARY KEY (bucket_start, product_id)
+);
+
+-- Last refresh of each set of rollups
+CREATE TABLE IF NOT EXISTS rollup_watermark (
+    name VARCHAR(100) PRIMARY KEY,
+    refreshed_through TIMESTAMP NOT NULL
+);
+
+-- Hours of deleted orders, pending recomputation
+CREATE TABLE IF NOT EXISTS rollup_dirty_hour (
+    id BIGSERIAL PRIMARY KEY,
+    bucket_start TIMESTAMP NOT NULL
+);
+
+-- Responses of POST /api/orders by client Idempotency-Key (no FK: a replay
+-- returns the stored response even if the order was deleted since)
+CREATE TABLE IF NOT EXISTS idempotency_key (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    order_id BIGINT,
+    response TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Outcomes of orders accepted by the asynchronous intake, by tracking ID,
+-- written with their batch (no FK: the order may be deleted since)
+CREATE TABLE IF NOT EXISTS order_intake (
+    tracking_id VARCHAR(36) PRIMARY KEY,
+    order_id BIGINT,
+    error TEXT,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Outbox of order changes fed to GET /api/orders/events (no FK: deletions
+-- are recorded too); the ID is the offset clients resume from
+CREATE TABLE IF NOT EXISTS order_event (
+    id BIGSERIAL PRIMARY KEY,
+    order_id BIGINT NOT NULL,
+    customer_id BIGINT NOT NULL,
+    type VARCHAR(20) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    created_at TIMESTAMP NOT NULL
 );
 
 -- =====================================================
@@ -50,16 +150,33 @@ CREATE INDEX idx_customer_email ON customer(email);
 -- Indexes on Product
 CREATE INDEX idx_product_name ON product(name);
 CREATE INDEX idx_product_active ON product(is_active);
+-- The catalog version (ETag of GET /api/products) reads the latest change
+CREATE INDEX idx_product_updated_at ON product(updated_at);
 
 -- Indexes on Orders
-CREATE INDEX idx_orders_customer_id ON orders(customer_id);
-CREATE INDEX idx_orders_status ON orders(status);
-CREATE INDEX idx_orders_created_at ON orders(created_at DESC);
+-- Created on the partitioned table, so every partition gets its own copy that
+-- is vacuumed, rebuilt and dropped with it
+-- Keyset pagination walks (created_at, id) newest first, globally and per customer
+CREATE INDEX idx_orders_customer_created_at_id ON orders(customer_id, created_at DESC, id DESC);
+-- Bulk status changes walk the orders of one status by id
+CREATE INDEX idx_orders_status_id ON orders(status, id);
+CREATE INDEX idx_orders_created_at_id ON orders(created_at DESC, id DESC);
+-- The analytics refresh finds the orders changed since its last run
+CREATE INDEX idx_orders_updated_at ON orders(updated_at);
 
 -- Indexes on OrderItem
-CREATE INDEX idx_order_item_order_id ON order_item(order_id);
+CREATE INDEX idx_order_item_order_id ON order_item(order_id, order_created_at);
 CREATE INDEX idx_order_item_product_id ON order_item(product_id);
 
+-- Hourly purge of expired idempotency keys
+CREATE INDEX idx_idempotency_key_expires_at ON idempotency_key(expires_at);
+
+-- Hourly purge of expired order intake outcomes
+CREATE INDEX idx_order_intake_expires_at ON order_intake(expires_at);
+
+-- Hourly purge of order events past their retention
+CREATE INDEX idx_order_event_created_at ON order_event(created_at);
+
 -- =====================================================
 -- 4. INSERT SAMPLE DATA FOR DEVELOPMENT
 -- =====================================================
@@ -91,29 +208,52 @@ ON CONFLICT DO NOTHING;
 WITH inserted_order AS (
     INSERT INTO orders (customer_id, status, total_amount, created_at)
     VALUES (1, 'DELIVERED', 53299.97, CURRENT_TIMESTAMP - INTERVAL '10 days')
-    RETURNING id
+    RETURNING id, created_at
 )
-INSERT INTO order_item (order_id, product_id, quantity, unit_price)
-SELECT id, 1, 2, 25999.99 FROM inserted_order
+INSERT INTO order_item (order_id, order_created_at, product_id, quantity, unit_price)
+SELECT id, created_at, 1, 2, 25999.99 FROM inserted_order
 UNION ALL
-SELECT id, 3, 1, 1299.99 FROM inserted_order;
+SELECT id, created_at, 3, 1, 1299.99 FROM inserted_order;
 
 WITH inserted_order AS (
     INSERT INTO orders (customer_id, status, total_amount, created_at)
     VALUES (2, 'SHIPPED', 29999.99, CURRENT_TIMESTAMP - INTERVAL '3 days')
-    RETURNING id
+    RETURNING id, created_at
 )
-INSERT INTO order_item (order_id, product_id, quantity, unit_price)
-SELECT id, 2, 1, 29999.99 FROM inserted_order;
+INSERT INTO order_item (order_id, order_created_at, product_id, quantity, unit_price)
+SELECT id, created_at, 2, 1, 29999.99 FROM inserted_order;
 
 WITH inserted_order AS (
     INSERT INTO orders (customer_id, status, total_amount, created_at)
     VALUES (1, 'PENDING', 14899.98, CURRENT_TIMESTAMP - INTERVAL '1 day')
-    RETURNING id
+    RETURNING id, created_at
 )
-INSERT INTO order_item (order_id, product_id, quantity, unit_price)
-SELECT id, 4, 2, 1899.99 FROM inserted_order
+INSERT INTO order_item (order_id, order_created_at, product_id, quantity, unit_price)
+SELECT id, created_at, 4, 2, 1899.99 FROM inserted_order
 UNION ALL
-SELECT id, 9, 3, 1499.99 FROM inserted_order
+SELECT id, created_at, 9, 3, 1499.99 FROM inserted_order
 UNION ALL
-SELECT id, 10, 4, 2899.99 FROM inserted_order;
\ No newline at end of file
+SELECT id, created_at, 10, 4, 2899.99 FROM inserted_order;
+
+-- Order summaries of the sample customers
+INSERT INTO customer_order_summary (customer_id, order_count, lifetime_value, last_order_at)
+SELECT c.id,
+       COUNT(o.id),
+       COALESCE(SUM(o.total_amount), 0),
+       MAX(o.created_at)
+FROM customer c
+LEFT JOIN orders o ON o.customer_id = c.id AND o.status <> 'CANCELLED'
+GROUP BY c.id
+ON CONFLICT (customer_id) DO NOTHING;
+
+-- =====================================================
+-- 5. ID SEQUENCES FOR POOLED ALLOCATION
+-- =====================================================
+
+-- Hibernate reserves ids in blocks of 50 (pooled-lo optimizer), which keeps
+-- JDBC insert batching enabled. Each nextval must therefore advance by the
+-- same allocation size configured on the entities' @SequenceGenerator.
+ALTER SEQUENCE customer_id_seq INCREMENT BY 50;
+ALTER SEQUENCE product_id_seq INCREMENT BY 50;
+ALTER SEQUENCE orders_id_seq INCREMENT BY 50;
+ALTER SEQUENCE order_item_id_seq INCREMENT BY 50;
@@ -0,0 +1,53 @@
+package com.ordermanagement.orderapp.jmh;
+
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.entity.OrderItem;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+
+import java.time.LocalDateTime;
+
+/**
+ * Detached, fully populated orders for the benchmarks.
+ */
+final class OrderFixtures {
+
+    private OrderFixtures() {
+    }
+
+    /**
+     * Builds an order with one item per product, with varied prices and quantities.
+     *
+     * @param cartSize Number of items
+     * @return Order with ids, timestamps and total amount set
+     */
+    static Order order(int cartSize) {
+        Customer customer = new Customer();
+        customer.setId(1L);
+        customer.setName("Benchmark Customer");
+        customer.setEmail("benchmark@example.com");
+        customer.setPhone(3312345678L);
+
+        Order order = new Order();
+        order.setId(1L);
+        order.setCustomer(customer);
+        order.setCreatedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+        order.setUpdatedAt(order.getCreatedAt());
+        for (int i = 0; i < cartSize; i++) {
+            Product product = new Product();
+            product.setId((long) i + 1);
+            product.setName("Product " + i);
+            product.setPrice(Money.ofCents(1_000L + 100L * i + i % 100));
+
+            OrderItem item = new OrderItem();
+            item.setId((long) i + 1);
+            item.setProduct(product);
+            item.setQuantity(i % 5 + 1);
+            item.setUnitPriceFromProduct();
+            order.addOrderItem(item);
+        }
+        order.calculateTotalAmount();
+        return order;
+    }
+}
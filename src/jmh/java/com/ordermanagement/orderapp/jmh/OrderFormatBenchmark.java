@@ -0,0 +1,85 @@
+package com.ordermanagement.orderapp.jmh;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.ordermanagement.orderapp.config.BinaryFormatsConfig;
+import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of encoding and decoding a page of 20 order responses in JSON, CBOR and Smile,
+ * for carts of 1, 10 and 100 items. The mappers are configured like those of the application.
+ * The payload size of each format is printed when the trial starts.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class OrderFormatBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"1", "10", "100"})
+    public int cartSize;
+
+    private List<OrderResponseDTO> page;
+    private byte[] encoded;
+    private ObjectWriter writer;
+    private ObjectReader reader;
+
+    @Setup
+    public void setUp() throws IOException {
+        ObjectMapper mapper = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json()
+                    .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .build();
+            case "cbor" -> BinaryFormatsConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new CBORFactory());
+            case "smile" -> BinaryFormatsConfig.binaryMapper(Jackson2ObjectMapperBuilder.json(), new SmileFactory());
+            default -> throw new IllegalArgumentException("Unknown format: " + format);
+        };
+        page = new ArrayList<>();
+        for (int i = 0; i < PAGE_SIZE; i++) {
+            OrderResponseDTO response = OrderResponseDTO.fromEntity(OrderFixtures.order(cartSize));
+            response.setId((long) i + 1);
+            page.add(response);
+        }
+        writer = mapper.writerFor(mapper.getTypeFactory().constructCollectionType(List.class, OrderResponseDTO.class));
+        reader = mapper.readerFor(mapper.getTypeFactory().constructCollectionType(List.class, OrderResponseDTO.class));
+        encoded = writer.writeValueAsBytes(page);
+        System.out.printf("%n%s payload of %d orders with %d items: %d bytes%n",
+                format, PAGE_SIZE, cartSize, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(page);
+    }
+
+    @Benchmark
+    public List<OrderResponseDTO> decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
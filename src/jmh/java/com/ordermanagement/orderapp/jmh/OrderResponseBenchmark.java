@@ -0,0 +1,60 @@
+package com.ordermanagement.orderapp.jmh;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import com.ordermanagement.orderapp.entity.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of building and serializing the order response for carts of 1, 10 and 100 items.
+ * The ObjectMapper is configured like the one of the application.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class OrderResponseBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int cartSize;
+
+    private Order order;
+    private OrderResponseDTO response;
+    private ObjectWriter writer;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(cartSize);
+        response = OrderResponseDTO.fromEntity(order);
+        writer = Jackson2ObjectMapperBuilder.json().build().writerFor(OrderResponseDTO.class);
+    }
+
+    @Benchmark
+    public OrderResponseDTO fromEntity() {
+        return OrderResponseDTO.fromEntity(order);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] fromEntityAndSerialize() throws JsonProcessingException {
+        return writer.writeValueAsBytes(OrderResponseDTO.fromEntity(order));
+    }
+}
@@ -0,0 +1,52 @@
+package com.ordermanagement.orderapp.jmh;
+
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.entity.OrderItem;
+import com.ordermanagement.orderapp.money.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the order total calculations for carts of 1, 10 and 100 items.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 3, time = 1, timeUnit = TimeUnit.SECONDS)
+@Measurement(iterations = 5, time = 1, timeUnit = TimeUnit.SECONDS)
+@Fork(1)
+public class OrderTotalsBenchmark {
+
+    @Param({"1", "10", "100"})
+    public int cartSize;
+
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        order = OrderFixtures.order(cartSize);
+    }
+
+    @Benchmark
+    public Money calculateTotalAmount() {
+        order.calculateTotalAmount();
+        return order.getTotalAmount();
+    }
+
+    @Benchmark
+    public void getSubtotal(Blackhole blackhole) {
+        for (OrderItem item : order.getOrderItems()) {
+            blackhole.consume(item.getSubtotal());
+        }
+    }
+}
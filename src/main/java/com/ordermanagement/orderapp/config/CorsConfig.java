@@ -52,7 +52,8 @@ public class CorsConfig {
                 "Content-Type",
                 "Authorization",
                 "X-Total-Count",
-                "X-Page-Number"
+                "X-Page-Number",
+                "X-Next-Cursor"
         ));
         
         // Permitir credenciales (cookies, tokens)
@@ -0,0 +1,92 @@
+package com.ordermanagement.orderapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.exception.GlobalExceptionHandler;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Bounds the number of API requests in flight to the size of the connection pool.
+ * <p>
+ * With virtual threads the servlet container no longer caps concurrency, so without a limit
+ * every request beyond the pool size parks inside Hikari until its connection timeout. Here a
+ * request waits at most {@code acquireTimeout} for a permit and is otherwise rejected with
+ * 503 and a Retry-After header, which keeps the backlog and its latency bounded.
+ * <p>
+ * The permit is held until the request thread leaves the filter chain; streaming responses
+ * that keep working on another thread are not covered.
+ */
+public class DatabaseConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final Semaphore permits;
+    private final int maxConcurrent;
+    private final long acquireTimeoutNanos;
+    private final ObjectMapper objectMapper;
+
+    public DatabaseConcurrencyLimitFilter(int maxConcurrent, Duration acquireTimeout, ObjectMapper objectMapper) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Concurrency limit must be positive: " + maxConcurrent);
+        }
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.maxConcurrent = maxConcurrent;
+        this.acquireTimeoutNanos = acquireTimeout.toNanos();
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        boolean acquired;
+        try {
+            acquired = permits.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            acquired = false;
+        }
+        if (!acquired) {
+            reject(response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * @return Requests currently holding a permit
+     */
+    public int getInFlight() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    /**
+     * @return Requests currently waiting for a permit
+     */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), new GlobalExceptionHandler.ErrorResponse(
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Server is at capacity, retry later",
+                LocalDateTime.now()));
+    }
+}
@@ -0,0 +1,174 @@
+package com.ordermanagement.orderapp.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Connections for read-only transactions: taken round robin from the healthy replicas, or from the
+ * primary when the request is pinned to it ({@link ReplicaRoutingContext}) or no replica is healthy.
+ * <p>
+ * A replica is unhealthy while its lag is over the maximum or it cannot be reached. Lag is measured
+ * by {@link #checkReplicas()}; a replica failing to hand out a connection is marked unhealthy at once
+ * and the next one is tried, so a read never fails because of a replica alone.
+ */
+@Slf4j
+public class ReplicaDataSource extends AbstractDataSource {
+
+    private final DataSource primary;
+    private final List<Replica> replicas = new ArrayList<>();
+    private final String lagQuery;
+    private final Duration maxLag;
+    private final AtomicInteger next = new AtomicInteger();
+    private final Counter primaryReads;
+    private final Counter fallbacks;
+
+    /**
+     * @param primary       Pool of the primary, used when no replica may serve a read
+     * @param replicas      Pools of the replicas by name, in round-robin order
+     * @param lagQuery      Query returning a replica's lag in seconds; blank to only check that it is reachable
+     * @param maxLag        Lag over which a replica serves no reads
+     * @param meterRegistry Registry of the routing counters and replica gauges
+     */
+    public ReplicaDataSource(DataSource primary, Map<String, DataSource> replicas, String lagQuery,
+                             Duration maxLag, MeterRegistry meterRegistry) {
+        if (replicas.isEmpty()) {
+            throw new IllegalArgumentException("At least one replica is required");
+        }
+        if (maxLag.isNegative()) {
+            throw new IllegalArgumentException("Maximum replica lag must not be negative: " + maxLag);
+        }
+        this.primary = primary;
+        this.lagQuery = lagQuery;
+        this.maxLag = maxLag;
+        replicas.forEach((name, dataSource) -> {
+            Replica replica = new Replica(name, dataSource, Counter.builder("orderapp.datasource.reads")
+                    .description("Connections taken for read-only transactions")
+                    .tag("target", name)
+                    .register(meterRegistry));
+            Gauge.builder("orderapp.datasource.replica.lag", replica, r -> r.lagSeconds)
+                    .description("Replication lag measured by the last check")
+                    .baseUnit("seconds")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            Gauge.builder("orderapp.datasource.replica.healthy", replica, r -> r.healthy ? 1 : 0)
+                    .description("Whether the replica serves reads")
+                    .tag("replica", name)
+                    .register(meterRegistry);
+            this.replicas.add(replica);
+        });
+        this.primaryReads = Counter.builder("orderapp.datasource.reads")
+                .description("Connections taken for read-only transactions")
+                .tag("target", "primary")
+                .register(meterRegistry);
+        this.fallbacks = Counter.builder("orderapp.datasource.replica.fallbacks")
+                .description("Reads sent to the primary because no replica was healthy")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!ReplicaRoutingContext.isPinnedToPrimary()) {
+            int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.dataSource.getConnection();
+                    replica.reads.increment();
+                    return connection;
+                } catch (SQLException ex) {
+                    markUnhealthy(replica, ex.getMessage());
+                }
+            }
+            fallbacks.increment();
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLException("Replica connections use the credentials of their pools");
+    }
+
+    /**
+     * Measures the lag of every replica; a replica within the maximum serves reads again.
+     */
+    @Scheduled(fixedDelayString = "${orderapp.datasource.replicas.lag-check-interval:1s}")
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection()) {
+                double lagSeconds = StringUtils.hasText(lagQuery) ? queryLag(connection) : 0;
+                replica.lagSeconds = lagSeconds;
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    markUnhealthy(replica, "lag of " + lagSeconds + " s");
+                } else if (!replica.healthy) {
+                    replica.healthy = true;
+                    log.info("Replica {} serves reads again, lag of {} s", replica.name, lagSeconds);
+                }
+            } catch (SQLException ex) {
+                markUnhealthy(replica, ex.getMessage());
+            }
+        }
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.setQueryTimeout(Math.max(1, (int) maxLag.toSeconds()));
+            try (ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                return resultSet.next() ? resultSet.getDouble(1) : 0;
+            }
+        }
+    }
+
+    /**
+     * Closes the replica pools; the primary belongs to its own bean.
+     */
+    public void close() throws Exception {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+
+    private void markUnhealthy(Replica replica, String reason) {
+        if (replica.healthy) {
+            replica.healthy = false;
+            log.warn("Replica {} serves no reads until its next check: {}", replica.name, reason);
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final Counter reads;
+        private volatile boolean healthy = true;
+        private volatile double lagSeconds;
+
+        private Replica(String name, DataSource dataSource, Counter reads) {
+            this.name = name;
+            this.dataSource = dataSource;
+            this.reads = reads;
+        }
+    }
+}
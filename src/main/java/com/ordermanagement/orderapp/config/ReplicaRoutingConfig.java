@@ -0,0 +1,119 @@
+package com.ordermanagement.orderapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary
+ * ({@code orderapp.datasource.replicas.enabled}).
+ * <p>
+ * The application's DataSource is a {@link LazyConnectionDataSourceProxy}: it takes a physical
+ * connection at the first statement of a transaction, once the transaction has marked the
+ * connection read-only or not, and takes it from {@link ReplicaDataSource} for read-only ones.
+ * Taking a read-write connection pins the rest of the request to the primary.
+ * <p>
+ * Requires {@code spring.jpa.open-in-view=false}: an entity manager held open for the whole request
+ * keeps the connection of its first transaction, so a write after a read would go to the replica.
+ */
+@Configuration
+@ConditionalOnProperty(name = "orderapp.datasource.replicas.enabled", havingValue = "true")
+public class ReplicaRoutingConfig {
+
+    /**
+     * The primary pool, configured by {@code spring.datasource} as without replicas.
+     */
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            DataSourceProperties properties,
+            MeterRegistry meterRegistry,
+            @Value("${orderapp.datasource.replicas.urls}") String[] urls,
+            @Value("${orderapp.datasource.replicas.username:}") String username,
+            @Value("${orderapp.datasource.replicas.password:}") String password,
+            @Value("${orderapp.datasource.replicas.maximum-pool-size:10}") int maximumPoolSize,
+            @Value("${orderapp.datasource.replicas.lag-query:}") String lagQuery,
+            @Value("${orderapp.datasource.replicas.max-lag:5s}") Duration maxLag) {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        for (String url : urls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("replica-" + (replicas.size() + 1));
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(username.isEmpty() ? properties.determineUsername() : username);
+            replica.setPassword(username.isEmpty() ? properties.determinePassword() : password);
+            replica.setMaximumPoolSize(maximumPoolSize);
+            replica.setReadOnly(true);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        return new ReplicaDataSource(primaryDataSource, replicas, lagQuery, maxLag, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource,
+                                 @Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("Read replicas require spring.jpa.open-in-view=false");
+        }
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(
+                new PinningDataSource(primaryDataSource));
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        // Probe the primary's connection defaults now rather than on a request, which it would pin
+        dataSource.checkDefaultConnectionProperties();
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReplicaRoutingFilter> replicaRoutingFilter() {
+        FilterRegistrationBean<ReplicaRoutingFilter> registration = new FilterRegistrationBean<>(new ReplicaRoutingFilter());
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    /**
+     * The primary as seen by the routing proxy, which only asks it for read-write connections.
+     */
+    private static final class PinningDataSource extends DelegatingDataSource {
+
+        private PinningDataSource(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            ReplicaRoutingContext.pinToPrimary();
+            return super.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            ReplicaRoutingContext.pinToPrimary();
+            return super.getConnection(username, password);
+        }
+    }
+}
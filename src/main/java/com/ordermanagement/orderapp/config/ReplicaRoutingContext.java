@@ -0,0 +1,51 @@
+package com.ordermanagement.orderapp.config;
+
+/**
+ * Read-your-writes scope of the HTTP request being handled by the current thread.
+ * <p>
+ * {@link ReplicaRoutingFilter} opens a scope for the duration of a request. Once the request has
+ * taken a read-write connection to the primary, or has called {@link #pinToPrimary()}, its
+ * read-only transactions also go to the primary, since the replicas may not have applied its
+ * writes yet. Outside a scope, such as on background threads, nothing is pinned.
+ */
+public final class ReplicaRoutingContext {
+
+    private static final ThreadLocal<ReplicaRoutingContext> CURRENT = new ThreadLocal<>();
+
+    private boolean pinnedToPrimary;
+
+    private ReplicaRoutingContext() {
+    }
+
+    /**
+     * Opens a scope on the current thread.
+     */
+    public static void begin() {
+        CURRENT.set(new ReplicaRoutingContext());
+    }
+
+    /**
+     * Closes the current thread's scope.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Sends the rest of the current request's reads to the primary; does nothing outside a request.
+     */
+    public static void pinToPrimary() {
+        ReplicaRoutingContext context = CURRENT.get();
+        if (context != null) {
+            context.pinnedToPrimary = true;
+        }
+    }
+
+    /**
+     * @return Whether the current request's reads must go to the primary
+     */
+    public static boolean isPinnedToPrimary() {
+        ReplicaRoutingContext context = CURRENT.get();
+        return context != null && context.pinnedToPrimary;
+    }
+}
@@ -0,0 +1,31 @@
+package com.ordermanagement.orderapp.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Per-request SQL statement budget and N+1 detection for the API.
+ * Statements are counted by {@link SqlCountingStatementInspector} and timed by
+ * {@link SqlTimingSessionListener}, both registered as Hibernate properties.
+ */
+@Configuration
+public class SqlBudgetConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "orderapp.sql-budget.enabled", havingValue = "true", matchIfMissing = true)
+    public FilterRegistrationBean<SqlStatementBudgetFilter> sqlStatementBudgetFilter(
+            @Value("${orderapp.sql-budget.max-statements:25}") int maxStatements,
+            @Value("${orderapp.sql-budget.max-jdbc-time:500ms}") Duration maxJdbcTime,
+            @Value("${orderapp.sql-budget.repeated-select-threshold:5}") int repeatedSelectThreshold,
+            @Value("${orderapp.sql-budget.fail-on-exceed:false}") boolean failOnExceed) {
+        FilterRegistrationBean<SqlStatementBudgetFilter> registration = new FilterRegistrationBean<>(
+                new SqlStatementBudgetFilter(maxStatements, maxJdbcTime, repeatedSelectThreshold, failOnExceed));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+}
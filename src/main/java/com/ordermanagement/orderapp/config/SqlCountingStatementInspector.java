@@ -0,0 +1,19 @@
+package com.ordermanagement.orderapp.config;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate StatementInspector that counts the statements of the current HTTP request
+ * into its {@link SqlRequestStatistics}. The SQL is returned unchanged.
+ */
+public class SqlCountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        SqlRequestStatistics statistics = SqlRequestStatistics.current();
+        if (statistics != null) {
+            statistics.recordStatement(sql);
+        }
+        return sql;
+    }
+}
@@ -0,0 +1,95 @@
+package com.ordermanagement.orderapp.config;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * SQL statements and JDBC time of the HTTP request being handled by the current thread.
+ * <p>
+ * {@link SqlStatementBudgetFilter} binds an instance for the duration of a request;
+ * {@link SqlCountingStatementInspector} and {@link SqlTimingSessionListener} record into it.
+ * Statements issued outside a request, or on another thread such as a streaming response,
+ * are not recorded.
+ */
+public final class SqlRequestStatistics {
+
+    private static final ThreadLocal<SqlRequestStatistics> CURRENT = new ThreadLocal<>();
+
+    private final boolean trackSelects;
+    private final Map<String, Integer> selects = new HashMap<>();
+    private int statements;
+    private long jdbcNanos;
+
+    private SqlRequestStatistics(boolean trackSelects) {
+        this.trackSelects = trackSelects;
+    }
+
+    /**
+     * Starts recording on the current thread.
+     *
+     * @param trackSelects Whether to count executions of each distinct SELECT
+     * @return The statistics being recorded
+     */
+    public static SqlRequestStatistics begin(boolean trackSelects) {
+        SqlRequestStatistics statistics = new SqlRequestStatistics(trackSelects);
+        CURRENT.set(statistics);
+        return statistics;
+    }
+
+    /**
+     * Stops recording on the current thread.
+     */
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    /**
+     * @return The statistics of the current thread's request, or null outside a request
+     */
+    static SqlRequestStatistics current() {
+        return CURRENT.get();
+    }
+
+    void recordStatement(String sql) {
+        statements++;
+        if (trackSelects && sql.regionMatches(true, 0, "select", 0, 6)) {
+            selects.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    void recordJdbcTime(long nanos) {
+        jdbcNanos += nanos;
+    }
+
+    /**
+     * @return Statements prepared so far; a JDBC batch counts once
+     */
+    public int getStatements() {
+        return statements;
+    }
+
+    /**
+     * @return Time spent executing statements and batches so far
+     */
+    public Duration getJdbcTime() {
+        return Duration.ofNanos(jdbcNanos);
+    }
+
+    /**
+     * Returns the SELECTs executed at least {@code threshold} times with the same SQL, which
+     * differ only in their parameters: usually a lazy association loaded once per parent row.
+     *
+     * @param threshold Minimum number of executions
+     * @return Repeated SQL and its executions, most executed first
+     */
+    public Map<String, Integer> getRepeatedSelects(int threshold) {
+        Map<String, Integer> repeated = new LinkedHashMap<>();
+        selects.entrySet().stream()
+                .filter(entry -> entry.getValue() >= threshold)
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEach(entry -> repeated.put(entry.getKey(), entry.getValue()));
+        return repeated;
+    }
+}
@@ -0,0 +1,88 @@
+package com.ordermanagement.orderapp.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Records the SQL statements and JDBC time of every API request and logs the requests that
+ * go over the budget, as well as SELECTs repeated within one request (a suspected N+1).
+ * <p>
+ * With {@code failOnExceed} a request over the statement budget or with a suspected N+1
+ * fails with an IllegalStateException once it has been handled, so that a query-count
+ * regression fails the integration tests. JDBC time is only logged, as it depends on the machine.
+ */
+@Slf4j
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private final int maxStatements;
+    private final Duration maxJdbcTime;
+    private final int repeatedSelectThreshold;
+    private final boolean failOnExceed;
+
+    /**
+     * @param maxStatements           Statements a request may issue
+     * @param maxJdbcTime             JDBC time a request may take
+     * @param repeatedSelectThreshold Executions of the same SELECT reported as a suspected N+1; 0 disables
+     * @param failOnExceed            Whether to fail requests over the statement budget or with a suspected N+1
+     */
+    public SqlStatementBudgetFilter(int maxStatements, Duration maxJdbcTime, int repeatedSelectThreshold,
+                                    boolean failOnExceed) {
+        if (maxStatements < 1) {
+            throw new IllegalArgumentException("SQL statement budget must be positive: " + maxStatements);
+        }
+        if (repeatedSelectThreshold == 1) {
+            throw new IllegalArgumentException("Repeated SELECT threshold must be 0 or at least 2");
+        }
+        this.maxStatements = maxStatements;
+        this.maxJdbcTime = maxJdbcTime;
+        this.repeatedSelectThreshold = repeatedSelectThreshold;
+        this.failOnExceed = failOnExceed;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        SqlRequestStatistics statistics = SqlRequestStatistics.begin(repeatedSelectThreshold > 0);
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            SqlRequestStatistics.end();
+        }
+        check(request.getMethod() + " " + request.getRequestURI(), statistics);
+    }
+
+    private void check(String endpoint, SqlRequestStatistics statistics) {
+        log.debug("{} issued {} SQL statements taking {} ms",
+                endpoint, statistics.getStatements(), statistics.getJdbcTime().toMillis());
+        boolean overStatements = statistics.getStatements() > maxStatements;
+        if (overStatements || statistics.getJdbcTime().compareTo(maxJdbcTime) > 0) {
+            log.warn("{} issued {} SQL statements taking {} ms, over the budget of {} statements and {} ms",
+                    endpoint, statistics.getStatements(), statistics.getJdbcTime().toMillis(),
+                    maxStatements, maxJdbcTime.toMillis());
+        }
+
+        Map<String, Integer> repeated = repeatedSelectThreshold > 0
+                ? statistics.getRepeatedSelects(repeatedSelectThreshold)
+                : Map.of();
+        repeated.forEach((sql, executions) ->
+                log.warn("Suspected N+1 in {}: {} executions of {}", endpoint, executions, sql));
+
+        if (failOnExceed && overStatements) {
+            throw new IllegalStateException(endpoint + " issued " + statistics.getStatements()
+                    + " SQL statements, over the budget of " + maxStatements);
+        }
+        if (failOnExceed && !repeated.isEmpty()) {
+            Map.Entry<String, Integer> first = repeated.entrySet().iterator().next();
+            throw new IllegalStateException("Suspected N+1 in " + endpoint + ": "
+                    + first.getValue() + " executions of " + first.getKey());
+        }
+    }
+}
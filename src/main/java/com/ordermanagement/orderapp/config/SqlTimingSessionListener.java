@@ -0,0 +1,40 @@
+package com.ordermanagement.orderapp.config;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Hibernate session listener that adds the time spent executing JDBC statements and batches
+ * to the {@link SqlRequestStatistics} of the current HTTP request. Hibernate creates one
+ * instance per session ({@code hibernate.session.events.auto}).
+ */
+public class SqlTimingSessionListener implements SessionEventListener {
+
+    private long executionStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        executionStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record();
+    }
+
+    private void record() {
+        SqlRequestStatistics statistics = SqlRequestStatistics.current();
+        if (statistics != null) {
+            statistics.recordJdbcTime(System.nanoTime() - executionStart);
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.ordermanagement.orderapp.config;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Collectors;
+
+/**
+ * Logs virtual threads that stay pinned to their carrier thread, typically while blocking
+ * inside a {@code synchronized} section of the JDBC driver or the connection pool.
+ * <p>
+ * Listens in-process to the JFR {@code jdk.VirtualThreadPinned} event, which the JDK records
+ * when a virtual thread blocks while pinned for longer than the threshold. On a runtime
+ * without virtual threads the event never fires.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 12;
+
+    private final Duration threshold;
+    private final LongAdder pinnedCount = new LongAdder();
+    private volatile RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        this.threshold = threshold;
+    }
+
+    @Override
+    public void start() {
+        RecordingStream recording = new RecordingStream();
+        recording.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        recording.onEvent(PINNED_EVENT, this::report);
+        recording.startAsync();
+        stream = recording;
+        log.info("Monitoring virtual thread pinning longer than {} ms", threshold.toMillis());
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    /**
+     * @return Pinning events seen since startup
+     */
+    public long getPinnedCount() {
+        return pinnedCount.sum();
+    }
+
+    private void report(RecordedEvent event) {
+        pinnedCount.increment();
+        List<RecordedFrame> frames = event.getStackTrace() == null ? List.of() : event.getStackTrace().getFrames();
+        log.warn("Virtual thread pinned for {} ms:\n\t{}",
+                event.getDuration().toMillis(),
+                frames.stream()
+                        .limit(LOGGED_FRAMES)
+                        .map(frame -> frame.getMethod().getType().getName() + "." + frame.getMethod().getName()
+                                + ":" + frame.getLineNumber())
+                        .collect(Collectors.joining("\n\t")));
+    }
+}
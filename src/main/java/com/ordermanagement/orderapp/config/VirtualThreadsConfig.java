@@ -0,0 +1,48 @@
+package com.ordermanagement.orderapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Companions of the virtual-thread execution mode ({@code virtual-threads} profile):
+ * a request limiter sized to the connection pool and pinning diagnostics.
+ */
+@Configuration
+public class VirtualThreadsConfig {
+
+    /**
+     * Limits concurrent API requests to {@code orderapp.concurrency-limit.max-concurrent},
+     * or to the maximum size of the Hikari pool when that is 0.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "orderapp.concurrency-limit.enabled", havingValue = "true")
+    public FilterRegistrationBean<DatabaseConcurrencyLimitFilter> databaseConcurrencyLimitFilter(
+            DataSource dataSource,
+            ObjectMapper objectMapper,
+            @Value("${orderapp.concurrency-limit.max-concurrent:0}") int maxConcurrent,
+            @Value("${orderapp.concurrency-limit.acquire-timeout:2s}") Duration acquireTimeout) throws SQLException {
+        if (maxConcurrent == 0) {
+            maxConcurrent = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+        }
+        FilterRegistrationBean<DatabaseConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(
+                new DatabaseConcurrencyLimitFilter(maxConcurrent, acquireTimeout, objectMapper));
+        registration.addUrlPatterns("/api/*");
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "orderapp.pinning-monitor.enabled", havingValue = "true")
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${orderapp.pinning-monitor.threshold:20ms}") Duration threshold) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
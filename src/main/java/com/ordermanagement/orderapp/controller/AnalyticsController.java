@@ -0,0 +1,118 @@
+package com.ordermanagement.orderapp.controller;
+
+import com.ordermanagement.orderapp.dto.DailyRevenueDTO;
+import com.ordermanagement.orderapp.dto.ProductRevenueDTO;
+import com.ordermanagement.orderapp.dto.StatusRevenueDTO;
+import com.ordermanagement.orderapp.service.AnalyticsService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+@Tag(name = "Analytics", description = "Revenue and units over date ranges, served from hourly rollups")
+public class AnalyticsController {
+
+    private final AnalyticsService analyticsService;
+    private final CacheControl closedRangeCacheControl;
+
+    public AnalyticsController(AnalyticsService analyticsService,
+                               @Value("${orderapp.analytics.closed-range-max-age:1h}") Duration closedRangeMaxAge) {
+        this.analyticsService = analyticsService;
+        this.closedRangeCacheControl = CacheControl.maxAge(closedRangeMaxAge).cachePublic();
+    }
+
+    /**
+     * Retrieves orders, units sold and revenue per day.
+     *
+     * @param from First day
+     * @param to Last day
+     * @return One entry per day with orders
+     */
+    @GetMapping("/revenue/daily")
+    @Operation(summary = "Get daily revenue",
+            description = "Retrieves orders, units sold and revenue per day, not counting cancelled orders")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<DailyRevenueDTO>> getDailyRevenue(
+            @Parameter(description = "First day (yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, included (yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return cached(to, analyticsService.getDailyRevenue(from, to));
+    }
+
+    /**
+     * Retrieves the best selling products by revenue.
+     *
+     * @param from First day
+     * @param to Last day
+     * @param limit Maximum number of products to return
+     * @return Products with their units sold and revenue, highest revenue first
+     */
+    @GetMapping("/revenue/products")
+    @Operation(summary = "Get revenue by product",
+            description = "Retrieves the products with the highest revenue in the range, not counting cancelled orders")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range or limit")
+    })
+    public ResponseEntity<List<ProductRevenueDTO>> getProductRevenue(
+            @Parameter(description = "First day (yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, included (yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @Parameter(description = "Maximum number of products to return (1-500)")
+            @RequestParam(required = false, defaultValue = "20") int limit) {
+        return cached(to, analyticsService.getProductRevenue(from, to, limit));
+    }
+
+    /**
+     * Retrieves the orders placed in the range by current status.
+     *
+     * @param from First day
+     * @param to Last day
+     * @return One entry per status with orders
+     */
+    @GetMapping("/revenue/status")
+    @Operation(summary = "Get revenue by status",
+            description = "Retrieves the number and total amount of the orders placed in the range, by current status")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list"),
+            @ApiResponse(responseCode = "400", description = "Invalid date range")
+    })
+    public ResponseEntity<List<StatusRevenueDTO>> getStatusRevenue(
+            @Parameter(description = "First day (yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @Parameter(description = "Last day, included (yyyy-MM-dd)")
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return cached(to, analyticsService.getStatusRevenue(from, to));
+    }
+
+    /**
+     * Lets clients and proxies cache ranges that ended before today; ranges that include today
+     * still receive new orders and must be revalidated. Bodies are served in several formats, so
+     * they vary by Accept.
+     */
+    private <T> ResponseEntity<T> cached(LocalDate to, T body) {
+        CacheControl cacheControl = to.isBefore(LocalDate.now()) ? closedRangeCacheControl : CacheControl.noCache();
+        return ResponseEntity.ok().cacheControl(cacheControl).varyBy(HttpHeaders.ACCEPT).body(body);
+    }
+}
@@ -0,0 +1,128 @@
+package com.ordermanagement.orderapp.controller;
+
+import com.ordermanagement.orderapp.config.BinaryFormatsConfig;
+import com.ordermanagement.orderapp.dto.ResourceVersion;
+import com.ordermanagement.orderapp.dto.Versioned;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Answers conditional GETs. A request with If-None-Match or If-Modified-Since is first checked
+ * against a cheap version lookup and answered with 304 when the client's copy is current, so
+ * the representation is neither read nor serialized; otherwise the representation is loaded
+ * and returned with its ETag and Last-Modified. Clients are asked to revalidate on every use.
+ * <p>
+ * Each format the representation is served in (see {@link BinaryFormatsConfig}) has its own
+ * entity tags, and responses vary by Accept, so caches keep the formats apart.
+ */
+final class ConditionalResponses {
+
+    /** Entity tag suffix of each format, in the order the converters are consulted; JSON has none. */
+    private static final Map<MediaType, String> FORMATS = new LinkedHashMap<>();
+
+    static {
+        FORMATS.put(MediaType.APPLICATION_JSON, "");
+        FORMATS.put(MediaType.APPLICATION_CBOR, "-cbor");
+        FORMATS.put(BinaryFormatsConfig.APPLICATION_SMILE, "-smile");
+    }
+
+    private ConditionalResponses() {
+    }
+
+    /**
+     * @param request HTTP request
+     * @param version Looks up the current version of the resource
+     * @param body    Loads the representation with the version it was read at
+     * @return 304 without a body, or 200 with the representation
+     */
+    static <T> ResponseEntity<T> ok(HttpServletRequest request,
+                                    Supplier<ResourceVersion> version,
+                                    Supplier<Versioned<T>> body) {
+        if (isConditional(request)) {
+            ResourceVersion current = version.get();
+            if (isNotModified(request, current)) {
+                return notModified(request, current);
+            }
+        }
+        Versioned<T> loaded = body.get();
+        return withVersion(ResponseEntity.ok(), request, loaded.getVersion()).body(loaded.getBody());
+    }
+
+    /**
+     * For representations that are not read together with their version: the version must be
+     * looked up before the representation is loaded, so that it is never newer than the body.
+     *
+     * @param request  HTTP request
+     * @param version  Version looked up before loading the representation
+     * @param response Loads the representation
+     * @return 304 without a body, or the loaded response with the version
+     */
+    static <T> ResponseEntity<T> ok(HttpServletRequest request,
+                                    ResourceVersion version,
+                                    Supplier<ResponseEntity<T>> response) {
+        if (isConditional(request) && isNotModified(request, version)) {
+            return notModified(request, version);
+        }
+        ResponseEntity<T> loaded = response.get();
+        return withVersion(ResponseEntity.status(loaded.getStatusCode()).headers(loaded.getHeaders()), request, version)
+                .body(loaded.getBody());
+    }
+
+    private static boolean isConditional(HttpServletRequest request) {
+        return request.getHeader(HttpHeaders.IF_NONE_MATCH) != null
+                || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null;
+    }
+
+    private static boolean isNotModified(HttpServletRequest request, ResourceVersion version) {
+        // Without a response, only evaluates the preconditions
+        return new ServletWebRequest(request).checkNotModified(eTag(request, version), version.getLastModifiedMillis());
+    }
+
+    private static <T> ResponseEntity<T> notModified(HttpServletRequest request, ResourceVersion version) {
+        return withVersion(ResponseEntity.status(HttpStatus.NOT_MODIFIED), request, version).build();
+    }
+
+    private static ResponseEntity.BodyBuilder withVersion(ResponseEntity.BodyBuilder response,
+                                                          HttpServletRequest request,
+                                                          ResourceVersion version) {
+        response.eTag(eTag(request, version))
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT);
+        if (version.getLastModified() != null) {
+            response.lastModified(version.getLastModified());
+        }
+        return response;
+    }
+
+    /**
+     * @return Entity tag of the version in the format the request accepts best
+     */
+    private static String eTag(HttpServletRequest request, ResourceVersion version) {
+        List<MediaType> accepted;
+        try {
+            accepted = MediaType.parseMediaTypes(request.getHeader(HttpHeaders.ACCEPT));
+        } catch (InvalidMediaTypeException ex) {
+            accepted = List.of();
+        }
+        String suffix = accepted.stream()
+                .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+                .flatMap(type -> FORMATS.entrySet().stream().filter(format -> type.includes(format.getKey())))
+                .map(Map.Entry::getValue)
+                .findFirst()
+                .orElse("");
+        String eTag = version.getETag();
+        return suffix.isEmpty() ? eTag : eTag.substring(0, eTag.length() - 1) + suffix + "\"";
+    }
+}
@@ -0,0 +1,26 @@
+package com.ordermanagement.orderapp.controller;
+
+import com.ordermanagement.orderapp.dto.CursorPage;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+/**
+ * Writes keyset pages as a plain JSON array; the continuation token of the
+ * next page, if any, travels in the {@value #NEXT_CURSOR_HEADER} header.
+ */
+final class CursorPageResponses {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private CursorPageResponses() {
+    }
+
+    static <T> ResponseEntity<List<T>> ok(CursorPage<T> page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getItems());
+    }
+}
@@ -1,8 +1,12 @@
 package com.ordermanagement.orderapp.controller;
 
+import com.ordermanagement.orderapp.dto.CustomerOrderSummaryDTO;
+import com.ordermanagement.orderapp.dto.EmailFilterStatsDTO;
 import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.service.CustomerOrderSummaryService;
 import com.ordermanagement.orderapp.service.CustomerService;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -21,6 +25,7 @@ import java.util.List;
 public class CustomerController {
 
     private final CustomerService customerService;
+    private final CustomerOrderSummaryService customerOrderSummaryService;
 
     /**
      * Creates a new customer.
@@ -56,12 +61,69 @@ public class CustomerController {
         return ResponseEntity.ok(customer);
     }
 
+    /**
+     * Retrieves the order totals of a customer.
+     *
+     * @param id Customer ID
+     * @return Order count, lifetime value and last order date, not counting cancelled orders
+     */
+    @GetMapping("/{id}/summary")
+    @Operation(summary = "Get customer order summary",
+            description = "Retrieves the order count, lifetime value and last order date of a customer, not counting cancelled orders")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary found"),
+            @ApiResponse(responseCode = "404", description = "Customer not found")
+    })
+    public ResponseEntity<CustomerOrderSummaryDTO> getCustomerSummary(@PathVariable Long id) {
+        return ResponseEntity.ok(customerOrderSummaryService.getSummary(id));
+    }
+
+    /**
+     * Retrieves one page of customers ordered by ID.
+     *
+     * @param cursor Continuation token of the previous page
+     * @param limit Maximum number of customers to return
+     * @return Page of customers, with the next page token in the X-Next-Cursor header
+     */
     @GetMapping
-    @Operation(summary = "Get all customers", description = "Retrieves a list of all customers")
+    @Operation(summary = "Get all customers",
+            description = "Retrieves a page of customers; follow the X-Next-Cursor header for the next page")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list")
-    public ResponseEntity<List<Customer>> getAllCustomers() {
-        List<Customer> customers = customerService.getAllCustomers();
-        return ResponseEntity.ok(customers);
+    public ResponseEntity<List<Customer>> getAllCustomers(
+            @Parameter(description = "Continuation token from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of customers to return (1-500)")
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return CursorPageResponses.ok(customerService.getAllCustomers(cursor, limit));
+    }
+
+    /**
+     * Returns the state of the email filter that spares new customers the email lookup.
+     *
+     * @return Size, fill and expected and observed false-positive rates
+     */
+    @GetMapping("/email-filter/stats")
+    @Operation(summary = "Get customer email filter statistics",
+            description = "Returns the size, fill and false-positive rates of the in-process Bloom filter of customer emails")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
+    public ResponseEntity<EmailFilterStatsDTO> getEmailFilterStats() {
+        return ResponseEntity.ok(customerService.getEmailFilterStats());
+    }
+
+    /**
+     * Rebuilds the email filter from the database.
+     *
+     * @return Statistics of the new filter
+     */
+    @PostMapping("/email-filter/rebuild")
+    @Operation(summary = "Rebuild the customer email filter",
+            description = "Rebuilds the Bloom filter of customer emails, dropping the emails of deleted and changed customers")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Filter rebuilt"),
+            @ApiResponse(responseCode = "400", description = "Filter disabled")
+    })
+    public ResponseEntity<EmailFilterStatsDTO> rebuildEmailFilter() {
+        return ResponseEntity.ok(customerService.rebuildEmailFilter());
     }
 
     /**
@@ -1,95 +1,325 @@
 package com.ordermanagement.orderapp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.config.ReplicaRoutingContext;
 import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderIntakeDTO;
 import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import com.ordermanagement.orderapp.dto.OrderStatusUpdateDTO;
+import com.ordermanagement.orderapp.dto.OrderStatusUpdateResultDTO;
 import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.service.OrderEventStream;
+import com.ordermanagement.orderapp.service.OrderIdempotencyService;
+import com.ordermanagement.orderapp.service.OrderIngestionService;
+import com.ordermanagement.orderapp.service.OrderIntakeService;
 import com.ordermanagement.orderapp.service.OrderService;
+import com.ordermanagement.orderapp.service.OrderStatusService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
-import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.time.Duration;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/orders")
-@RequiredArgsConstructor
 @Tag(name = "Orders", description = "CRUD for orders - Main resource for MELI")
 public class OrderController {
 
+    static final String IDEMPOTENCY_KEY = "Idempotency-Key";
+    static final String IDEMPOTENT_REPLAYED = "Idempotent-Replayed";
+
     private final OrderService orderService;
+    private final OrderIngestionService orderIngestionService;
+    private final OrderStatusService orderStatusService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderIntakeService orderIntakeService;
+    private final OrderEventStream orderEventStream;
+    private final ObjectMapper objectMapper;
+    private final Duration batchRequestTimeout;
+    private final Duration exportRequestTimeout;
+
+    public OrderController(OrderService orderService,
+                           OrderIngestionService orderIngestionService,
+                           OrderStatusService orderStatusService,
+                           OrderIdempotencyService orderIdempotencyService,
+                           OrderIntakeService orderIntakeService,
+                           OrderEventStream orderEventStream,
+                           ObjectMapper objectMapper,
+                           @Value("${orderapp.orders.batch.request-timeout:30m}") Duration batchRequestTimeout,
+                           @Value("${orderapp.orders.export.request-timeout:2h}") Duration exportRequestTimeout) {
+        this.orderService = orderService;
+        this.orderIngestionService = orderIngestionService;
+        this.orderStatusService = orderStatusService;
+        this.orderIdempotencyService = orderIdempotencyService;
+        this.orderIntakeService = orderIntakeService;
+        this.orderEventStream = orderEventStream;
+        this.objectMapper = objectMapper;
+        this.batchRequestTimeout = batchRequestTimeout;
+        this.exportRequestTimeout = exportRequestTimeout;
+    }
 
     /**
      * Creates a new order.
+     * With an Idempotency-Key, retries of the same request return the order created by the
+     * first one, marked with {@code Idempotent-Replayed: true}, instead of creating another.
+     * When the asynchronous intake is enabled, a request without a key is only queued and
+     * answered with 202 and its tracking information.
      *
      * @param orderCreatedDTO Order creation data including customer and items
-     * @return Created order with HTTP 201 status
+     * @param idempotencyKey Optional client-chosen key identifying this order request
+     * @return Created order with HTTP 201 status, or OrderIntakeDTO with HTTP 202 status
      */
     @PostMapping
     @Operation(summary = "Create a new order",
-            description = "Creates a new order with the specified items for a customer")
+            description = "Creates a new order with the specified items for a customer; "
+                    + "send an Idempotency-Key to make retries safe")
     @ApiResponses(value = {
-            @ApiResponse(responseCode = "201", description = "Order created successfully"),
-            @ApiResponse(responseCode = "400", description = "Invalid input or inactive product"),
-            @ApiResponse(responseCode = "404", description = "Customer or product not found")
+            @ApiResponse(responseCode = "201", description = "Order created successfully, or replayed for a known Idempotency-Key"),
+            @ApiResponse(responseCode = "202", description = "Order queued by the asynchronous intake; poll the Location header. "
+                    + "Delivery is at most once: an order queued when the instance crashes is lost, and its tracking ID stays unknown",
+                    content = @Content(schema = @Schema(implementation = OrderIntakeDTO.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid input, inactive product, or Idempotency-Key reused for a different order"),
+            @ApiResponse(responseCode = "404", description = "Customer or product not found"),
+            @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still in progress"),
+            @ApiResponse(responseCode = "429", description = "Asynchronous intake queue is full, retry later")
     })
-    public ResponseEntity<OrderResponseDTO> createOrder(@Valid @RequestBody OrderCreatedDTO orderCreatedDTO) {
+    public ResponseEntity<?> createOrder(
+            @Valid @RequestBody OrderCreatedDTO orderCreatedDTO,
+            @Parameter(description = "Client-chosen key, at most 255 characters, that makes retries return the same order")
+            @RequestHeader(value = IDEMPOTENCY_KEY, required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            OrderIdempotencyService.Result result = orderIdempotencyService.createOrder(idempotencyKey, orderCreatedDTO);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .header(IDEMPOTENT_REPLAYED, String.valueOf(result.isReplayed()))
+                    .body(result.getOrder());
+        }
+        if (orderIntakeService.isEnabled()) {
+            OrderIntakeDTO intake = orderIntakeService.submit(orderCreatedDTO);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/orders/intake/" + intake.getTrackingId()))
+                    .body(intake);
+        }
         OrderResponseDTO createdOrder = orderService.createOrder(orderCreatedDTO);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdOrder);
     }
 
     /**
-     * Retrieves all orders.
+     * Retrieves the progress of an order queued by the asynchronous intake.
+     * QUEUED is only known to the instance that accepted the order; other instances answer
+     * that the ID is unknown until its batch commits.
+     *
+     * @param trackingId Tracking ID returned by POST /api/orders
+     * @return Tracking information, including the order once it is created
+     */
+    @GetMapping("/intake/{trackingId}")
+    @Operation(summary = "Get a queued order",
+            description = "Returns QUEUED, FAILED with the error, or CREATED with the order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Order intake found"),
+            @ApiResponse(responseCode = "400", description = "Unknown tracking ID: queued on another instance, "
+                    + "expired, or lost in a crash if it stays unknown")
+    })
+    public ResponseEntity<OrderIntakeDTO> getOrderIntake(@PathVariable String trackingId) {
+        OrderIntakeDTO intake = orderIntakeService.getStatus(trackingId)
+                .orElseThrow(() -> new IllegalArgumentException("Order intake not found with tracking id: " + trackingId));
+        if (intake.getStatus() == OrderIntakeDTO.Status.CREATED) {
+            intake = OrderIntakeDTO.created(trackingId, intake.getOrderId());
+            // The writer has just created the order; replicas may not have it yet
+            ReplicaRoutingContext.pinToPrimary();
+            intake.setOrder(orderService.getOrderById(intake.getOrderId()));
+        }
+        return ResponseEntity.ok(intake);
+    }
+
+    /**
+     * Streams order creations, status changes and deletions as server-sent events.
+     * Each event's ID is its outbox offset; a client reconnecting with {@code Last-Event-ID}
+     * first receives the events it missed.
+     *
+     * @param lastEventId ID of the last event received before reconnecting
+     * @param customerId Only stream events of this customer
+     * @param status Only stream events leaving an order in this status
+     * @return Event stream of OrderEventDTO
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream order events",
+            description = "Server-sent events for every order creation, status change and deletion; "
+                    + "send Last-Event-ID to resume after a disconnect")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Event stream opened"),
+            @ApiResponse(responseCode = "400", description = "Invalid filter or Last-Event-ID")
+    })
+    public SseEmitter streamOrderEvents(
+            @Parameter(description = "ID of the last event received, to resume after it")
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @Parameter(description = "Only stream events of this customer")
+            @RequestParam(required = false) Long customerId,
+            @Parameter(description = "Only stream events leaving an order in this status")
+            @RequestParam(required = false) Order.OrderStatus status) {
+        return orderEventStream.subscribe(lastEventId, customerId, status);
+    }
+
+    /**
+     * Creates orders in bulk from newline-delimited JSON.
+     * Each input line is an order; the response streams one result line per input line
+     * with either the new order ID or the error.
+     * The response may stream for as long as the input lasts, so the request gets its own
+     * async timeout instead of the default one of the other endpoints.
+     *
+     * @param request HTTP request whose body holds one OrderCreatedDTO per line
+     * @return Streamed NDJSON results
+     * @throws IOException if the request body cannot be opened
+     */
+    @PostMapping(value = "/batch",
+            consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Create orders in bulk",
+            description = "Reads one order per line (NDJSON), commits them in chunks and streams back one result per line")
+    @ApiResponse(responseCode = "200", description = "Orders processed, see each result line for its outcome")
+    public ResponseEntity<StreamingResponseBody> createOrdersBatch(HttpServletRequest request) throws IOException {
+        InputStream body = request.getInputStream();
+        setAsyncTimeout(request, batchRequestTimeout);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(output -> orderIngestionService.ingest(body, output));
+    }
+
+    /**
+     * Retrieves one page of orders, newest first.
      *
-     * @return List of all orders
+     * @param cursor Continuation token of the previous page
+     * @param limit Maximum number of orders to return
+     * @return Page of orders, with the next page token in the X-Next-Cursor header
      */
     @GetMapping
-    @Operation(summary = "Get all orders", description = "Retrieves a list of all orders in the system")
+    @Operation(summary = "Get all orders",
+            description = "Retrieves a page of orders, newest first; follow the X-Next-Cursor header for the next page")
     @ApiResponse(responseCode = "200", description = "Successfully retrieved list")
-    public ResponseEntity<List<OrderResponseDTO>> getAllOrders() {
-        List<OrderResponseDTO> orders = orderService.getAllOrders();
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderResponseDTO>> getAllOrders(
+            @Parameter(description = "Continuation token from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of orders to return (1-500)")
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return CursorPageResponses.ok(orderService.getOrders(cursor, limit));
+    }
+
+    /**
+     * Exports every order as one JSON array.
+     * The array is written to the response while orders are read from the database,
+     * so neither the whole table nor the whole response is held in memory.
+     * Like the batch, the request gets its own async timeout, long enough for the whole table.
+     *
+     * @param request HTTP request whose async timeout is set
+     * @return Streamed JSON array of all orders
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Export all orders",
+            description = "Streams every order, oldest first, as a single JSON array")
+    @ApiResponse(responseCode = "200", description = "Orders streamed")
+    public ResponseEntity<StreamingResponseBody> exportOrders(HttpServletRequest request) {
+        setAsyncTimeout(request, exportRequestTimeout);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(output -> {
+                    try (JsonGenerator generator = objectMapper.getFactory().createGenerator(output)) {
+                        generator.writeStartArray();
+                        generator.flush();
+                        orderService.exportOrders(order -> {
+                            try {
+                                generator.writeObject(order);
+                            } catch (IOException ex) {
+                                throw new UncheckedIOException(ex);
+                            }
+                        });
+                        generator.writeEndArray();
+                    }
+                });
     }
 
     /**
      * Retrieves an order by ID.
      *
      * @param id Order ID
-     * @return Order data with all details
+     * @param request HTTP request, checked for If-None-Match and If-Modified-Since
+     * @return Order data with all details, its ETag and Last-Modified, or 304 if the client's copy is current
      */
     @GetMapping("/{id}")
-    @Operation(summary = "Get order by ID", description = "Retrieves a specific order by its ID")
+    @Operation(summary = "Get order by ID",
+            description = "Retrieves a specific order by its ID; revalidate with If-None-Match to get 304 while it is unchanged")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order found"),
+            @ApiResponse(responseCode = "304", description = "Order unchanged since the If-None-Match version"),
             @ApiResponse(responseCode = "404", description = "Order not found")
     })
-    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id) {
-        OrderResponseDTO order = orderService.getOrderById(id);
-        return ResponseEntity.ok(order);
+    public ResponseEntity<OrderResponseDTO> getOrderById(@PathVariable Long id, HttpServletRequest request) {
+        return ConditionalResponses.ok(request,
+                () -> orderService.getOrderVersion(id),
+                () -> orderService.getVersionedOrderById(id));
     }
 
     /**
-     * Retrieves all orders for a specific customer.
+     * Retrieves one page of the orders of a specific customer, newest first.
      *
      * @param customerId Customer ID
-     * @return List of orders for the customer
+     * @param cursor Continuation token of the previous page
+     * @param limit Maximum number of orders to return
+     * @return Page of orders for the customer, with the next page token in the X-Next-Cursor header
      */
     @GetMapping("/customer/{customerId}")
     @Operation(summary = "Get orders by customer",
-            description = "Retrieves all orders placed by a specific customer")
+            description = "Retrieves a page of the orders placed by a specific customer; follow the X-Next-Cursor header for the next page")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Successfully retrieved list"),
             @ApiResponse(responseCode = "404", description = "Customer not found")
     })
-    public ResponseEntity<List<OrderResponseDTO>> getOrdersByCustomer(@PathVariable Long customerId) {
-        List<OrderResponseDTO> orders = orderService.getOrdersByCustomerId(customerId);
-        return ResponseEntity.ok(orders);
+    public ResponseEntity<List<OrderResponseDTO>> getOrdersByCustomer(
+            @PathVariable Long customerId,
+            @Parameter(description = "Continuation token from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of orders to return (1-500)")
+            @RequestParam(required = false, defaultValue = "50") int limit) {
+        return CursorPageResponses.ok(orderService.getOrdersByCustomerId(customerId, cursor, limit));
+    }
+
+    /**
+     * Moves many orders to a new status.
+     * Orders are selected by ID or by their current status and creation time, and only
+     * move if the transition from their current status is allowed.
+     *
+     * @param request Orders to move and the new status
+     * @return Number of moved orders and the outcome for every selected order
+     */
+    @PatchMapping("/status")
+    @Operation(summary = "Update the status of many orders",
+            description = "Moves the orders selected by ids, or by currentStatus and optionally createdBefore, " +
+                    "to a new status in chunks and reports the outcome for each order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Orders processed, see each outcome"),
+            @ApiResponse(responseCode = "400", description = "Invalid selection or transition not allowed")
+    })
+    public ResponseEntity<OrderStatusUpdateResultDTO> updateOrderStatuses(
+            @Valid @RequestBody OrderStatusUpdateDTO request) {
+        return ResponseEntity.ok(orderStatusService.updateStatuses(request));
     }
 
     /**
@@ -101,11 +331,12 @@ public class OrderController {
      */
     @PatchMapping("/{id}/status")
     @Operation(summary = "Update order status",
-            description = "Updates the status of an existing order")
+            description = "Updates the status of an existing order if the transition from its current status is allowed")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Order status updated successfully"),
             @ApiResponse(responseCode = "404", description = "Order not found"),
-            @ApiResponse(responseCode = "400", description = "Invalid status")
+            @ApiResponse(responseCode = "400", description = "Invalid status or transition not allowed"),
+            @ApiResponse(responseCode = "409", description = "Order status changed concurrently")
     })
     public ResponseEntity<OrderResponseDTO> updateOrderStatus(
             @PathVariable Long id,
@@ -134,4 +365,11 @@ public class OrderController {
         orderService.deleteOrder(id);
         return ResponseEntity.noContent().build();
     }
-}
\ No newline at end of file
+
+    /**
+     * Replaces the default async timeout of the request, before its response starts streaming.
+     */
+    private static void setAsyncTimeout(HttpServletRequest request, Duration timeout) {
+        WebAsyncUtils.getAsyncManager(request).getAsyncWebRequest().setTimeout(timeout.toMillis());
+    }
+}
@@ -1,5 +1,7 @@
 package com.ordermanagement.orderapp.controller;
 
+import com.ordermanagement.orderapp.dto.CacheStatsDTO;
+import com.ordermanagement.orderapp.dto.CursorPage;
 import com.ordermanagement.orderapp.entity.Product;
 import com.ordermanagement.orderapp.service.ProductService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -7,6 +9,7 @@ import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -41,53 +44,93 @@ public class ProductController {
     }
 
     /**
-     * Retrieves all products.
+     * Retrieves one page of products ordered by ID.
      *
      * @param activeOnly Optional parameter to filter only active products
-     * @return List of products
+     * @param cursor Continuation token of the previous page
+     * @param limit Maximum number of products to return
+     * @param request HTTP request, checked for If-None-Match
+     * @return Page of products, with the next page token in the X-Next-Cursor header and the
+     *         catalog version as ETag, or 304 if the client's copy is current
      */
     @GetMapping
-    @Operation(summary = "Get all products", description = "Retrieves a list of all products or only active ones")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list")
+    @Operation(summary = "Get all products",
+            description = "Retrieves a page of all products or only active ones; follow the X-Next-Cursor header for the next page. " +
+                    "Every page carries the catalog version as ETag")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list"),
+            @ApiResponse(responseCode = "304", description = "Catalog unchanged since the If-None-Match version")
+    })
     public ResponseEntity<List<Product>> getAllProducts(
             @Parameter(description = "Filter only active products")
-            @RequestParam(required = false, defaultValue = "false") boolean activeOnly) {
-        List<Product> products = activeOnly ?
-                productService.getActiveProducts() :
-                productService.getAllProducts();
-        return ResponseEntity.ok(products);
+            @RequestParam(required = false, defaultValue = "false") boolean activeOnly,
+            @Parameter(description = "Continuation token from the X-Next-Cursor header of the previous page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of products to return (1-500)")
+            @RequestParam(required = false, defaultValue = "50") int limit,
+            HttpServletRequest request) {
+        return ConditionalResponses.ok(request, productService.getCatalogVersion(), () -> {
+            CursorPage<Product> products = activeOnly ?
+                    productService.getActiveProducts(cursor, limit) :
+                    productService.getAllProducts(cursor, limit);
+            return CursorPageResponses.ok(products);
+        });
+    }
+
+    /**
+     * Returns the counters of the product cache.
+     *
+     * @return Cache size, hits, misses, loads and evictions since startup
+     */
+    @GetMapping("/cache/stats")
+    @Operation(summary = "Get product cache statistics",
+            description = "Returns hit, miss, load and eviction counters of the in-process product cache")
+    @ApiResponse(responseCode = "200", description = "Successfully retrieved statistics")
+    public ResponseEntity<CacheStatsDTO> getCacheStats() {
+        return ResponseEntity.ok(productService.getCacheStats());
     }
 
     /**
      * Retrieves a product by ID.
      *
      * @param id Product ID
-     * @return Product data
+     * @param request HTTP request, checked for If-None-Match and If-Modified-Since
+     * @return Product data with its ETag and Last-Modified, or 304 if the client's copy is current
      */
     @GetMapping("/{id}")
     @Operation(summary = "Get product by ID", description = "Retrieves a specific product by its ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Product found"),
+            @ApiResponse(responseCode = "304", description = "Product unchanged since the If-None-Match version"),
             @ApiResponse(responseCode = "404", description = "Product not found")
     })
-    public ResponseEntity<Product> getProductById(@PathVariable Long id) {
-        Product product = productService.getProductById(id);
-        return ResponseEntity.ok(product);
+    public ResponseEntity<Product> getProductById(@PathVariable Long id, HttpServletRequest request) {
+        return ConditionalResponses.ok(request,
+                () -> productService.getVersionedProductById(id).getVersion(),
+                () -> productService.getVersionedProductById(id));
     }
 
     /**
-     * Searches products by name.
+     * Searches products by name and description.
      *
-     * @param name Name to search for
-     * @return List of matching products
+     * @param name Text to search for
+     * @param limit Maximum number of products to return
+     * @return Matching products, best first
      */
     @GetMapping("/search")
-    @Operation(summary = "Search products by name", description = "Searches products containing the specified name")
-    @ApiResponse(responseCode = "200", description = "Successfully retrieved list")
+    @Operation(summary = "Search products",
+            description = "Searches products whose name or description contains every term of the text; " +
+                    "terms of two characters match the start of a word. Results are ranked, name matches first")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Successfully retrieved list"),
+            @ApiResponse(responseCode = "400", description = "Search text too short or invalid limit")
+    })
     public ResponseEntity<List<Product>> searchProducts(
-            @Parameter(description = "Name to search for")
-            @RequestParam String name) {
-        List<Product> products = productService.searchProductsByName(name);
+            @Parameter(description = "Text to search for")
+            @RequestParam String name,
+            @Parameter(description = "Maximum number of products to return (1-100)")
+            @RequestParam(required = false, defaultValue = "20") int limit) {
+        List<Product> products = productService.searchProductsByName(name, limit);
         return ResponseEntity.ok(products);
     }
 
@@ -0,0 +1,34 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Counters of an in-process cache since startup.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDTO {
+
+    private long size;
+    private long hitCount;
+    private long missCount;
+    private double hitRate;
+    private long loadSuccessCount;
+    private long loadFailureCount;
+    private long evictionCount;
+
+    public static CacheStatsDTO of(CacheStats stats, long size) {
+        return new CacheStatsDTO(
+                size,
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.loadSuccessCount(),
+                stats.loadFailureCount(),
+                stats.evictionCount());
+    }
+}
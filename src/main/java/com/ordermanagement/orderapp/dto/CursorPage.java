@@ -0,0 +1,65 @@
+package com.ordermanagement.orderapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * One page of a keyset-paginated listing.
+ * {@code nextCursor} is null on the last page.
+ *
+ * @param <T> Item type
+ */
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    public static final int MAX_LIMIT = 500;
+
+    private List<T> items;
+    private String nextCursor;
+
+    /**
+     * Validates a client supplied page size.
+     *
+     * @param limit Requested page size
+     * @throws IllegalArgumentException if the limit is outside 1..MAX_LIMIT
+     */
+    public static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+        }
+    }
+
+    /**
+     * Row limit to query for a page: one extra row tells whether another page follows.
+     *
+     * @param limit Page size
+     * @return Query limit
+     */
+    public static Limit queryLimit(int limit) {
+        return Limit.of(limit + 1);
+    }
+
+    /**
+     * Builds a page from rows fetched with {@link #queryLimit(int)}.
+     *
+     * @param rows     Fetched rows, at most limit + 1
+     * @param limit    Page size
+     * @param cursorOf Cursor of a row
+     * @param mapper   Conversion of a row to a page item
+     * @return Page with the first {@code limit} rows
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int limit,
+                                          Function<E, PageCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasNext = rows.size() > limit;
+        List<E> pageRows = hasNext ? rows.subList(0, limit) : rows;
+        String nextCursor = hasNext ? cursorOf.apply(pageRows.get(limit - 1)).encode() : null;
+        return new CursorPage<>(pageRows.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+    }
+}
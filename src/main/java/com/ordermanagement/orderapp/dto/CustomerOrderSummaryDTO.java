@@ -0,0 +1,35 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.ordermanagement.orderapp.entity.CustomerOrderSummary;
+import com.ordermanagement.orderapp.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Order totals of a customer. Cancelled orders are not counted.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CustomerOrderSummaryDTO {
+
+    private Long customerId;
+    private long orderCount;
+    private Money lifetimeValue;
+    private LocalDateTime lastOrderAt;
+
+    public static CustomerOrderSummaryDTO fromEntity(CustomerOrderSummary summary) {
+        return new CustomerOrderSummaryDTO(
+                summary.getCustomerId(),
+                summary.getOrderCount(),
+                summary.getLifetimeValue(),
+                summary.getLastOrderAt());
+    }
+
+    public static CustomerOrderSummaryDTO empty(Long customerId) {
+        return new CustomerOrderSummaryDTO(customerId, 0, Money.ZERO, null);
+    }
+}
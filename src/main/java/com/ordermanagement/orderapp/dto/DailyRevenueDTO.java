@@ -0,0 +1,22 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.ordermanagement.orderapp.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Orders, units sold and revenue of one day, not counting cancelled orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DailyRevenueDTO {
+
+    private LocalDate date;
+    private long orders;
+    private long units;
+    private Money revenue;
+}
@@ -0,0 +1,26 @@
+package com.ordermanagement.orderapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * State of the customer email Bloom filter. The observed false-positive rate is the share of
+ * free emails that the filter could not tell apart from taken ones since it was built.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmailFilterStatsDTO {
+
+    private boolean enabled;
+    private boolean ready;
+    private long insertions;
+    private long bits;
+    private int hashFunctions;
+    private double fillRatio;
+    private double expectedFalsePositiveRate;
+    private long definiteNegatives;
+    private long falsePositives;
+    private double observedFalsePositiveRate;
+}
@@ -0,0 +1,29 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one input line of a bulk order ingestion.
+ * Exactly one of {@code orderId} and {@code error} is set.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderBatchResultDTO {
+
+    private long line;
+    private Long orderId;
+    private String error;
+
+    public static OrderBatchResultDTO success(Long orderId) {
+        return new OrderBatchResultDTO(0, orderId, null);
+    }
+
+    public static OrderBatchResultDTO failure(String error) {
+        return new OrderBatchResultDTO(0, null, error);
+    }
+}
@@ -1,6 +1,7 @@
 package com.ordermanagement.orderapp.dto;
 
 
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
@@ -17,6 +18,7 @@ public class OrderCreatedDTO {
     private Long id;
 
     @NotEmpty(message = "Order must contain at least one item")
+    @Valid
     private List<OrderItemDTO> Items;
 
 }
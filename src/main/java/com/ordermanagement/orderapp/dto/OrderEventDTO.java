@@ -0,0 +1,35 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.entity.OrderEvent;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change of an order as sent on the event stream. The ID is also the SSE event ID.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderEventDTO {
+
+    private Long id;
+    private Long orderId;
+    private Long customerId;
+    private OrderEvent.Type type;
+    private Order.OrderStatus status;
+    private LocalDateTime createdAt;
+
+    public static OrderEventDTO fromEntity(OrderEvent event) {
+        return new OrderEventDTO(
+                event.getId(),
+                event.getOrderId(),
+                event.getCustomerId(),
+                event.getType(),
+                event.getStatus(),
+                event.getCreatedAt());
+    }
+}
@@ -0,0 +1,49 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ordermanagement.orderapp.entity.OrderIntakeRecord;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Progress of an order accepted by the asynchronous intake.
+ * {@code orderId} and {@code order} are set once the order is created, {@code error} if it failed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderIntakeDTO {
+
+    public enum Status {
+        /** Waiting in the queue or being written; only the instance that accepted the order knows it */
+        QUEUED,
+        CREATED,
+        FAILED
+    }
+
+    private String trackingId;
+    private Status status;
+    private Long orderId;
+    private String error;
+    private OrderResponseDTO order;
+
+    public static OrderIntakeDTO queued(String trackingId) {
+        return new OrderIntakeDTO(trackingId, Status.QUEUED, null, null, null);
+    }
+
+    public static OrderIntakeDTO created(String trackingId, Long orderId) {
+        return new OrderIntakeDTO(trackingId, Status.CREATED, orderId, null, null);
+    }
+
+    public static OrderIntakeDTO failed(String trackingId, String error) {
+        return new OrderIntakeDTO(trackingId, Status.FAILED, null, error, null);
+    }
+
+    public static OrderIntakeDTO fromEntity(OrderIntakeRecord record) {
+        return record.getOrderId() != null
+                ? created(record.getTrackingId(), record.getOrderId())
+                : failed(record.getTrackingId(), record.getError());
+    }
+}
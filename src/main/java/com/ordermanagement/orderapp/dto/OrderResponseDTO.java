@@ -2,12 +2,13 @@ package com.ordermanagement.orderapp.dto;
 
 
 import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.money.Money;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -21,7 +22,7 @@ public class OrderResponseDTO {
     private String customerName;
     private String customerEmail;
     private List<OrderItemResponse> items;
-    private BigDecimal totalAmount;
+    private Money totalAmount;
     private String status;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
@@ -34,8 +35,8 @@ public class OrderResponseDTO {
         private Long productId;
         private String productName;
         private Integer quantity;
-        private BigDecimal unitPrice;
-        private BigDecimal subtotal;
+        private Money unitPrice;
+        private Money subtotal;
     }
 
     public static OrderResponseDTO fromEntity(Order order) {
@@ -62,4 +63,62 @@ public class OrderResponseDTO {
 
         return dto;
     }
+
+    /**
+     * Assembles DTOs from flat rows, without going through entities.
+     * Rows of the same order must be adjacent; orders keep the order of their first row.
+     *
+     * @param rows Rows ordered by order
+     * @return One DTO per order
+     */
+    public static List<OrderResponseDTO> fromRows(List<OrderRow> rows) {
+        List<OrderResponseDTO> orders = new ArrayList<>();
+        OrderResponseDTO current = null;
+        for (OrderRow row : rows) {
+            if (current == null || !current.getId().equals(row.getOrderId())) {
+                current = fromRow(row);
+                orders.add(current);
+            }
+            addItem(current, row);
+        }
+        return orders;
+    }
+
+    /**
+     * Starts the DTO of the order a row belongs to, without any item.
+     *
+     * @param row First row of the order
+     * @return DTO with an empty item list
+     */
+    public static OrderResponseDTO fromRow(OrderRow row) {
+        return new OrderResponseDTO(
+                row.getOrderId(),
+                row.getCustomerId(),
+                row.getCustomerName(),
+                row.getCustomerEmail(),
+                new ArrayList<>(),
+                row.getTotalAmount(),
+                row.getStatus().name(),
+                row.getCreatedAt(),
+                row.getUpdatedAt());
+    }
+
+    /**
+     * Adds the item of a row to the DTO of its order.
+     *
+     * @param dto DTO of the row's order
+     * @param row Row holding the item, if any
+     */
+    public static void addItem(OrderResponseDTO dto, OrderRow row) {
+        if (row.getItemId() == null) {
+            return;
+        }
+        dto.getItems().add(new OrderItemResponse(
+                row.getItemId(),
+                row.getProductId(),
+                row.getProductName(),
+                row.getQuantity(),
+                row.getUnitPrice(),
+                row.getUnitPrice().times(row.getQuantity())));
+    }
 }
@@ -0,0 +1,35 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flat read-model row: one order item joined with its order, customer and product.
+ * Built by JPQL constructor expressions, so reading it creates no managed entities.
+ * An order without items yields a single row whose item columns are null.
+ * The customer and product change times only serve to version the order's representation.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderRow {
+
+    private final Long orderId;
+    private final Long customerId;
+    private final String customerName;
+    private final String customerEmail;
+    private final LocalDateTime customerUpdatedAt;
+    private final Money totalAmount;
+    private final Order.OrderStatus status;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime updatedAt;
+    private final Long itemId;
+    private final Long productId;
+    private final String productName;
+    private final LocalDateTime productUpdatedAt;
+    private final Integer quantity;
+    private final Money unitPrice;
+}
@@ -0,0 +1,29 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.ordermanagement.orderapp.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of a bulk status change for one order.
+ * {@code previousStatus} is the status the order had before the change, absent if the order does not exist.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class OrderStatusOutcomeDTO {
+
+    private Long id;
+    private Outcome outcome;
+    private Order.OrderStatus previousStatus;
+
+    public enum Outcome {
+        UPDATED,
+        UNCHANGED,
+        NOT_FOUND,
+        ILLEGAL_TRANSITION
+    }
+}
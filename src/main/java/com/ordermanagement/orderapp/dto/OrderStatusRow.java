@@ -0,0 +1,20 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Status of an order, with what a status change needs to know about the order,
+ * read without loading the entity.
+ */
+@Getter
+@AllArgsConstructor
+public class OrderStatusRow {
+
+    private final Long id;
+    private final Long customerId;
+    private final Order.OrderStatus status;
+    private final Money totalAmount;
+}
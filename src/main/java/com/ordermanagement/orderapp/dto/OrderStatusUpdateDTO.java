@@ -0,0 +1,30 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.ordermanagement.orderapp.entity.Order;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Bulk status change request.
+ * Orders are selected either by {@code ids} or by a filter on their {@code currentStatus},
+ * optionally narrowed to orders created before {@code createdBefore}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdateDTO {
+
+    private List<Long> ids;
+
+    private Order.OrderStatus currentStatus;
+
+    private LocalDateTime createdBefore;
+
+    @NotNull(message = "Status is required")
+    private Order.OrderStatus status;
+}
@@ -0,0 +1,22 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.ordermanagement.orderapp.entity.Order;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a bulk status change: the target status, how many orders moved to it
+ * and the outcome for every selected order.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatusUpdateResultDTO {
+
+    private Order.OrderStatus status;
+    private int updated;
+    private List<OrderStatusOutcomeDTO> outcomes;
+}
@@ -0,0 +1,20 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.ordermanagement.orderapp.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Units sold and revenue of one product over a date range, not counting cancelled orders.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProductRevenueDTO {
+
+    private Long productId;
+    private String productName;
+    private long units;
+    private Money revenue;
+}
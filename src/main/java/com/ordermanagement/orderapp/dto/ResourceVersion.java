@@ -0,0 +1,55 @@
+package com.ordermanagement.orderapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * Version of a representation, from which conditional GETs are answered without building it.
+ * The strong entity tag combines a key with the microsecond of the latest change, the
+ * precision at which change times are stored.
+ */
+@Getter
+@AllArgsConstructor
+public class ResourceVersion {
+
+    private final String eTag;
+    /** Time of the latest change, or null if it cannot be relied on for If-Modified-Since */
+    private final Instant lastModified;
+
+    /**
+     * @param key        Identifies the resource, e.g. {@code order-42}
+     * @param modifiedAt Latest change of the resource
+     * @return Version with an entity tag and a last modification time
+     */
+    public static ResourceVersion of(String key, LocalDateTime modifiedAt) {
+        return new ResourceVersion(eTag(key, modifiedAt),
+                modifiedAt == null ? null : modifiedAt.atZone(ZoneId.systemDefault()).toInstant());
+    }
+
+    /**
+     * @param key        Identifies the resource and its state beyond the change time
+     * @param modifiedAt Latest change of the resource
+     * @return Version with an entity tag only
+     */
+    public static ResourceVersion tagOnly(String key, LocalDateTime modifiedAt) {
+        return new ResourceVersion(eTag(key, modifiedAt), null);
+    }
+
+    /**
+     * @return Last modification time in milliseconds, or -1 if there is none
+     */
+    public long getLastModifiedMillis() {
+        return lastModified == null ? -1 : lastModified.toEpochMilli();
+    }
+
+    private static String eTag(String key, LocalDateTime modifiedAt) {
+        long micros = modifiedAt == null ? 0
+                : modifiedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + modifiedAt.getNano() / 1_000;
+        return "\"" + key + "-" + Long.toHexString(micros) + "\"";
+    }
+}
@@ -0,0 +1,20 @@
+package com.ordermanagement.orderapp.dto;
+
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.money.Money;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number and total amount of the orders placed over a date range that are now in one status.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StatusRevenueDTO {
+
+    private Order.OrderStatus status;
+    private long orders;
+    private Money revenue;
+}
@@ -0,0 +1,17 @@
+package com.ordermanagement.orderapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * A representation together with the version it was read at.
+ *
+ * @param <T> Type of the representation
+ */
+@Getter
+@AllArgsConstructor
+public class Versioned<T> {
+
+    private final T body;
+    private final ResourceVersion version;
+}
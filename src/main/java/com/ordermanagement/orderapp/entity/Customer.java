@@ -1,13 +1,16 @@
 package com.ordermanagement.orderapp.entity;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 
 import jakarta.validation.constraints.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -26,18 +29,26 @@ import java.util.List;
 @Access(AccessType.FIELD)
 public class Customer {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_id_seq", allocationSize = 50)
     private Long id;
     @NotBlank(message = "Name is required")
     @Column(nullable = false)
     private String name;
     @NotBlank(message = "Email is required")
-    @Column(nullable = false)
+    @Column(nullable = false, unique = true)
     @Email(message = "Email must be valid")
     private String email;
     @NotNull(message = "Phone is required")
     @Column(nullable = false)
     private Long phone;
+    /**
+     * Time of the last change; the ETags of the customer's orders depend on it.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime updatedAt;
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<Order> orders = new ArrayList<>();
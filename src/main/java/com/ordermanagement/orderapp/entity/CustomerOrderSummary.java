@@ -0,0 +1,52 @@
+package com.ordermanagement.orderapp.entity;
+
+import com.ordermanagement.orderapp.money.Money;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read model with the order totals of a customer.
+ * Cancelled orders are not counted. Rows are maintained with set-based SQL in the same
+ * transaction as the order changes they reflect, so the entity itself is read-only.
+ *
+ * @see com.ordermanagement.orderapp.service.CustomerOrderSummaryService
+ */
+@Entity
+@Immutable
+@Table(name = "customer_order_summary")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Access(AccessType.FIELD)
+public class CustomerOrderSummary {
+
+    /**
+     * ID of the customer the totals belong to.
+     */
+    @Id
+    @Column(name = "customer_id")
+    private Long customerId;
+
+    /**
+     * Number of orders that are not cancelled.
+     */
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    /**
+     * Sum of the totals of the orders that are not cancelled.
+     */
+    @Column(name = "lifetime_value", nullable = false, precision = 14, scale = 2)
+    private Money lifetimeValue;
+
+    /**
+     * Creation time of the newest order that is not cancelled, null if there is none.
+     */
+    @Column(name = "last_order_at")
+    private LocalDateTime lastOrderAt;
+}
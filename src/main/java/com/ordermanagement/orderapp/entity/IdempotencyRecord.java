@@ -0,0 +1,54 @@
+package com.ordermanagement.orderapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.LocalDateTime;
+
+/**
+ * Response of an order creation stored under the client's Idempotency-Key, so that retries
+ * of the same request are answered with it instead of creating another order.
+ * Rows are written with native SQL in the transaction that creates the order.
+ *
+ * @see com.ordermanagement.orderapp.service.OrderIdempotencyService
+ */
+@Entity
+@Immutable
+@Table(name = "idempotency_key")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Access(AccessType.FIELD)
+public class IdempotencyRecord {
+
+    @Id
+    @Column(name = "idempotency_key", length = 255)
+    private String idempotencyKey;
+
+    /**
+     * SHA-256 of the request body, to reject the key being reused for another request.
+     */
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    /**
+     * OrderResponseDTO returned by the original request, as JSON.
+     */
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(name = "response")
+    private String response;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
@@ -1,17 +1,20 @@
 package com.ordermanagement.orderapp.entity;
 
+import com.ordermanagement.orderapp.money.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
-import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Entity lass representing a Order in the Order Management System
@@ -23,18 +26,34 @@ import java.util.List;
 
 @Entity
 @Table(name = "orders")
+@NamedEntityGraph(
+        name = Order.DETAIL_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("customer"),
+                @NamedAttributeNode(value = "orderItems", subgraph = "items")
+        },
+        subgraphs = @NamedSubgraph(name = "items", attributeNodes = @NamedAttributeNode("product"))
+)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 @Access(AccessType.FIELD)
 public class Order {
 
+    /**
+     * Entity graph with everything an OrderResponseDTO reads:
+     * the customer and the order items with their products.
+     * The API reads projection rows instead; the read benchmark compares the two.
+     */
+    public static final String DETAIL_GRAPH = "Order.detail";
+
     /**
      * Unique identifier for the order.
-     * Auto-generated primary key.
+     * Allocated in blocks from a pooled sequence so inserts can be JDBC-batched.
      */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_seq")
+    @SequenceGenerator(name = "order_seq", sequenceName = "orders_id_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -57,7 +76,7 @@ public class Order {
      * Total amount of the order.
      */
     @Column(precision = 10, scale = 2)
-    private BigDecimal totalAmount;
+    private Money totalAmount;
 
     /**
      * Order status.
@@ -68,8 +87,8 @@ public class Order {
 
     /**
      * Timestamp when the order was created.
+     * Also the key of the monthly partition the order and its items are stored in.
      */
-    @CreationTimestamp
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -82,6 +101,8 @@ public class Order {
 
     /**
      * Enum representing possible order statuses.
+     * An order moves forward one step at a time and can be cancelled until it ships;
+     * DELIVERED and CANCELLED are final.
      */
     public enum OrderStatus {
         PENDING,
@@ -89,7 +110,39 @@ public class Order {
         PROCESSING,
         SHIPPED,
         DELIVERED,
-        CANCELLED
+        CANCELLED;
+
+        private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+        static {
+            TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+            TRANSITIONS.put(CONFIRMED, EnumSet.of(PROCESSING, CANCELLED));
+            TRANSITIONS.put(PROCESSING, EnumSet.of(SHIPPED, CANCELLED));
+            TRANSITIONS.put(SHIPPED, EnumSet.of(DELIVERED));
+            TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+            TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
+        }
+
+        /**
+         * @param target Status to move to
+         * @return Whether an order in this status may move to the target status
+         */
+        public boolean canTransitionTo(OrderStatus target) {
+            return TRANSITIONS.get(this).contains(target);
+        }
+    }
+
+    /**
+     * Stamps the creation time on the order and, as their partition key, on its items.
+     */
+    @PrePersist
+    void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+        for (OrderItem orderItem : orderItems) {
+            orderItem.setOrderCreatedAt(createdAt);
+        }
     }
 
     /**
@@ -116,8 +169,10 @@ public class Order {
      * Calculates and sets the total amount based on order items.
      */
     public void calculateTotalAmount() {
-        this.totalAmount = orderItems.stream()
-                .map(OrderItem::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
+        long totalCents = 0L;
+        for (OrderItem orderItem : orderItems) {
+            totalCents = Math.addExact(totalCents, orderItem.getSubtotal().getCents());
+        }
+        this.totalAmount = Money.ofCents(totalCents);
     }
 }
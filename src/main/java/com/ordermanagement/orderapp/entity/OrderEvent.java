@@ -0,0 +1,56 @@
+package com.ordermanagement.orderapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outbox entry recording a change of an order, written in the transaction that made the change.
+ * The ID is the offset clients resume from; it grows with every event, but events may commit
+ * out of ID order.
+ *
+ * @see com.ordermanagement.orderapp.service.OrderEventStream
+ */
+@Entity
+@Immutable
+@Table(name = "order_event")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Access(AccessType.FIELD)
+public class OrderEvent {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "order_id", nullable = false)
+    private Long orderId;
+
+    @Column(name = "customer_id", nullable = false)
+    private Long customerId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Type type;
+
+    /**
+     * Status of the order after the change; for a deletion, its last status.
+     */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 20)
+    private Order.OrderStatus status;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,59 @@
+package com.ordermanagement.orderapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Outcome of an order accepted by the asynchronous intake, stored under its tracking ID in the
+ * transaction that creates the batch of the order, so that any instance can report it.
+ * {@code orderId} is set if the order was created, {@code error} if it failed.
+ *
+ * @see com.ordermanagement.orderapp.service.OrderIntakeService
+ */
+@Entity
+@Immutable
+@Table(name = "order_intake")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Access(AccessType.FIELD)
+public class OrderIntakeRecord implements Persistable<String> {
+
+    @Id
+    @Column(name = "tracking_id", length = 36)
+    private String trackingId;
+
+    @Column(name = "order_id")
+    private Long orderId;
+
+    @JdbcTypeCode(SqlTypes.LONG32VARCHAR)
+    @Column(name = "error")
+    private String error;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Override
+    public String getId() {
+        return trackingId;
+    }
+
+    /**
+     * Records are only ever inserted, so they are persisted in JDBC batches without a lookup first.
+     */
+    @Override
+    public boolean isNew() {
+        return true;
+    }
+}
@@ -1,6 +1,6 @@
 package com.ordermanagement.orderapp.entity;
 
-
+import com.ordermanagement.orderapp.money.Money;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
@@ -8,7 +8,7 @@ import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Entity class representing an OrderItem in the Order Management System.
@@ -26,14 +26,22 @@ import java.math.BigDecimal;
 @Access(AccessType.FIELD)
 public class OrderItem {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_item_seq")
+    @SequenceGenerator(name = "order_item_seq", sequenceName = "order_item_id_seq", allocationSize = 50)
     private Long id;
 
     @NotNull(message = "Order is required")
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "order_id", nullable = false)
+    @JoinColumn(name = "order_id", nullable = false, foreignKey = @ForeignKey(name = "fk_order"))
     private Order order;
 
+    /**
+     * Creation time of the order, copied from it; the key of the monthly partition the item
+     * shares with its order (see database.sql).
+     */
+    @Column(name = "order_created_at", nullable = false, updatable = false)
+    private LocalDateTime orderCreatedAt;
+
     @NotNull(message = "Product is required")
     @ManyToOne(fetch = FetchType.EAGER)
     @JoinColumn(name = "product_id", nullable = false)
@@ -44,13 +52,20 @@ public class OrderItem {
     @Column(nullable = false)
     private Integer quantity;
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal unitPrice;
+    private Money unitPrice;
 
-    public BigDecimal getSubtotal() {
+    public Money getSubtotal() {
         if (unitPrice == null || quantity == null) {
-            return BigDecimal.ZERO;
+            return Money.ZERO;
+        }
+        return unitPrice.times(quantity);
+    }
+
+    @PrePersist
+    void onCreate() {
+        if (orderCreatedAt == null && order != null) {
+            orderCreatedAt = order.getCreatedAt();
         }
-        return unitPrice.multiply(BigDecimal.valueOf(quantity));
     }
 
     public void setUnitPriceFromProduct() {
@@ -0,0 +1,54 @@
+package com.ordermanagement.orderapp.entity;
+
+import com.ordermanagement.orderapp.money.Money;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Number and total amount of the orders placed in one hour, per current status.
+ * Rows are written with set-based SQL by the rollup refresh, so the entity is read-only.
+ *
+ * @see com.ordermanagement.orderapp.service.AnalyticsRollupService
+ */
+@Entity
+@Immutable
+@IdClass(OrderStatusHourlyRollup.Key.class)
+@Table(name = "order_status_hourly")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Access(AccessType.FIELD)
+public class OrderStatusHourlyRollup {
+
+    /**
+     * Start of the hour the orders were created in.
+     */
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(length = 50)
+    private Order.OrderStatus status;
+
+    @Column(name = "order_count", nullable = false)
+    private long orderCount;
+
+    @Column(nullable = false, precision = 16, scale = 2)
+    private Money revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDateTime bucketStart;
+        private Order.OrderStatus status;
+    }
+}
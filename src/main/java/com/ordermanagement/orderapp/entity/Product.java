@@ -1,14 +1,17 @@
 package com.ordermanagement.orderapp.entity;
 
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.money.PositiveMoney;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
-import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.UpdateTimestamp;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 
 /**
  * Entity class representing a Product in the Order Management System.
@@ -26,7 +29,8 @@ import java.math.BigDecimal;
 @Access(AccessType.FIELD)
 public class Product {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_seq")
+    @SequenceGenerator(name = "product_seq", sequenceName = "product_id_seq", allocationSize = 50)
     private Long  id;
 
     @NotBlank(message = "Name is required")
@@ -37,13 +41,21 @@ public class Product {
     private String description;
 
     @NotNull(message = "Price is required")
-    @Positive(message = "Price must be positive")
+    @PositiveMoney(message = "Price must be positive")
     @Column(nullable = false, precision = 10, scale = 2)
-    private BigDecimal price;
+    private Money price;
 
     @Column(name ="is_active", nullable = false)
     private Boolean isActive = true;
 
+    /**
+     * Time of the last change, from which the ETag of the product is derived.
+     */
+    @UpdateTimestamp
+    @Column(name = "updated_at", nullable = false)
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private LocalDateTime updatedAt;
+
     @Transient
     public Long getId() {
         return this.id;
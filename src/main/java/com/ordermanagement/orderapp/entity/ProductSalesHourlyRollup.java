@@ -0,0 +1,54 @@
+package com.ordermanagement.orderapp.entity;
+
+import com.ordermanagement.orderapp.money.Money;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Units sold and revenue of one product in the orders placed in one hour, not counting
+ * cancelled orders. Rows are written with set-based SQL by the rollup refresh, so the
+ * entity is read-only.
+ *
+ * @see com.ordermanagement.orderapp.service.AnalyticsRollupService
+ */
+@Entity
+@Immutable
+@IdClass(ProductSalesHourlyRollup.Key.class)
+@Table(name = "product_sales_hourly")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Access(AccessType.FIELD)
+public class ProductSalesHourlyRollup {
+
+    /**
+     * Start of the hour the orders were created in.
+     */
+    @Id
+    @Column(name = "bucket_start")
+    private LocalDateTime bucketStart;
+
+    @Id
+    @Column(name = "product_id")
+    private Long productId;
+
+    @Column(nullable = false)
+    private long units;
+
+    @Column(nullable = false, precision = 16, scale = 2)
+    private Money revenue;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private LocalDateTime bucketStart;
+        private Long productId;
+    }
+}
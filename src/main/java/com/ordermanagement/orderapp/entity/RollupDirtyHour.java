@@ -0,0 +1,28 @@
+package com.ordermanagement.orderapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Hour whose rollups must be recomputed because one of its orders was deleted,
+ * which leaves no changed row behind for the refresh to find.
+ */
+@Entity
+@Table(name = "rollup_dirty_hour")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Access(AccessType.FIELD)
+public class RollupDirtyHour {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+}
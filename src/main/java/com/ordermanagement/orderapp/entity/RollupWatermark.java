@@ -0,0 +1,28 @@
+package com.ordermanagement.orderapp.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * How far a set of rollup tables has been refreshed: orders changed before
+ * {@code refreshedThrough} are already reflected in them.
+ */
+@Entity
+@Table(name = "rollup_watermark")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Access(AccessType.FIELD)
+public class RollupWatermark {
+
+    @Id
+    @Column(length = 100)
+    private String name;
+
+    @Column(name = "refreshed_through", nullable = false)
+    private LocalDateTime refreshedThrough;
+}
@@ -0,0 +1,12 @@
+package com.ordermanagement.orderapp.exception;
+
+/**
+ * Thrown when a request with an Idempotency-Key is still being processed by an earlier
+ * request with the same key after the configured wait.
+ */
+public class IdempotencyConflictException extends RuntimeException {
+
+    public IdempotencyConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.ordermanagement.orderapp.exception;
+
+/**
+ * Thrown when the asynchronous order intake cannot take another order because its queue is
+ * full or it is shutting down.
+ */
+public class OrderIntakeFullException extends RuntimeException {
+
+    public OrderIntakeFullException(String message) {
+        super(message);
+    }
+}
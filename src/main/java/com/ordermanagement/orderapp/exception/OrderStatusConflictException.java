@@ -0,0 +1,12 @@
+package com.ordermanagement.orderapp.exception;
+
+/**
+ * Thrown when an order no longer has the status a conditional update expected,
+ * because another request changed it in the meantime.
+ */
+public class OrderStatusConflictException extends RuntimeException {
+
+    public OrderStatusConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,142 @@
+package com.ordermanagement.orderapp.money;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+import java.math.BigDecimal;
+
+/**
+ * Immutable amount of money with two decimal places, stored as a {@code long} of cents.
+ * Arithmetic is exact and throws {@link ArithmeticException} on overflow instead of wrapping.
+ * Stored as NUMERIC(10,2) through {@link MoneyConverter} and written to JSON as a plain number.
+ */
+@JsonSerialize(using = MoneySerializer.class)
+@Schema(type = "number", format = "decimal", example = "25999.99")
+public final class Money implements Comparable<Money> {
+
+    public static final int SCALE = 2;
+    public static final Money ZERO = new Money(0L);
+
+    private final long cents;
+
+    private Money(long cents) {
+        this.cents = cents;
+    }
+
+    /**
+     * @param cents Amount in cents
+     * @return Money of the given number of cents
+     */
+    public static Money ofCents(long cents) {
+        return cents == 0L ? ZERO : new Money(cents);
+    }
+
+    /**
+     * Converts a decimal amount.
+     *
+     * @param amount Decimal amount with at most two decimal places
+     * @return Money of the same amount
+     * @throws IllegalArgumentException if the amount has more than two decimal places or does not fit
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static Money of(BigDecimal amount) {
+        try {
+            return ofCents(amount.setScale(SCALE).unscaledValue().longValueExact());
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Invalid amount, at most " + SCALE + " decimal places allowed: " + amount);
+        }
+    }
+
+    /**
+     * @param amount Decimal amount, such as "25999.99"
+     * @return Money of the same amount
+     * @throws IllegalArgumentException if the amount is not a number with at most two decimal places
+     */
+    public static Money of(String amount) {
+        return of(new BigDecimal(amount));
+    }
+
+    public long getCents() {
+        return cents;
+    }
+
+    /**
+     * @param other Amount to add
+     * @return Sum of both amounts
+     * @throws ArithmeticException on overflow
+     */
+    public Money plus(Money other) {
+        return ofCents(Math.addExact(cents, other.cents));
+    }
+
+    /**
+     * @param quantity Multiplier
+     * @return This amount times the quantity
+     * @throws ArithmeticException on overflow
+     */
+    public Money times(int quantity) {
+        return ofCents(Math.multiplyExact(cents, quantity));
+    }
+
+    public boolean isPositive() {
+        return cents > 0L;
+    }
+
+    /**
+     * @return The amount as a BigDecimal with two decimal places
+     */
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(cents, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(cents, other.cents);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money money && money.cents == cents;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(cents);
+    }
+
+    /**
+     * @return The amount with two decimal places, such as "25999.99" or "-0.05"
+     */
+    @Override
+    public String toString() {
+        char[] buffer = new char[21];
+        return new String(buffer, 0, format(buffer));
+    }
+
+    /**
+     * Writes the amount with two decimal places into the buffer, without allocating.
+     *
+     * @param buffer At least 21 characters
+     * @return Number of characters written from the start of the buffer
+     */
+    int format(char[] buffer) {
+        long units = Math.abs(cents / 100);
+        int fraction = (int) Math.abs(cents % 100);
+        int end = buffer.length;
+        int position = end;
+        buffer[--position] = (char) ('0' + fraction % 10);
+        buffer[--position] = (char) ('0' + fraction / 10);
+        buffer[--position] = '.';
+        do {
+            buffer[--position] = (char) ('0' + units % 10);
+            units /= 10;
+        } while (units > 0);
+        if (cents < 0) {
+            buffer[--position] = '-';
+        }
+        int length = end - position;
+        System.arraycopy(buffer, position, buffer, 0, length);
+        return length;
+    }
+}
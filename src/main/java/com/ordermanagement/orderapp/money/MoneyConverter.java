@@ -0,0 +1,26 @@
+package com.ordermanagement.orderapp.money;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+
+/**
+ * Maps every {@link Money} attribute to a NUMERIC(10,2) column.
+ * Money is immutable, so Hibernate compares instances instead of copying them for dirty checking.
+ */
+@Converter(autoApply = true)
+@Immutable
+public class MoneyConverter implements AttributeConverter<Money, BigDecimal> {
+
+    @Override
+    public BigDecimal convertToDatabaseColumn(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
+
+    @Override
+    public Money convertToEntityAttribute(BigDecimal amount) {
+        return amount == null ? null : Money.of(amount);
+    }
+}
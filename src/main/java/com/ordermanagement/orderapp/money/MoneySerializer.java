@@ -0,0 +1,33 @@
+package com.ordermanagement.orderapp.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+
+/**
+ * Writes {@link Money} as a JSON number with two decimal places, formatted straight from its cents.
+ * CBOR and Smile, which cannot take a formatted number, get a native decimal instead. They are
+ * told apart by type: no generator, JSON included, reports that it can write formatted numbers.
+ */
+public class MoneySerializer extends StdSerializer<Money> {
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[21]);
+
+    public MoneySerializer() {
+        super(Money.class);
+    }
+
+    @Override
+    public void serialize(Money value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (generator instanceof CBORGenerator || generator instanceof SmileGenerator) {
+            generator.writeNumber(value.toBigDecimal());
+            return;
+        }
+        char[] buffer = BUFFER.get();
+        generator.writeNumber(buffer, 0, value.format(buffer));
+    }
+}
@@ -0,0 +1,15 @@
+package com.ordermanagement.orderapp.money;
+
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+/**
+ * Validates {@link PositiveMoney}.
+ */
+public class PositiveMoneyValidator implements ConstraintValidator<PositiveMoney, Money> {
+
+    @Override
+    public boolean isValid(Money value, ConstraintValidatorContext context) {
+        return value == null || value.isPositive();
+    }
+}
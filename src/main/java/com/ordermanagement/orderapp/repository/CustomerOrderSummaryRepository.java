@@ -0,0 +1,86 @@
+package com.ordermanagement.orderapp.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ordermanagement.orderapp.entity.CustomerOrderSummary;
+
+import jakarta.persistence.LockModeType;
+
+/*
+ * Summaries are changed with relative updates (order_count = order_count + :count) so concurrent
+ * orders of one customer serialize on the summary row instead of overwriting each other.
+ */
+@Repository
+public interface CustomerOrderSummaryRepository extends JpaRepository<CustomerOrderSummary, Long> {
+
+    /**
+     * Order totals recomputed from the orders table.
+     */
+    interface Totals {
+        Long getCustomerId();
+        Long getOrderCount();
+        BigDecimal getLifetimeValue();
+        LocalDateTime getLastOrderAt();
+    }
+
+    @Modifying
+    @Query(value = "INSERT INTO customer_order_summary (customer_id, order_count, lifetime_value, last_order_at) " +
+            "VALUES (:customerId, :count, :amount, :lastOrderAt)", nativeQuery = true)
+    int insert(@Param("customerId") Long customerId,
+               @Param("count") long count,
+               @Param("amount") BigDecimal amount,
+               @Param("lastOrderAt") LocalDateTime lastOrderAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE customer_order_summary SET order_count = order_count + :count, " +
+            "lifetime_value = lifetime_value + :amount, " +
+            "last_order_at = CASE WHEN last_order_at IS NULL OR last_order_at < :lastOrderAt " +
+            "THEN :lastOrderAt ELSE last_order_at END " +
+            "WHERE customer_id = :customerId", nativeQuery = true)
+    int addOrders(@Param("customerId") Long customerId,
+                  @Param("count") long count,
+                  @Param("amount") BigDecimal amount,
+                  @Param("lastOrderAt") LocalDateTime lastOrderAt);
+
+    /**
+     * Takes orders that were cancelled or deleted out of the totals. The newest remaining order
+     * is looked up along idx_orders_customer_created_at_id.
+     */
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE customer_order_summary SET order_count = order_count - :count, " +
+            "lifetime_value = lifetime_value - :amount, " +
+            "last_order_at = (SELECT MAX(o.created_at) FROM orders o " +
+            "WHERE o.customer_id = :customerId AND o.status <> 'CANCELLED') " +
+            "WHERE customer_id = :customerId", nativeQuery = true)
+    int removeOrders(@Param("customerId") Long customerId,
+                     @Param("count") long count,
+                     @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query(value = "UPDATE customer_order_summary SET order_count = :count, lifetime_value = :amount, " +
+            "last_order_at = :lastOrderAt WHERE customer_id = :customerId", nativeQuery = true)
+    int overwrite(@Param("customerId") Long customerId,
+                  @Param("count") long count,
+                  @Param("amount") BigDecimal amount,
+                  @Param("lastOrderAt") LocalDateTime lastOrderAt);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM CustomerOrderSummary s WHERE s.customerId IN :customerIds ORDER BY s.customerId")
+    List<CustomerOrderSummary> lockByCustomerIdIn(@Param("customerIds") Collection<Long> customerIds);
+
+    @Query(value = "SELECT o.customer_id AS customerId, COUNT(*) AS orderCount, " +
+            "SUM(o.total_amount) AS lifetimeValue, MAX(o.created_at) AS lastOrderAt " +
+            "FROM orders o WHERE o.customer_id IN (:customerIds) AND o.status <> 'CANCELLED' " +
+            "GROUP BY o.customer_id", nativeQuery = true)
+    List<Totals> computeTotals(@Param("customerIds") Collection<Long> customerIds);
+}
@@ -2,13 +2,32 @@ package com.ordermanagement.orderapp.repository;
 
 
 import com.ordermanagement.orderapp.entity.Customer;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
     Optional<Customer> findByEmail(String email);
     boolean existsByEmail(String email);
+
+    List<Customer> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT c.id FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<Long> findIdsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    @Query("SELECT c.id AS id, c.email AS email FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<EmailRow> findEmailsAfter(@Param("afterId") Long afterId, Limit limit);
+
+    interface EmailRow {
+
+        Long getId();
+
+        String getEmail();
+    }
 }
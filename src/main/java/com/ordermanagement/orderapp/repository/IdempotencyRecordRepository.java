@@ -0,0 +1,48 @@
+package com.ordermanagement.orderapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ordermanagement.orderapp.entity.IdempotencyRecord;
+
+/*
+ * The key is claimed with a plain INSERT before the order is created: a concurrent transaction
+ * claiming the same key waits on the primary key until the first one commits or rolls back,
+ * and then fails with a duplicate key or proceeds.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Query("SELECT r FROM IdempotencyRecord r WHERE r.idempotencyKey = :key AND r.expiresAt > :now")
+    Optional<IdempotencyRecord> findUnexpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "INSERT INTO idempotency_key (idempotency_key, request_hash, created_at, expires_at) " +
+            "VALUES (:key, :requestHash, :createdAt, :expiresAt)", nativeQuery = true)
+    int insert(@Param("key") String key,
+               @Param("requestHash") String requestHash,
+               @Param("createdAt") LocalDateTime createdAt,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "UPDATE idempotency_key SET order_id = :orderId, response = :response " +
+            "WHERE idempotency_key = :key", nativeQuery = true)
+    int complete(@Param("key") String key,
+                 @Param("orderId") Long orderId,
+                 @Param("response") String response);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_key WHERE idempotency_key = :key AND expires_at <= :now",
+            nativeQuery = true)
+    int deleteIfExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM idempotency_key WHERE expires_at <= :now", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -0,0 +1,56 @@
+package com.ordermanagement.orderapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ordermanagement.orderapp.entity.OrderEvent;
+
+/*
+ * Events are written set-based from the orders table, so a bulk change adds its events with a
+ * single statement, and read by ID range along the primary key.
+ */
+@Repository
+public interface OrderEventRepository extends JpaRepository<OrderEvent, Long> {
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO order_event (order_id, customer_id, type, status, created_at) " +
+            "SELECT o.id, o.customer_id, :type, o.status, :createdAt FROM orders o " +
+            "WHERE o.id IN (:orderIds) ORDER BY o.id", nativeQuery = true)
+    int insertForOrders(@Param("orderIds") Collection<Long> orderIds,
+                        @Param("type") String type,
+                        @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying(flushAutomatically = true)
+    @Query(value = "INSERT INTO order_event (order_id, customer_id, type, status, created_at) " +
+            "SELECT o.id, o.customer_id, :type, o.status, :createdAt FROM orders o " +
+            "WHERE o.customer_id = :customerId ORDER BY o.id", nativeQuery = true)
+    int insertForCustomer(@Param("customerId") Long customerId,
+                          @Param("type") String type,
+                          @Param("createdAt") LocalDateTime createdAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_event (order_id, customer_id, type, status, created_at) " +
+            "VALUES (:orderId, :customerId, :type, :status, :createdAt)", nativeQuery = true)
+    int insert(@Param("orderId") Long orderId,
+               @Param("customerId") Long customerId,
+               @Param("type") String type,
+               @Param("status") String status,
+               @Param("createdAt") LocalDateTime createdAt);
+
+    List<OrderEvent> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @Query("SELECT COALESCE(MAX(e.id), 0) FROM OrderEvent e")
+    long findMaxId();
+
+    @Modifying
+    @Query("DELETE FROM OrderEvent e WHERE e.createdAt < :before")
+    int deleteCreatedBefore(@Param("before") LocalDateTime before);
+}
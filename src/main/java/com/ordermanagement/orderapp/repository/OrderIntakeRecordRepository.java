@@ -0,0 +1,23 @@
+package com.ordermanagement.orderapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ordermanagement.orderapp.entity.OrderIntakeRecord;
+
+@Repository
+public interface OrderIntakeRecordRepository extends JpaRepository<OrderIntakeRecord, String> {
+
+    @Query("SELECT r FROM OrderIntakeRecord r WHERE r.trackingId = :trackingId AND r.expiresAt > :now")
+    Optional<OrderIntakeRecord> findUnexpired(@Param("trackingId") String trackingId, @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_intake WHERE expires_at <= :now", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now);
+}
@@ -1,18 +1,156 @@
 package com.ordermanagement.orderapp.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.AvailableHints;
+
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.ordermanagement.orderapp.dto.OrderRow;
+import com.ordermanagement.orderapp.dto.OrderStatusRow;
+import com.ordermanagement.orderapp.dto.PageCursor;
 import com.ordermanagement.orderapp.entity.Order;
 
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
-    @Query("SELECT o FROM Order o WHERE o.customer.id = :customerId ORDER BY o.createdAt DESC")
-    List<Order> findByCustomerId(@Param("customerId") Long customerId);
+    /**
+     * Rows fetched per round trip by {@link #streamAllRows()}.
+     */
+    int EXPORT_FETCH_SIZE = 500;
+
+    /*
+     * Read model. Pages are resolved in two steps: the keys of the page, walked newest first
+     * along idx_orders_created_at_id / idx_orders_customer_created_at_id, then the flat rows
+     * of those orders. Neither step creates managed entities.
+     *
+     * orders and order_item are partitioned by month of o.createdAt (see database.sql). Bounds on
+     * o.createdAt, and joining the items on their copy of it, let PostgreSQL skip the partitions
+     * of other months. The bounds repeat what the keys already imply, so results do not change.
+     */
+
+    String ORDER_ROW = "SELECT new com.ordermanagement.orderapp.dto.OrderRow(" +
+            "o.id, c.id, c.name, c.email, c.updatedAt, o.totalAmount, o.status, o.createdAt, o.updatedAt, " +
+            "i.id, p.id, p.name, p.updatedAt, i.quantity, i.unitPrice) " +
+            "FROM Order o JOIN o.customer c LEFT JOIN o.orderItems i ON i.orderCreatedAt = o.createdAt " +
+            "LEFT JOIN i.product p ";
+
+    String PAGE_KEY = "SELECT new com.ordermanagement.orderapp.dto.PageCursor(o.createdAt, o.id) FROM Order o ";
+
+    @Query(PAGE_KEY + "ORDER BY o.createdAt DESC, o.id DESC")
+    List<PageCursor> findFirstPageKeys(Limit limit);
+
+    @Query(PAGE_KEY + "WHERE o.createdAt <= :createdAt AND (o.createdAt, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<PageCursor> findPageKeysAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    @Query(PAGE_KEY + "WHERE o.customer.id = :customerId ORDER BY o.createdAt DESC, o.id DESC")
+    List<PageCursor> findFirstPageKeysByCustomerId(@Param("customerId") Long customerId, Limit limit);
+
+    @Query(PAGE_KEY + "WHERE o.customer.id = :customerId AND o.createdAt <= :createdAt AND (o.createdAt, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<PageCursor> findPageKeysAfterByCustomerId(@Param("customerId") Long customerId,
+                                                   @Param("createdAt") LocalDateTime createdAt,
+                                                   @Param("id") Long id,
+                                                   Limit limit);
+
+    /**
+     * Rows of the given orders, all created between the given times.
+     */
+    @Query(ORDER_ROW + "WHERE o.id IN :ids AND o.createdAt BETWEEN :from AND :to " +
+            "ORDER BY o.createdAt DESC, o.id DESC, i.id")
+    List<OrderRow> findRowsByIdIn(@Param("ids") Collection<Long> ids,
+                                  @Param("from") LocalDateTime from,
+                                  @Param("to") LocalDateTime to);
+
+    @Query(ORDER_ROW + "WHERE o.id = :id ORDER BY i.id")
+    List<OrderRow> findRowsById(@Param("id") Long id);
+
+    /**
+     * Latest change of anything the representation of an order shows: the order, its customer
+     * and its products. Reads one aggregate instead of the rows.
+     */
+    @Query("SELECT greatest(coalesce(o.updatedAt, o.createdAt), c.updatedAt, max(p.updatedAt)) " +
+            "FROM Order o JOIN o.customer c LEFT JOIN o.orderItems i ON i.orderCreatedAt = o.createdAt " +
+            "LEFT JOIN i.product p WHERE o.id = :id GROUP BY o.updatedAt, o.createdAt, c.updatedAt")
+    Optional<LocalDateTime> findModifiedAtById(@Param("id") Long id);
+
+    /**
+     * Creation times of the orders of a customer, whose analytics hours change when the
+     * orders are deleted with the customer.
+     */
+    @Query("SELECT o.createdAt FROM Order o WHERE o.customer.id = :customerId")
+    List<LocalDateTime> findCreatedAtByCustomerId(@Param("customerId") Long customerId);
+
+    /**
+     * Streams the rows of every order, oldest first, through a database cursor
+     * instead of materializing the result list.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query(ORDER_ROW + "ORDER BY o.id, i.id")
+    Stream<OrderRow> streamAllRows();
+
+    /*
+     * Status changes. Orders are moved with conditional updates that only apply while the
+     * order still has the expected status, without loading the entity. Bulk changes lock
+     * the selected rows first so the outcome of every order is known.
+     */
+
+    String STATUS_ROW = "SELECT new com.ordermanagement.orderapp.dto.OrderStatusRow(" +
+            "o.id, o.customer.id, o.status, o.totalAmount) FROM Order o ";
+
+    @Query(STATUS_ROW + "WHERE o.id = :id")
+    Optional<OrderStatusRow> findStatusRowById(@Param("id") Long id);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(STATUS_ROW + "WHERE o.id IN :ids")
+    List<OrderStatusRow> lockStatusesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Locks the next orders with the given status, walking them by ID along idx_orders_status_id.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(STATUS_ROW + "WHERE o.status = :status AND o.id > :afterId ORDER BY o.id")
+    List<OrderStatusRow> lockStatusesByStatus(@Param("status") Order.OrderStatus status,
+                                              @Param("afterId") Long afterId,
+                                              Limit limit);
+
+    /**
+     * Locks the next orders with the given status created before the given time, walking them by ID.
+     * A plain bound rather than an optional one, so the partitions of later months are skipped.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(STATUS_ROW + "WHERE o.status = :status AND o.createdAt < :createdBefore AND o.id > :afterId " +
+            "ORDER BY o.id")
+    List<OrderStatusRow> lockStatusesByStatusCreatedBefore(@Param("status") Order.OrderStatus status,
+                                                           @Param("createdBefore") LocalDateTime createdBefore,
+                                                           @Param("afterId") Long afterId,
+                                                           Limit limit);
 
-    List<Order> findByStatus(Order.OrderStatus status);
+    /**
+     * Moves the given orders to a new status, skipping those that no longer have the expected one.
+     *
+     * @return Number of orders updated
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.status = :status, o.updatedAt = :updatedAt " +
+            "WHERE o.id IN :ids AND o.status = :expected")
+    int updateStatus(@Param("ids") Collection<Long> ids,
+                     @Param("expected") Order.OrderStatus expected,
+                     @Param("status") Order.OrderStatus status,
+                     @Param("updatedAt") LocalDateTime updatedAt);
 }
@@ -0,0 +1,69 @@
+package com.ordermanagement.orderapp.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ordermanagement.orderapp.entity.OrderStatusHourlyRollup;
+
+/*
+ * Hourly order rollup. Hours are recomputed from the orders table as a whole with
+ * DELETE + INSERT ... SELECT over a created_at range, walked along idx_orders_created_at_id.
+ */
+@Repository
+public interface OrderStatusRollupRepository extends JpaRepository<OrderStatusHourlyRollup, OrderStatusHourlyRollup.Key> {
+
+    interface Hour {
+        LocalDateTime getBucketStart();
+    }
+
+    interface DailyTotals {
+        LocalDate getBucketDay();
+        Long getOrderCount();
+        BigDecimal getRevenue();
+    }
+
+    interface StatusTotals {
+        String getStatus();
+        Long getOrderCount();
+        BigDecimal getRevenue();
+    }
+
+    /**
+     * Start of every hour with an order inserted or updated since the given time,
+     * found along idx_orders_updated_at.
+     */
+    @Query(value = "SELECT DISTINCT DATE_TRUNC('hour', o.created_at) AS bucketStart FROM orders o " +
+            "WHERE o.updated_at >= :since", nativeQuery = true)
+    List<Hour> findHoursChangedSince(@Param("since") LocalDateTime since);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_status_hourly WHERE bucket_start >= :from AND bucket_start < :to",
+            nativeQuery = true)
+    int deleteRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_status_hourly (bucket_start, status, order_count, revenue) " +
+            "SELECT DATE_TRUNC('hour', o.created_at), o.status, COUNT(*), COALESCE(SUM(o.total_amount), 0) " +
+            "FROM orders o WHERE o.created_at >= :from AND o.created_at < :to " +
+            "GROUP BY DATE_TRUNC('hour', o.created_at), o.status", nativeQuery = true)
+    int insertRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT CAST(r.bucket_start AS DATE) AS bucketDay, SUM(r.order_count) AS orderCount, " +
+            "SUM(r.revenue) AS revenue FROM order_status_hourly r " +
+            "WHERE r.bucket_start >= :from AND r.bucket_start < :to AND r.status <> 'CANCELLED' " +
+            "GROUP BY CAST(r.bucket_start AS DATE) ORDER BY bucketDay", nativeQuery = true)
+    List<DailyTotals> sumByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT r.status AS status, SUM(r.order_count) AS orderCount, SUM(r.revenue) AS revenue " +
+            "FROM order_status_hourly r WHERE r.bucket_start >= :from AND r.bucket_start < :to " +
+            "GROUP BY r.status ORDER BY r.status", nativeQuery = true)
+    List<StatusTotals> sumByStatus(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+}
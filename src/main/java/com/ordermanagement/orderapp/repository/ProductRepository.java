@@ -1,15 +1,34 @@
 package com.ordermanagement.orderapp.repository;
 
 import com.ordermanagement.orderapp.entity.Product;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface ProductRepository extends JpaRepository<Product, Long>
 {
-    List<Product> findByNameContainingIgnoreCase(String name);
+    List<Product> findByNameContainingIgnoreCase(String name, Limit limit);
 
-    List<Product> findByIsActiveTrue();
+    List<Product> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    List<Product> findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    /**
+     * Version of the whole catalog: any insert or update moves the latest change time and any
+     * delete the count. The maximum is read along idx_product_updated_at.
+     */
+    @Query("SELECT COUNT(p) AS products, MAX(p.updatedAt) AS modifiedAt FROM Product p")
+    CatalogVersion findCatalogVersion();
+
+    interface CatalogVersion {
+
+        long getProducts();
+
+        LocalDateTime getModifiedAt();
+    }
 }
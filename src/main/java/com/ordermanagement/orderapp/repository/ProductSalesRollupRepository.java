@@ -0,0 +1,61 @@
+package com.ordermanagement.orderapp.repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ordermanagement.orderapp.entity.ProductSalesHourlyRollup;
+
+/*
+ * Hourly product sales rollup, recomputed like OrderStatusRollupRepository. Cancelled orders
+ * are left out.
+ */
+@Repository
+public interface ProductSalesRollupRepository extends JpaRepository<ProductSalesHourlyRollup, ProductSalesHourlyRollup.Key> {
+
+    interface DailyUnits {
+        LocalDate getBucketDay();
+        Long getUnits();
+    }
+
+    interface ProductTotals {
+        Long getProductId();
+        String getProductName();
+        Long getUnits();
+        BigDecimal getRevenue();
+    }
+
+    @Modifying
+    @Query(value = "DELETE FROM product_sales_hourly WHERE bucket_start >= :from AND bucket_start < :to",
+            nativeQuery = true)
+    int deleteRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Modifying
+    @Query(value = "INSERT INTO product_sales_hourly (bucket_start, product_id, units, revenue) " +
+            "SELECT DATE_TRUNC('hour', o.created_at), i.product_id, SUM(i.quantity), SUM(i.quantity * i.unit_price) " +
+            "FROM orders o JOIN order_item i ON i.order_id = o.id AND i.order_created_at = o.created_at " +
+            "WHERE o.created_at >= :from AND o.created_at < :to AND o.status <> 'CANCELLED' " +
+            "GROUP BY DATE_TRUNC('hour', o.created_at), i.product_id", nativeQuery = true)
+    int insertRange(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT CAST(r.bucket_start AS DATE) AS bucketDay, SUM(r.units) AS units " +
+            "FROM product_sales_hourly r WHERE r.bucket_start >= :from AND r.bucket_start < :to " +
+            "GROUP BY CAST(r.bucket_start AS DATE)", nativeQuery = true)
+    List<DailyUnits> sumUnitsByDay(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query(value = "SELECT r.product_id AS productId, p.name AS productName, SUM(r.units) AS units, " +
+            "SUM(r.revenue) AS revenue FROM product_sales_hourly r LEFT JOIN product p ON p.id = r.product_id " +
+            "WHERE r.bucket_start >= :from AND r.bucket_start < :to " +
+            "GROUP BY r.product_id, p.name ORDER BY SUM(r.revenue) DESC, r.product_id LIMIT :limit",
+            nativeQuery = true)
+    List<ProductTotals> sumByProduct(@Param("from") LocalDateTime from,
+                                     @Param("to") LocalDateTime to,
+                                     @Param("limit") int limit);
+}
@@ -0,0 +1,26 @@
+package com.ordermanagement.orderapp.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.ordermanagement.orderapp.entity.RollupDirtyHour;
+
+@Repository
+public interface RollupDirtyHourRepository extends JpaRepository<RollupDirtyHour, Long> {
+
+    @Query("SELECT MAX(d.id) FROM RollupDirtyHour d")
+    Long findMaxId();
+
+    @Query("SELECT DISTINCT d.bucketStart FROM RollupDirtyHour d WHERE d.id <= :maxId")
+    List<LocalDateTime> findHoursUpTo(@Param("maxId") Long maxId);
+
+    @Modifying
+    @Query("DELETE FROM RollupDirtyHour d WHERE d.id <= :maxId")
+    int deleteUpTo(@Param("maxId") Long maxId);
+}
@@ -0,0 +1,123 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.entity.RollupDirtyHour;
+import com.ordermanagement.orderapp.entity.RollupWatermark;
+import com.ordermanagement.orderapp.repository.OrderStatusRollupRepository;
+import com.ordermanagement.orderapp.repository.ProductSalesRollupRepository;
+import com.ordermanagement.orderapp.repository.RollupDirtyHourRepository;
+import com.ordermanagement.orderapp.repository.RollupWatermarkRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the hourly analytics rollups ({@code order_status_hourly} and {@code product_sales_hourly})
+ * in step with the orders table.
+ * <p>
+ * Each refresh recomputes only the hours that contain an order inserted or updated since the
+ * previous refresh, found through {@code orders.updated_at}, plus the hours of deleted orders.
+ * Every other hour is left as it is. The first refresh builds the rollups from scratch.
+ * Because a transaction may commit some time after it stamped {@code updated_at}, the search
+ * starts a safety margin before the previous refresh.
+ */
+@Slf4j
+@Service
+@Transactional
+public class AnalyticsRollupService {
+
+    static final String WATERMARK = "analytics";
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final LocalDateTime END = LocalDateTime.of(9999, 1, 1, 0, 0);
+
+    private final OrderStatusRollupRepository orderStatusRollupRepository;
+    private final ProductSalesRollupRepository productSalesRollupRepository;
+    private final RollupWatermarkRepository watermarkRepository;
+    private final RollupDirtyHourRepository dirtyHourRepository;
+    private final Duration commitMargin;
+
+    public AnalyticsRollupService(OrderStatusRollupRepository orderStatusRollupRepository,
+                                  ProductSalesRollupRepository productSalesRollupRepository,
+                                  RollupWatermarkRepository watermarkRepository,
+                                  RollupDirtyHourRepository dirtyHourRepository,
+                                  @Value("${orderapp.analytics.commit-margin:5m}") Duration commitMargin) {
+        this.orderStatusRollupRepository = orderStatusRollupRepository;
+        this.productSalesRollupRepository = productSalesRollupRepository;
+        this.watermarkRepository = watermarkRepository;
+        this.dirtyHourRepository = dirtyHourRepository;
+        this.commitMargin = commitMargin;
+    }
+
+    /**
+     * Recomputes the hours changed since the previous refresh. Concurrent refreshes,
+     * also from other instances, wait for each other on the watermark row.
+     *
+     * @return Number of hours recomputed, or -1 if the rollups were built from scratch
+     */
+    @Scheduled(cron = "${orderapp.analytics.refresh-cron:0 * * * * *}")
+    public int refresh() {
+        long start = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+
+        Optional<RollupWatermark> watermark = watermarkRepository.lockByName(WATERMARK);
+        if (watermark.isEmpty()) {
+            recompute(BEGINNING, END);
+            watermarkRepository.save(new RollupWatermark(WATERMARK, now));
+            log.info("Analytics rollups built in {} ms", (System.nanoTime() - start) / 1_000_000);
+            return -1;
+        }
+
+        Set<LocalDateTime> hours = new TreeSet<>();
+        orderStatusRollupRepository.findHoursChangedSince(watermark.get().getRefreshedThrough().minus(commitMargin))
+                .forEach(hour -> hours.add(hour.getBucketStart()));
+        Long lastDirtyId = dirtyHourRepository.findMaxId();
+        if (lastDirtyId != null) {
+            hours.addAll(dirtyHourRepository.findHoursUpTo(lastDirtyId));
+            dirtyHourRepository.deleteUpTo(lastDirtyId);
+        }
+        for (LocalDateTime hour : hours) {
+            recompute(hour, hour.plusHours(1));
+        }
+        watermark.get().setRefreshedThrough(now);
+
+        log.debug("Analytics rollups refreshed: {} hours in {} ms", hours.size(), (System.nanoTime() - start) / 1_000_000);
+        return hours.size();
+    }
+
+    /**
+     * Schedules the hour of a deleted order for recomputation by the next refresh.
+     *
+     * @param createdAt Creation time of the deleted order
+     */
+    public void markDeleted(LocalDateTime createdAt) {
+        dirtyHourRepository.save(new RollupDirtyHour(null, createdAt.truncatedTo(ChronoUnit.HOURS)));
+    }
+
+    /**
+     * Schedules the hours of deleted orders for recomputation by the next refresh, once each.
+     *
+     * @param createdAts Creation times of the deleted orders
+     */
+    public void markDeleted(Collection<LocalDateTime> createdAts) {
+        Set<LocalDateTime> hours = new TreeSet<>();
+        createdAts.forEach(createdAt -> hours.add(createdAt.truncatedTo(ChronoUnit.HOURS)));
+        dirtyHourRepository.saveAll(hours.stream().map(hour -> new RollupDirtyHour(null, hour)).toList());
+    }
+
+    private void recompute(LocalDateTime from, LocalDateTime to) {
+        orderStatusRollupRepository.deleteRange(from, to);
+        orderStatusRollupRepository.insertRange(from, to);
+        productSalesRollupRepository.deleteRange(from, to);
+        productSalesRollupRepository.insertRange(from, to);
+    }
+}
@@ -0,0 +1,105 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.dto.CursorPage;
+import com.ordermanagement.orderapp.dto.DailyRevenueDTO;
+import com.ordermanagement.orderapp.dto.ProductRevenueDTO;
+import com.ordermanagement.orderapp.dto.StatusRevenueDTO;
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.OrderStatusRollupRepository;
+import com.ordermanagement.orderapp.repository.ProductSalesRollupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Revenue analytics over a range of days, both ends included.
+ * Answers come from the hourly rollups maintained by {@link AnalyticsRollupService}, so their
+ * cost depends on the length of the range and not on the number of orders; the most recent
+ * orders show up after the next rollup refresh.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class AnalyticsService {
+
+    private final OrderStatusRollupRepository orderStatusRollupRepository;
+    private final ProductSalesRollupRepository productSalesRollupRepository;
+
+    /**
+     * Retrieves orders, units sold and revenue per day, not counting cancelled orders.
+     *
+     * @param from First day
+     * @param to   Last day
+     * @return One entry per day with orders, in date order
+     * @throws IllegalArgumentException if the range is empty
+     */
+    public List<DailyRevenueDTO> getDailyRevenue(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        Map<LocalDate, Long> units = productSalesRollupRepository.sumUnitsByDay(start(from), end(to)).stream()
+                .collect(Collectors.toMap(ProductSalesRollupRepository.DailyUnits::getBucketDay,
+                        ProductSalesRollupRepository.DailyUnits::getUnits));
+
+        List<DailyRevenueDTO> days = new ArrayList<>();
+        for (OrderStatusRollupRepository.DailyTotals day : orderStatusRollupRepository.sumByDay(start(from), end(to))) {
+            days.add(new DailyRevenueDTO(day.getBucketDay(), day.getOrderCount(),
+                    units.getOrDefault(day.getBucketDay(), 0L), Money.of(day.getRevenue())));
+        }
+        return days;
+    }
+
+    /**
+     * Retrieves the best selling products by revenue, not counting cancelled orders.
+     *
+     * @param from  First day
+     * @param to    Last day
+     * @param limit Maximum number of products to return
+     * @return Products with their units sold and revenue, highest revenue first
+     * @throws IllegalArgumentException if the range is empty or the limit is out of range
+     */
+    public List<ProductRevenueDTO> getProductRevenue(LocalDate from, LocalDate to, int limit) {
+        checkRange(from, to);
+        CursorPage.checkLimit(limit);
+        return productSalesRollupRepository.sumByProduct(start(from), end(to), limit).stream()
+                .map(product -> new ProductRevenueDTO(product.getProductId(), product.getProductName(),
+                        product.getUnits(), Money.of(product.getRevenue())))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Retrieves the number and total amount of the orders placed in the range, by current status.
+     *
+     * @param from First day
+     * @param to   Last day
+     * @return One entry per status with orders
+     * @throws IllegalArgumentException if the range is empty
+     */
+    public List<StatusRevenueDTO> getStatusRevenue(LocalDate from, LocalDate to) {
+        checkRange(from, to);
+        return orderStatusRollupRepository.sumByStatus(start(from), end(to)).stream()
+                .map(status -> new StatusRevenueDTO(Order.OrderStatus.valueOf(status.getStatus()),
+                        status.getOrderCount(), Money.of(status.getRevenue())))
+                .collect(Collectors.toList());
+    }
+
+    private static void checkRange(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Range end " + to + " is before its start " + from);
+        }
+    }
+
+    private static LocalDateTime start(LocalDate from) {
+        return from.atStartOfDay();
+    }
+
+    private static LocalDateTime end(LocalDate to) {
+        return to.plusDays(1).atStartOfDay();
+    }
+}
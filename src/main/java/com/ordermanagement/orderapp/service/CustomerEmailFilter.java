@@ -0,0 +1,279 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.dto.EmailFilterStatsDTO;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * In-process Bloom filter of customer emails, lowercased and trimmed.
+ * <p>
+ * An email the filter does not contain is certainly not taken, so {@link CustomerService} inserts
+ * it without asking the database first; otherwise the database decides. The unique constraint on
+ * the email stays the source of truth: an email missing from the filter, such as one written while
+ * it was built from a lagging replica, still cannot be taken twice.
+ * <p>
+ * Emails are added as soon as they are written and again once the write commits, so a rebuild
+ * running meanwhile cannot lose them. Emails of deleted or changed customers stay in the filter
+ * until it is rebuilt, as false positives.
+ * <p>
+ * The filter is built from the database once the application is ready. Until then, every email
+ * may be taken.
+ */
+@Slf4j
+@Component
+public class CustomerEmailFilter {
+
+    private static final int BUILD_PAGE_SIZE = 1_000;
+
+    private final CustomerRepository customerRepository;
+    private final boolean enabled;
+    private final long expectedInsertions;
+    private final double falsePositiveRate;
+    private final LongAdder definiteNegatives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private volatile Bits current;
+    /** Filter being built by {@link #rebuild()}; writes go to it as well. */
+    private volatile Bits building;
+
+    /**
+     * @param customerRepository Source of the emails
+     * @param enabled            Whether to use the filter; when disabled every email may be taken
+     * @param expectedInsertions Number of emails the filter is sized for
+     * @param falsePositiveRate  False-positive rate at the expected number of emails
+     */
+    public CustomerEmailFilter(CustomerRepository customerRepository,
+                               @Value("${orderapp.customers.email-filter.enabled:true}") boolean enabled,
+                               @Value("${orderapp.customers.email-filter.expected-insertions:1000000}") long expectedInsertions,
+                               @Value("${orderapp.customers.email-filter.false-positive-rate:0.01}") double falsePositiveRate) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("Expected insertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False-positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        this.customerRepository = customerRepository;
+        this.enabled = enabled;
+        this.expectedInsertions = expectedInsertions;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        if (enabled) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Builds a new filter from every customer email, walking the table by ID in pages, and
+     * replaces the current one with it, dropping the emails no customer has any more.
+     *
+     * @return Statistics of the new filter
+     * @throws IllegalArgumentException if the filter is disabled
+     */
+    public synchronized EmailFilterStatsDTO rebuild() {
+        if (!enabled) {
+            throw new IllegalArgumentException("Customer email filter is disabled");
+        }
+        long start = System.nanoTime();
+        Bits bits = new Bits(expectedInsertions, falsePositiveRate);
+        building = bits;
+        long lastId = 0L;
+        List<CustomerRepository.EmailRow> page;
+        do {
+            page = customerRepository.findEmailsAfter(lastId, Limit.of(BUILD_PAGE_SIZE));
+            for (CustomerRepository.EmailRow row : page) {
+                bits.add(normalize(row.getEmail()));
+            }
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == BUILD_PAGE_SIZE);
+        current = bits;
+        building = null;
+        definiteNegatives.reset();
+        falsePositives.reset();
+        EmailFilterStatsDTO stats = stats();
+        log.info("Customer email filter built: {} emails in {} bits, false-positive rate {}, in {} ms",
+                stats.getInsertions(), stats.getBits(), stats.getExpectedFalsePositiveRate(),
+                (System.nanoTime() - start) / 1_000_000);
+        return stats;
+    }
+
+    /**
+     * @param email Email to check
+     * @return False if no customer has the email; true if one may have it
+     */
+    public boolean mightContain(String email) {
+        Bits bits = current;
+        if (bits == null) {
+            return true;
+        }
+        boolean found = bits.contains(normalize(email));
+        if (!found) {
+            definiteNegatives.increment();
+        }
+        return found;
+    }
+
+    /**
+     * Records that an email the filter reported as possibly taken was free.
+     */
+    public void recordFalsePositive() {
+        falsePositives.increment();
+    }
+
+    /**
+     * Adds an email being written by the current transaction, now and again once it commits.
+     *
+     * @param email Email of a customer being created or changed
+     */
+    public void add(String email) {
+        String normalized = normalize(email);
+        addNow(normalized);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    addNow(normalized);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return Size, fill and false-positive rates of the current filter
+     */
+    public EmailFilterStatsDTO stats() {
+        Bits bits = current;
+        long negatives = definiteNegatives.sum();
+        long positives = falsePositives.sum();
+        double observed = negatives + positives == 0 ? 0 : (double) positives / (negatives + positives);
+        if (bits == null) {
+            return new EmailFilterStatsDTO(enabled, false, 0, 0, 0, 0, 1, negatives, positives, observed);
+        }
+        return new EmailFilterStatsDTO(enabled, true, bits.insertions(), bits.size(), bits.hashFunctions,
+                bits.fillRatio(), bits.expectedFalsePositiveRate(), negatives, positives, observed);
+    }
+
+    private void addNow(String normalized) {
+        Bits bits = current;
+        if (bits != null) {
+            bits.add(normalized);
+        }
+        Bits next = building;
+        if (next != null && next != bits) {
+            next.add(normalized);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Bit array set by k hash functions derived from two 64-bit hashes
+     * ({@code h1 + i * h2}), safe for concurrent adds and lookups.
+     */
+    private static final class Bits {
+
+        private final AtomicLongArray words;
+        private final long size;
+        private final int hashFunctions;
+        private final LongAdder insertions = new LongAdder();
+        private final LongAdder setBits = new LongAdder();
+
+        private Bits(long expectedInsertions, double falsePositiveRate) {
+            long bits = (long) Math.ceil(-expectedInsertions * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+            this.words = new AtomicLongArray(wordCount);
+            this.size = (long) wordCount * 64;
+            this.hashFunctions = Math.max(1, (int) Math.round((double) size / expectedInsertions * Math.log(2)));
+        }
+
+        void add(String value) {
+            long hash = fnv1a(value);
+            long h1 = mix(hash);
+            long h2 = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long index = Math.floorMod(h1 + i * h2, size);
+                int word = (int) (index >>> 6);
+                long mask = 1L << index;
+                long old;
+                do {
+                    old = words.get(word);
+                    if ((old & mask) != 0) {
+                        break;
+                    }
+                } while (!words.compareAndSet(word, old, old | mask));
+                if ((old & mask) == 0) {
+                    setBits.increment();
+                }
+            }
+            insertions.increment();
+        }
+
+        boolean contains(String value) {
+            long hash = fnv1a(value);
+            long h1 = mix(hash);
+            long h2 = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashFunctions; i++) {
+                long index = Math.floorMod(h1 + i * h2, size);
+                if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        long insertions() {
+            return insertions.sum();
+        }
+
+        long size() {
+            return size;
+        }
+
+        double fillRatio() {
+            return (double) setBits.sum() / size;
+        }
+
+        /** Probability that an absent email is reported as present at the current fill. */
+        double expectedFalsePositiveRate() {
+            return Math.pow(fillRatio(), hashFunctions);
+        }
+
+        private static long fnv1a(String value) {
+            long hash = 0xCBF29CE484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                hash ^= b & 0xFF;
+                hash *= 0x100000001B3L;
+            }
+            return hash;
+        }
+
+        /** MurmurHash3 finalizer, spreading the FNV hash over all 64 bits. */
+        private static long mix(long hash) {
+            hash ^= hash >>> 33;
+            hash *= 0xFF51AFD7ED558CCDL;
+            hash ^= hash >>> 33;
+            hash *= 0xC4CEB9FE1A85EC53L;
+            hash ^= hash >>> 33;
+            return hash;
+        }
+    }
+}
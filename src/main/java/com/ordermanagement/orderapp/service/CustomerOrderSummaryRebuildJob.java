@@ -0,0 +1,65 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Periodically recomputes every customer order summary from the orders table.
+ * Customers are walked by ID in chunks, each chunk in its own transaction.
+ */
+@Slf4j
+@Component
+public class CustomerOrderSummaryRebuildJob {
+
+    private final CustomerOrderSummaryService summaryService;
+    private final CustomerRepository customerRepository;
+    private final int chunkSize;
+
+    public CustomerOrderSummaryRebuildJob(CustomerOrderSummaryService summaryService,
+                                          CustomerRepository customerRepository,
+                                          @Value("${orderapp.customer-summary.rebuild-chunk-size:500}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.summaryService = summaryService;
+        this.customerRepository = customerRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Rebuilds the summaries of all customers.
+     *
+     * @return Number of summaries that were missing or wrong
+     */
+    @Scheduled(cron = "${orderapp.customer-summary.rebuild-cron:0 30 3 * * *}")
+    public int rebuildAll() {
+        long start = System.nanoTime();
+        int customers = 0;
+        int repaired = 0;
+        long afterId = 0L;
+        List<Long> ids;
+        do {
+            ids = customerRepository.findIdsAfter(afterId, Limit.of(chunkSize));
+            if (!ids.isEmpty()) {
+                repaired += summaryService.rebuild(ids);
+                customers += ids.size();
+                afterId = ids.get(ids.size() - 1);
+            }
+        } while (ids.size() == chunkSize);
+
+        if (repaired > 0) {
+            log.warn("Customer order summaries rebuilt: {} of {} were missing or wrong, in {} ms",
+                    repaired, customers, (System.nanoTime() - start) / 1_000_000);
+        } else {
+            log.info("Customer order summaries checked: {} customers in {} ms",
+                    customers, (System.nanoTime() - start) / 1_000_000);
+        }
+        return repaired;
+    }
+}
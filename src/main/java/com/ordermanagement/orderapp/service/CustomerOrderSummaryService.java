@@ -0,0 +1,145 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.dto.CustomerOrderSummaryDTO;
+import com.ordermanagement.orderapp.dto.OrderStatusRow;
+import com.ordermanagement.orderapp.entity.CustomerOrderSummary;
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerOrderSummaryRepository;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@link CustomerOrderSummary} read model.
+ * Order changes are applied as increments in the caller's transaction; customers are always
+ * visited in ID order so concurrent changes lock summary rows in the same order.
+ * {@link #rebuild(Collection)} recomputes summaries from the orders table to repair drift.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class CustomerOrderSummaryService {
+
+    private final CustomerOrderSummaryRepository summaryRepository;
+    private final CustomerRepository customerRepository;
+
+    /**
+     * Creates the empty summary of a new customer.
+     *
+     * @param customerId Customer ID
+     */
+    public void initialize(Long customerId) {
+        summaryRepository.insert(customerId, 0, BigDecimal.ZERO, null);
+    }
+
+    /**
+     * Adds newly placed orders to the summaries of their customers.
+     *
+     * @param orders Saved orders
+     */
+    public void recordOrdersPlaced(Collection<Order> orders) {
+        // Creation timestamps are assigned when the orders are inserted
+        summaryRepository.flush();
+        Map<Long, List<Order>> byCustomer = orders.stream()
+                .collect(Collectors.groupingBy(order -> order.getCustomer().getId(), TreeMap::new, Collectors.toList()));
+        byCustomer.forEach((customerId, placed) -> {
+            Money amount = placed.stream().map(Order::getTotalAmount).reduce(Money.ZERO, Money::plus);
+            LocalDateTime lastOrderAt = placed.stream().map(Order::getCreatedAt).max(LocalDateTime::compareTo).orElseThrow();
+            if (summaryRepository.addOrders(customerId, placed.size(), amount.toBigDecimal(), lastOrderAt) == 0) {
+                rebuild(List.of(customerId));
+            }
+        });
+    }
+
+    /**
+     * Takes orders that are being cancelled or deleted out of the summaries of their customers.
+     * Must be called after the change has been written.
+     *
+     * @param orders Orders as they were before the change; they must not have been cancelled already
+     */
+    public void recordOrdersRemoved(Collection<OrderStatusRow> orders) {
+        Map<Long, List<OrderStatusRow>> byCustomer = orders.stream()
+                .collect(Collectors.groupingBy(OrderStatusRow::getCustomerId, TreeMap::new, Collectors.toList()));
+        byCustomer.forEach((customerId, removed) -> {
+            Money amount = removed.stream().map(OrderStatusRow::getTotalAmount).reduce(Money.ZERO, Money::plus);
+            if (summaryRepository.removeOrders(customerId, removed.size(), amount.toBigDecimal()) == 0) {
+                rebuild(List.of(customerId));
+            }
+        });
+    }
+
+    /**
+     * Retrieves the order totals of a customer with a single primary key lookup.
+     *
+     * @param customerId Customer ID
+     * @return Order totals of the customer
+     * @throws IllegalArgumentException if customer not found
+     */
+    @Transactional(readOnly = true)
+    public CustomerOrderSummaryDTO getSummary(Long customerId) {
+        return summaryRepository.findById(customerId)
+                .map(CustomerOrderSummaryDTO::fromEntity)
+                .orElseGet(() -> {
+                    if (!customerRepository.existsById(customerId)) {
+                        throw new IllegalArgumentException("Customer not found with id: " + customerId);
+                    }
+                    return CustomerOrderSummaryDTO.empty(customerId);
+                });
+    }
+
+    /**
+     * Recomputes the summaries of the given customers from their orders and fixes those that drifted.
+     * Existing summaries are locked before the orders are read, so order changes that commit
+     * meanwhile are either seen by the recount or applied on top of it.
+     *
+     * @param customerIds Customer IDs
+     * @return Number of summaries that were missing or wrong
+     */
+    public int rebuild(Collection<Long> customerIds) {
+        Map<Long, CustomerOrderSummary> current = summaryRepository.lockByCustomerIdIn(customerIds).stream()
+                .collect(Collectors.toMap(CustomerOrderSummary::getCustomerId, Function.identity()));
+        Map<Long, CustomerOrderSummaryRepository.Totals> totals = summaryRepository.computeTotals(customerIds).stream()
+                .collect(Collectors.toMap(CustomerOrderSummaryRepository.Totals::getCustomerId, Function.identity()));
+
+        int repaired = 0;
+        for (Long customerId : customerIds) {
+            CustomerOrderSummaryRepository.Totals expected = totals.get(customerId);
+            long count = expected == null ? 0 : expected.getOrderCount();
+            Money amount = expected == null ? Money.ZERO : Money.of(expected.getLifetimeValue());
+            LocalDateTime lastOrderAt = expected == null ? null : expected.getLastOrderAt();
+
+            CustomerOrderSummary summary = current.get(customerId);
+            if (summary == null) {
+                summaryRepository.insert(customerId, count, amount.toBigDecimal(), lastOrderAt);
+                repaired++;
+            } else if (summary.getOrderCount() != count
+                    || !summary.getLifetimeValue().equals(amount)
+                    || !Objects.equals(summary.getLastOrderAt(), lastOrderAt)) {
+                summaryRepository.overwrite(customerId, count, amount.toBigDecimal(), lastOrderAt);
+                repaired++;
+            }
+        }
+        return repaired;
+    }
+
+    /**
+     * Deletes the summary of a customer that is being deleted.
+     *
+     * @param customerId Customer ID
+     */
+    public void delete(Long customerId) {
+        summaryRepository.deleteById(customerId);
+    }
+}
@@ -1,25 +1,40 @@
 package com.ordermanagement.orderapp.service;
 
 
+import com.ordermanagement.orderapp.dto.CursorPage;
+import com.ordermanagement.orderapp.dto.EmailFilterStatsDTO;
+import com.ordermanagement.orderapp.dto.PageCursor;
 import com.ordermanagement.orderapp.entity.Customer;
 import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
 @Transactional
 public class CustomerService {
     private final CustomerRepository customerRepository;
+    private final CustomerOrderSummaryService customerOrderSummaryService;
+    private final CustomerEmailFilter customerEmailFilter;
+    private final OrderRepository orderRepository;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final OrderEventService orderEventService;
 
     public Customer createCustomer(Customer customer) {
-        if (customerRepository.existsByEmail(customer.getEmail())) {
+        if (emailTaken(customer.getEmail())) {
             throw new IllegalArgumentException("Email already exists: " + customer.getEmail());
         }
-        return customerRepository.save(customer);
+        Customer saved = insertOrUpdate(customer);
+        customerOrderSummaryService.initialize(saved.getId());
+        return saved;
     }
 
     @Transactional(readOnly = true)
@@ -27,11 +42,16 @@ public class CustomerService {
         return customerRepository.findById(id).orElseThrow(()  -> new IllegalArgumentException("Customer not found with id: " + id));
     }
 
+    @Transactional(readOnly = true)
+    public List<Customer> getCustomersByIds(Collection<Long> ids) {
+        return customerRepository.findAllById(ids);
+    }
+
     public Customer updateCustomer(Long id, Customer customerDetails) {
         Customer customer = getCustomerById(id);
 
         if (!customer.getEmail().equals(customerDetails.getEmail()) &&
-                customerRepository.existsByEmail(customerDetails.getEmail())) {
+                emailTaken(customerDetails.getEmail())) {
             throw new IllegalArgumentException("Email already exists: " + customerDetails.getEmail());
         }
 
@@ -39,18 +59,81 @@ public class CustomerService {
         customer.setPhone(customerDetails.getPhone());
         customer.setEmail(customerDetails.getEmail());
 
-        return customerRepository.save(customer);
+        return insertOrUpdate(customer);
     }
 
+    /**
+     * Deletes a customer together with their orders.
+     * The analytics hours of those orders are scheduled for recomputation, and a DELETED event
+     * is recorded for each of them.
+     *
+     * @param id Customer ID
+     * @throws IllegalArgumentException if customer not found
+     */
     public void deleteCustomer(Long id) {
         if (!customerRepository.existsById(id)) {
             throw new IllegalArgumentException("Customer not found with id: " + id);
         }
+        analyticsRollupService.markDeleted(orderRepository.findCreatedAtByCustomerId(id));
+        orderEventService.recordCustomerDeleted(id);
+        customerOrderSummaryService.delete(id);
         customerRepository.deleteById(id);
     }
 
+    /**
+     * @return Size, fill and false-positive rates of the customer email filter
+     */
+    public EmailFilterStatsDTO getEmailFilterStats() {
+        return customerEmailFilter.stats();
+    }
+
+    /**
+     * Rebuilds the customer email filter from the primary, dropping the emails of deleted and
+     * changed customers.
+     *
+     * @return Statistics of the new filter
+     * @throws IllegalArgumentException if the filter is disabled
+     */
+    public EmailFilterStatsDTO rebuildEmailFilter() {
+        return customerEmailFilter.rebuild();
+    }
+
     @Transactional(readOnly = true)
-    public List<Customer> getAllCustomers() {
-        return customerRepository.findAll();
+    public CursorPage<Customer> getAllCustomers(String cursor, int limit) {
+        CursorPage.checkLimit(limit);
+        Long afterId = cursor == null ? 0L : PageCursor.decode(cursor).getId();
+        List<Customer> rows = customerRepository.findByIdGreaterThanOrderByIdAsc(afterId, CursorPage.queryLimit(limit));
+        return CursorPage.of(rows, limit, customer -> PageCursor.of(customer.getId()), Function.identity());
+    }
+
+    /**
+     * Asks the database only when the email filter cannot rule the email out.
+     */
+    private boolean emailTaken(String email) {
+        if (!customerEmailFilter.mightContain(email)) {
+            return false;
+        }
+        boolean taken = customerRepository.existsByEmail(email);
+        if (!taken) {
+            customerEmailFilter.recordFalsePositive();
+        }
+        return taken;
+    }
+
+    /**
+     * Writes the customer right away, so that an email taken in the meantime, or one the filter
+     * missed, fails here on the unique constraint rather than at commit.
+     */
+    private Customer insertOrUpdate(Customer customer) {
+        customerEmailFilter.add(customer.getEmail());
+        try {
+            return customerRepository.saveAndFlush(customer);
+        } catch (DataIntegrityViolationException ex) {
+            if (ex.getCause() instanceof ConstraintViolationException violation
+                    && violation.getKind() == ConstraintViolationException.ConstraintKind.UNIQUE) {
+                throw new IllegalArgumentException("Email already exists: " + customer.getEmail());
+            }
+            throw ex;
+        }
     }
 }
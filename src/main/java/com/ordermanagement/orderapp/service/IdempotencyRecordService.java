@@ -0,0 +1,83 @@
+package com.ordermanagement.orderapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import com.ordermanagement.orderapp.entity.IdempotencyRecord;
+import com.ordermanagement.orderapp.repository.IdempotencyRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Transactional store of idempotency keys and the order responses recorded under them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class IdempotencyRecordService {
+
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Read-write so that it is read from the primary: a retry must see the record of the
+     * request before it, which a replica may not have applied yet.
+     *
+     * @param key Idempotency key
+     * @return The record stored under the key, unless it has expired
+     */
+    public Optional<IdempotencyRecord> find(String key) {
+        return idempotencyRecordRepository.findUnexpired(key, LocalDateTime.now());
+    }
+
+    /**
+     * Claims the key, creates the order and stores its response under the key, all in one
+     * transaction: if the order is not created the key is not kept either.
+     *
+     * @param key Idempotency key
+     * @param requestHash SHA-256 of the request body
+     * @param expiresAt When the record may be purged
+     * @param orderCreateDTO Order to create
+     * @return The created order
+     * @throws org.springframework.dao.DataIntegrityViolationException if another transaction holds the key
+     */
+    public OrderResponseDTO createOrder(String key, String requestHash, LocalDateTime expiresAt,
+                                        OrderCreatedDTO orderCreateDTO) {
+        LocalDateTime now = LocalDateTime.now();
+        idempotencyRecordRepository.deleteIfExpired(key, now);
+        idempotencyRecordRepository.insert(key, requestHash, now, expiresAt);
+
+        OrderResponseDTO response = orderService.createOrder(orderCreateDTO);
+        idempotencyRecordRepository.complete(key, response.getId(), toJson(response));
+        return response;
+    }
+
+    /**
+     * Deletes every expired record.
+     *
+     * @return Number of records deleted
+     */
+    @Scheduled(cron = "${orderapp.idempotency.purge-cron:0 15 * * * *}")
+    public int purgeExpired() {
+        int deleted = idempotencyRecordRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Purged {} expired idempotency keys", deleted);
+        return deleted;
+    }
+
+    private String toJson(OrderResponseDTO response) {
+        try {
+            return objectMapper.writeValueAsString(response);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot serialize order " + response.getId(), ex);
+        }
+    }
+}
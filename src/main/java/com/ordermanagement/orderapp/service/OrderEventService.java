@@ -0,0 +1,106 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.dto.OrderStatusRow;
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.entity.OrderEvent;
+import com.ordermanagement.orderapp.repository.OrderEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Transactional outbox of order changes.
+ * OrderService records every creation, status change and deletion here in the transaction that
+ * makes it, so an event exists exactly when its change is committed. CustomerService records
+ * the deletion of the orders removed with their customer.
+ */
+@Slf4j
+@Service
+@Transactional
+public class OrderEventService {
+
+    private final OrderEventRepository orderEventRepository;
+    private final Duration retention;
+
+    public OrderEventService(OrderEventRepository orderEventRepository,
+                             @Value("${orderapp.order-events.retention:7d}") Duration retention) {
+        this.orderEventRepository = orderEventRepository;
+        this.retention = retention;
+    }
+
+    /**
+     * @param orders Orders just created in this transaction
+     */
+    public void recordCreated(Collection<Order> orders) {
+        if (!orders.isEmpty()) {
+            orderEventRepository.insertForOrders(orders.stream().map(Order::getId).collect(Collectors.toList()),
+                    OrderEvent.Type.CREATED.name(), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * @param orderIds Orders whose status was just changed in this transaction
+     */
+    public void recordStatusChanged(Collection<Long> orderIds) {
+        if (!orderIds.isEmpty()) {
+            orderEventRepository.insertForOrders(orderIds, OrderEvent.Type.STATUS_CHANGED.name(), LocalDateTime.now());
+        }
+    }
+
+    /**
+     * @param order Order deleted in this transaction, with its last status
+     */
+    public void recordDeleted(OrderStatusRow order) {
+        orderEventRepository.insert(order.getId(), order.getCustomerId(), OrderEvent.Type.DELETED.name(),
+                order.getStatus().name(), LocalDateTime.now());
+    }
+
+    /**
+     * @param customerId Customer whose orders are about to be deleted with them in this transaction
+     */
+    public void recordCustomerDeleted(Long customerId) {
+        orderEventRepository.insertForCustomer(customerId, OrderEvent.Type.DELETED.name(), LocalDateTime.now());
+    }
+
+    /**
+     * Read-write so that it is read from the primary: the stream takes a short batch to mean
+     * it has caught up, so a batch from a lagging replica would skip the events it lacks.
+     *
+     * @param afterId Offset to read after
+     * @param limit   Maximum number of events
+     * @return Committed events with a greater ID, in ID order
+     */
+    public List<OrderEvent> findAfter(long afterId, int limit) {
+        return orderEventRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit));
+    }
+
+    /**
+     * Read-write so that it is read from the primary, like {@link #findAfter}.
+     *
+     * @return Greatest committed event ID, or 0 if there is none
+     */
+    public long findLastId() {
+        return orderEventRepository.findMaxId();
+    }
+
+    /**
+     * Deletes events older than the retention; clients cannot resume from before it.
+     *
+     * @return Number of events deleted
+     */
+    @Scheduled(cron = "${orderapp.order-events.purge-cron:0 45 * * * *}")
+    public int purgeExpired() {
+        int deleted = orderEventRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+        log.debug("Purged {} order events", deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,390 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.dto.OrderEventDTO;
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.entity.OrderEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans the order outbox out to server-sent event subscribers.
+ * <p>
+ * A single reader thread polls the outbox for events after the last one it delivered and hands
+ * them to every connected subscriber, so the database sees one query per poll interval however
+ * many clients listen; it does not poll while nobody is connected. Each subscriber has a bounded
+ * buffer drained by a small pool of sender threads, so a slow client only delays itself; a client
+ * whose buffer overflows is disconnected and resumes with {@code Last-Event-ID}.
+ * <p>
+ * Event IDs are assigned when a transaction inserts its events but become visible when it
+ * commits, so a smaller ID can appear after a larger one. The reader stops at a missing ID and
+ * waits up to {@code gap-timeout} for it before treating it as rolled back.
+ * <p>
+ * A subscriber resuming from an earlier ID is first caught up from the outbox, one batch per
+ * poll, and then joins the live feed.
+ */
+@Slf4j
+@Service
+public class OrderEventStream implements SmartLifecycle {
+
+    private static final long RECONNECT_MILLIS = 1000;
+
+    private final OrderEventService orderEventService;
+    private final long pollIntervalMillis;
+    private final int batchSize;
+    private final long gapTimeoutNanos;
+    private final long heartbeatIntervalNanos;
+    private final int subscriberBuffer;
+    private final int senderThreads;
+    private final long emitterTimeoutMillis;
+    private final BlockingQueue<Subscriber> connecting = new LinkedBlockingQueue<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final Counter overflows;
+    private volatile boolean running;
+    private volatile Thread reader;
+    private volatile ExecutorService senders;
+
+    // Owned by the reader thread
+    private final List<Subscriber> subscribers = new ArrayList<>();
+    private long lastId = -1;
+    private boolean inGap;
+    private long gapSince;
+    private long lastHeartbeat;
+
+    public OrderEventStream(OrderEventService orderEventService,
+                            MeterRegistry meterRegistry,
+                            @Value("${orderapp.order-events.poll-interval:500ms}") Duration pollInterval,
+                            @Value("${orderapp.order-events.batch-size:500}") int batchSize,
+                            @Value("${orderapp.order-events.gap-timeout:2s}") Duration gapTimeout,
+                            @Value("${orderapp.order-events.heartbeat-interval:15s}") Duration heartbeatInterval,
+                            @Value("${orderapp.order-events.subscriber-buffer:1000}") int subscriberBuffer,
+                            @Value("${orderapp.order-events.sender-threads:4}") int senderThreads,
+                            @Value("${orderapp.order-events.emitter-timeout:30m}") Duration emitterTimeout) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + batchSize);
+        }
+        if (subscriberBuffer < batchSize) {
+            throw new IllegalArgumentException("Subscriber buffer must hold at least one batch: " + subscriberBuffer);
+        }
+        if (senderThreads < 1) {
+            throw new IllegalArgumentException("Sender threads must be positive: " + senderThreads);
+        }
+        this.orderEventService = orderEventService;
+        this.pollIntervalMillis = pollInterval.toMillis();
+        this.batchSize = batchSize;
+        this.gapTimeoutNanos = gapTimeout.toNanos();
+        this.heartbeatIntervalNanos = heartbeatInterval.toNanos();
+        this.subscriberBuffer = subscriberBuffer;
+        this.senderThreads = senderThreads;
+        this.emitterTimeoutMillis = emitterTimeout.toMillis();
+
+        Gauge.builder("orderapp.orders.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Clients connected to the order event stream")
+                .register(meterRegistry);
+        this.overflows = Counter.builder("orderapp.orders.events.overflows")
+                .description("Subscribers disconnected because they fell too far behind")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Connects a client to the stream.
+     *
+     * @param lastEventId ID of the last event the client received, to resume after it, or null
+     *                    to receive only events from now on
+     * @param customerId  Only send events of this customer, or null for all
+     * @param status      Only send events leaving an order in this status, or null for all
+     * @return Emitter the events are sent to
+     */
+    public SseEmitter subscribe(Long lastEventId, Long customerId, Order.OrderStatus status) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, lastEventId, customerId, status);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(ex -> subscriber.close());
+        subscriberCount.incrementAndGet();
+        if (!running) {
+            emitter.complete();
+            return emitter;
+        }
+        connecting.add(subscriber);
+        return emitter;
+    }
+
+    /**
+     * @return Clients currently connected
+     */
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @Override
+    public void start() {
+        senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "order-event-sender");
+            thread.setDaemon(true);
+            return thread;
+        });
+        lastHeartbeat = System.nanoTime();
+        running = true;
+        Thread thread = new Thread(this::readEvents, "order-event-reader");
+        thread.setDaemon(true);
+        reader = thread;
+        thread.start();
+    }
+
+    /**
+     * Stops the reader and closes every stream; clients reconnect with their last event ID.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = reader;
+        if (thread == null) {
+            return;
+        }
+        thread.interrupt();
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        reader = null;
+        List<Subscriber> remaining = new ArrayList<>(subscribers);
+        connecting.drainTo(remaining);
+        subscribers.clear();
+        remaining.forEach(subscriber -> subscriber.emitter.complete());
+        senders.shutdownNow();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return reader != null;
+    }
+
+    private void readEvents() {
+        while (running) {
+            try {
+                Subscriber next = connecting.poll(subscribers.isEmpty() ? Long.MAX_VALUE : pollIntervalMillis,
+                        TimeUnit.MILLISECONDS);
+                if (next != null) {
+                    subscribers.add(next);
+                    connecting.drainTo(subscribers);
+                }
+                subscribers.removeIf(Subscriber::isClosed);
+                if (subscribers.isEmpty()) {
+                    // Nobody listens; the next subscriber starts from the latest event again
+                    lastId = -1;
+                    continue;
+                }
+                if (lastId < 0) {
+                    lastId = orderEventService.findLastId();
+                    inGap = false;
+                }
+                readLive();
+                subscribers.forEach(this::catchUp);
+                heartbeat();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Order event reader failed", ex);
+                try {
+                    Thread.sleep(pollIntervalMillis);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Delivers the events committed since the last poll to the subscribers that are caught up.
+     */
+    private void readLive() {
+        List<OrderEvent> events;
+        boolean complete = true;
+        do {
+            events = orderEventService.findAfter(lastId, batchSize);
+            for (OrderEvent event : events) {
+                if (event.getId() != lastId + 1 && !gapExpired()) {
+                    complete = false;
+                    break;
+                }
+                inGap = false;
+                lastId = event.getId();
+                for (Subscriber subscriber : subscribers) {
+                    if (subscriber.cursor == null && subscriber.matches(event)
+                            && !subscriber.offer(toSseEvent(event))) {
+                        overflow(subscriber);
+                    }
+                }
+            }
+            subscribers.forEach(Subscriber::flush);
+        } while (complete && events.size() == batchSize);
+    }
+
+    /**
+     * @return Whether the reader has waited long enough at a missing ID to skip it
+     */
+    private boolean gapExpired() {
+        long now = System.nanoTime();
+        if (!inGap) {
+            inGap = true;
+            gapSince = now;
+        }
+        return now - gapSince >= gapTimeoutNanos;
+    }
+
+    /**
+     * Sends a resuming subscriber the next batch of events it missed, up to the live feed.
+     */
+    private void catchUp(Subscriber subscriber) {
+        if (subscriber.cursor == null) {
+            return;
+        }
+        if (subscriber.cursor >= lastId) {
+            subscriber.cursor = null;
+            return;
+        }
+        if (subscriber.buffered() > subscriberBuffer - batchSize) {
+            return;
+        }
+        List<OrderEvent> events = orderEventService.findAfter(subscriber.cursor, batchSize);
+        for (OrderEvent event : events) {
+            if (event.getId() > lastId) {
+                break;
+            }
+            subscriber.cursor = event.getId();
+            if (subscriber.matches(event)) {
+                subscriber.offer(toSseEvent(event));
+            }
+        }
+        if (events.size() < batchSize || subscriber.cursor >= lastId) {
+            subscriber.cursor = null;
+        }
+        subscriber.flush();
+    }
+
+    /**
+     * Sends a comment to every subscriber now and then, so proxies keep idle streams open and
+     * closed connections are noticed.
+     */
+    private void heartbeat() {
+        long now = System.nanoTime();
+        if (now - lastHeartbeat < heartbeatIntervalNanos) {
+            return;
+        }
+        lastHeartbeat = now;
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.offer(SseEmitter.event().comment("heartbeat"))) {
+                subscriber.flush();
+            } else {
+                overflow(subscriber);
+            }
+        }
+    }
+
+    private void overflow(Subscriber subscriber) {
+        if (!subscriber.isClosed()) {
+            log.debug("Disconnecting order event subscriber that fell {} events behind", subscriberBuffer);
+            overflows.increment();
+            subscriber.close();
+            subscriber.emitter.complete();
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder toSseEvent(OrderEvent event) {
+        return SseEmitter.event()
+                .id(String.valueOf(event.getId()))
+                .reconnectTime(RECONNECT_MILLIS)
+                .data(OrderEventDTO.fromEntity(event), MediaType.APPLICATION_JSON);
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Long customerId;
+        private final Order.OrderStatus status;
+        private final Queue<SseEmitter.SseEventBuilder> buffer = new ArrayBlockingQueue<>(subscriberBuffer);
+        private final AtomicBoolean sending = new AtomicBoolean();
+        private final AtomicBoolean closed = new AtomicBoolean();
+        /** ID the subscriber is caught up to while it is behind the live feed, otherwise null */
+        private Long cursor;
+
+        private Subscriber(SseEmitter emitter, Long lastEventId, Long customerId, Order.OrderStatus status) {
+            this.emitter = emitter;
+            this.cursor = lastEventId;
+            this.customerId = customerId;
+            this.status = status;
+        }
+
+        private boolean matches(OrderEvent event) {
+            return (customerId == null || customerId.equals(event.getCustomerId()))
+                    && (status == null || status == event.getStatus());
+        }
+
+        private boolean offer(SseEmitter.SseEventBuilder event) {
+            return isClosed() || buffer.offer(event);
+        }
+
+        private int buffered() {
+            return buffer.size();
+        }
+
+        /**
+         * Schedules the buffered events to be sent unless a sender is already on it.
+         */
+        private void flush() {
+            if (!buffer.isEmpty() && !isClosed() && sending.compareAndSet(false, true)) {
+                senders.execute(this::send);
+            }
+        }
+
+        private void send() {
+            try {
+                SseEmitter.SseEventBuilder event;
+                while (!isClosed() && (event = buffer.poll()) != null) {
+                    emitter.send(event);
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away; the emitter reports the completion
+                close();
+            } finally {
+                sending.set(false);
+            }
+            flush();
+        }
+
+        private boolean isClosed() {
+            return closed.get();
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscriberCount.decrementAndGet();
+                buffer.clear();
+            }
+        }
+    }
+}
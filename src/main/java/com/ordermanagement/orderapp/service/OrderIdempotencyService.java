@@ -0,0 +1,192 @@
+package com.ordermanagement.orderapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import com.ordermanagement.orderapp.entity.IdempotencyRecord;
+import com.ordermanagement.orderapp.exception.IdempotencyConflictException;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Creates orders at most once per client-supplied Idempotency-Key.
+ * <p>
+ * The first request with a key creates the order and stores its response under the key for
+ * {@code ttl}; retries get the stored response back without touching the order tables.
+ * Recent responses are also kept in memory. A retry that arrives while the first request is
+ * still running on this instance waits for it; on another instance it waits on the key's row.
+ * A request that fails stores nothing, so it can be retried with the same key.
+ */
+@Service
+public class OrderIdempotencyService {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final IdempotencyRecordService idempotencyRecordService;
+    private final ObjectMapper objectMapper;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Cache<String, StoredOrder> recent;
+    private final ConcurrentMap<String, CompletableFuture<StoredOrder>> inFlight = new ConcurrentHashMap<>();
+
+    public OrderIdempotencyService(IdempotencyRecordService idempotencyRecordService,
+                                   ObjectMapper objectMapper,
+                                   @Value("${orderapp.idempotency.ttl:24h}") Duration ttl,
+                                   @Value("${orderapp.idempotency.wait-timeout:10s}") Duration waitTimeout,
+                                   @Value("${orderapp.idempotency.hot.maximum-size:10000}") long hotMaximumSize,
+                                   @Value("${orderapp.idempotency.hot.expire-after-write:10m}") Duration hotExpireAfterWrite) {
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("Idempotency key TTL must be positive: " + ttl);
+        }
+        this.idempotencyRecordService = idempotencyRecordService;
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.recent = Caffeine.newBuilder()
+                .maximumSize(hotMaximumSize)
+                .expireAfterWrite(hotExpireAfterWrite.compareTo(ttl) < 0 ? hotExpireAfterWrite : ttl)
+                .build();
+    }
+
+    /**
+     * Creates an order, or returns the order already created under the same key.
+     *
+     * @param key Idempotency key chosen by the client
+     * @param orderCreateDTO Order to create
+     * @return The order and whether it was created by an earlier request
+     * @throws IllegalArgumentException if the key is invalid or was used for a different order,
+     *                                  or the order is invalid
+     * @throws IdempotencyConflictException if an earlier request with the key is still running
+     */
+    public Result createOrder(String key, OrderCreatedDTO orderCreateDTO) {
+        if (key == null || key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must have 1 to " + MAX_KEY_LENGTH + " characters");
+        }
+        String requestHash = hash(orderCreateDTO);
+
+        while (true) {
+            StoredOrder stored = recent.getIfPresent(key);
+            if (stored != null) {
+                return replay(key, stored, requestHash);
+            }
+
+            CompletableFuture<StoredOrder> execution = new CompletableFuture<>();
+            CompletableFuture<StoredOrder> running = inFlight.putIfAbsent(key, execution);
+            if (running == null) {
+                try {
+                    return execute(key, requestHash, orderCreateDTO, execution);
+                } finally {
+                    inFlight.remove(key, execution);
+                }
+            }
+
+            stored = await(key, running);
+            if (stored != null) {
+                return replay(key, stored, requestHash);
+            }
+            // The earlier request failed and stored nothing: run this one
+        }
+    }
+
+    private Result execute(String key, String requestHash, OrderCreatedDTO orderCreateDTO,
+                           CompletableFuture<StoredOrder> execution) {
+        StoredOrder stored = null;
+        try {
+            IdempotencyRecord existing = idempotencyRecordService.find(key).orElse(null);
+            boolean replayed = existing != null;
+            if (!replayed) {
+                try {
+                    OrderResponseDTO order = idempotencyRecordService.createOrder(
+                            key, requestHash, LocalDateTime.now().plus(ttl), orderCreateDTO);
+                    stored = new StoredOrder(requestHash, order);
+                } catch (DataIntegrityViolationException ex) {
+                    // Another instance claimed the key; its insert has committed by now
+                    existing = idempotencyRecordService.find(key).orElseThrow(() -> ex);
+                    replayed = true;
+                }
+            }
+            if (replayed) {
+                stored = new StoredOrder(existing.getRequestHash(), fromJson(existing.getResponse()));
+            }
+            recent.put(key, stored);
+            return replayed ? replay(key, stored, requestHash) : new Result(stored.getOrder(), false);
+        } finally {
+            execution.complete(stored);
+        }
+    }
+
+    private StoredOrder await(String key, CompletableFuture<StoredOrder> running) {
+        try {
+            return running.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException ex) {
+            throw new IdempotencyConflictException("A request with Idempotency-Key " + key + " is still in progress");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IdempotencyConflictException("Interrupted while waiting for Idempotency-Key " + key);
+        } catch (ExecutionException ex) {
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    private Result replay(String key, StoredOrder stored, String requestHash) {
+        if (!stored.getRequestHash().equals(requestHash)) {
+            throw new IllegalArgumentException("Idempotency-Key " + key + " was already used for a different order");
+        }
+        return new Result(stored.getOrder(), true);
+    }
+
+    private String hash(OrderCreatedDTO orderCreateDTO) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(objectMapper.writeValueAsBytes(orderCreateDTO)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("Cannot hash order request", ex);
+        }
+    }
+
+    private OrderResponseDTO fromJson(String response) {
+        try {
+            return objectMapper.readValue(response, OrderResponseDTO.class);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Cannot read stored order response", ex);
+        }
+    }
+
+    /**
+     * Order returned for an idempotent request.
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Result {
+        private final OrderResponseDTO order;
+        /**
+         * True when the order was created by an earlier request with the same key.
+         */
+        private final boolean replayed;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    private static class StoredOrder {
+        private final String requestHash;
+        private final OrderResponseDTO order;
+    }
+}
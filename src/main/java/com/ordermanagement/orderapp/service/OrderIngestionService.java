@@ -0,0 +1,151 @@
+package com.ordermanagement.orderapp.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.ordermanagement.orderapp.dto.OrderBatchResultDTO;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams newline-delimited orders into the database.
+ * Input lines are parsed and validated one by one and committed in chunks, each chunk in its
+ * own transaction, so memory use only depends on the chunk size and not on the input size.
+ */
+@Slf4j
+@Service
+public class OrderIngestionService {
+
+    private final OrderService orderService;
+    private final ObjectReader orderReader;
+    private final ObjectWriter resultWriter;
+    private final Validator validator;
+    private final int chunkSize;
+
+    public OrderIngestionService(OrderService orderService,
+                                 ObjectMapper objectMapper,
+                                 Validator validator,
+                                 @Value("${orderapp.orders.batch.chunk-size:100}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.orderService = orderService;
+        this.orderReader = objectMapper.readerFor(OrderCreatedDTO.class);
+        this.resultWriter = objectMapper.writerFor(OrderBatchResultDTO.class);
+        this.validator = validator;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Reads one {@link OrderCreatedDTO} per line from the input and writes one
+     * {@link OrderBatchResultDTO} per non-blank line to the output, in input order.
+     * Results are flushed after every chunk.
+     *
+     * @param input  NDJSON order records
+     * @param output NDJSON results
+     * @throws IOException if reading the input or writing the output fails
+     */
+    public void ingest(InputStream input, OutputStream output) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        List<OrderBatchResultDTO> results = new ArrayList<>(chunkSize);
+        List<OrderCreatedDTO> pendingOrders = new ArrayList<>(chunkSize);
+        List<OrderBatchResultDTO> pendingResults = new ArrayList<>(chunkSize);
+
+        long lineNumber = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank()) {
+                continue;
+            }
+
+            OrderBatchResultDTO result = new OrderBatchResultDTO();
+            result.setLine(lineNumber);
+            results.add(result);
+
+            OrderCreatedDTO order = parse(line, result);
+            if (order != null) {
+                pendingOrders.add(order);
+                pendingResults.add(result);
+            }
+
+            if (results.size() == chunkSize) {
+                flushChunk(results, pendingOrders, pendingResults, output);
+            }
+        }
+        flushChunk(results, pendingOrders, pendingResults, output);
+    }
+
+    /**
+     * Parses and validates one input line.
+     *
+     * @return the order, or null if the line is invalid, in which case the error is set on the result
+     */
+    private OrderCreatedDTO parse(String line, OrderBatchResultDTO result) {
+        OrderCreatedDTO order;
+        try {
+            order = orderReader.readValue(line);
+        } catch (JsonProcessingException ex) {
+            result.setError("Malformed order: " + ex.getOriginalMessage());
+            return null;
+        }
+
+        Set<ConstraintViolation<OrderCreatedDTO>> violations = validator.validate(order);
+        if (!violations.isEmpty()) {
+            result.setError(violations.stream()
+                    .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return null;
+        }
+        return order;
+    }
+
+    /**
+     * Creates the pending orders of the current chunk in one transaction and writes
+     * the results of every line of the chunk.
+     */
+    private void flushChunk(List<OrderBatchResultDTO> results,
+                            List<OrderCreatedDTO> pendingOrders,
+                            List<OrderBatchResultDTO> pendingResults,
+                            OutputStream output) throws IOException {
+        if (!pendingOrders.isEmpty()) {
+            try {
+                List<OrderBatchResultDTO> created = orderService.createOrders(pendingOrders);
+                for (int i = 0; i < created.size(); i++) {
+                    pendingResults.get(i).setOrderId(created.get(i).getOrderId());
+                    pendingResults.get(i).setError(created.get(i).getError());
+                }
+            } catch (RuntimeException ex) {
+                log.warn("Order chunk ending at line {} was rolled back", results.get(results.size() - 1).getLine(), ex);
+                pendingResults.forEach(result -> result.setError("Chunk rolled back: " + ex.getMessage()));
+            }
+        }
+
+        for (OrderBatchResultDTO result : results) {
+            output.write(resultWriter.writeValueAsBytes(result));
+            output.write('\n');
+        }
+        output.flush();
+
+        results.clear();
+        pendingOrders.clear();
+        pendingResults.clear();
+    }
+}
@@ -0,0 +1,88 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.dto.OrderBatchResultDTO;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.entity.OrderIntakeRecord;
+import com.ordermanagement.orderapp.repository.OrderIntakeRecordRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Transactional store of the outcomes of orders accepted by the asynchronous intake.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional
+public class OrderIntakeRecordService {
+
+    private final OrderIntakeRecordRepository orderIntakeRecordRepository;
+    private final OrderService orderService;
+
+    /**
+     * Read-write so that it is read from the primary: a poll right after the batch commits
+     * must see its outcome, which a replica may not have applied yet.
+     *
+     * @param trackingId Tracking ID of the order
+     * @return The outcome stored under the ID, unless it has expired
+     */
+    public Optional<OrderIntakeRecord> find(String trackingId) {
+        return orderIntakeRecordRepository.findUnexpired(trackingId, LocalDateTime.now());
+    }
+
+    /**
+     * Creates a batch of orders and stores the outcome of each under its tracking ID, all in
+     * one transaction: the outcomes are kept exactly when the orders are.
+     *
+     * @param trackingIds Tracking ID of each order
+     * @param orderCreateDTOs Orders to create, in the same order
+     * @param expiresAt When the outcomes may be purged
+     * @return One result per order, in the same order
+     */
+    public List<OrderBatchResultDTO> createOrders(List<String> trackingIds, List<OrderCreatedDTO> orderCreateDTOs,
+                                                  LocalDateTime expiresAt) {
+        List<OrderBatchResultDTO> results = orderService.createOrders(orderCreateDTOs);
+        LocalDateTime now = LocalDateTime.now();
+        List<OrderIntakeRecord> records = new ArrayList<>(results.size());
+        for (int i = 0; i < results.size(); i++) {
+            OrderBatchResultDTO result = results.get(i);
+            records.add(new OrderIntakeRecord(trackingIds.get(i), result.getOrderId(), result.getError(), now, expiresAt));
+        }
+        orderIntakeRecordRepository.saveAll(records);
+        return results;
+    }
+
+    /**
+     * Stores the same error for every order of a batch that could not be stored.
+     *
+     * @param trackingIds Tracking IDs of the orders
+     * @param error Why the batch failed
+     * @param expiresAt When the outcomes may be purged
+     */
+    public void recordFailed(List<String> trackingIds, String error, LocalDateTime expiresAt) {
+        LocalDateTime now = LocalDateTime.now();
+        orderIntakeRecordRepository.saveAll(trackingIds.stream()
+                .map(trackingId -> new OrderIntakeRecord(trackingId, null, error, now, expiresAt))
+                .toList());
+    }
+
+    /**
+     * Deletes every expired outcome.
+     *
+     * @return Number of outcomes deleted
+     */
+    @Scheduled(cron = "${orderapp.orders.intake.purge-cron:0 50 * * * *}")
+    public int purgeExpired() {
+        int deleted = orderIntakeRecordRepository.deleteExpired(LocalDateTime.now());
+        log.debug("Purged {} expired order intake outcomes", deleted);
+        return deleted;
+    }
+}
@@ -0,0 +1,272 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderIntakeDTO;
+import com.ordermanagement.orderapp.exception.OrderIntakeFullException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Asynchronous order intake with group commit.
+ * <p>
+ * When enabled, accepted orders are put on a bounded queue and a single writer thread creates
+ * them in batches, one transaction per batch, so a burst of orders costs one commit per batch
+ * instead of one per order. An order that fails validation fails alone; the others of its batch
+ * are created. A full queue rejects new orders instead of growing.
+ * <p>
+ * The outcome of every order is stored for {@code tracking-ttl} under its tracking ID, in the
+ * transaction of its batch, so any instance can report it once the batch commits. Until then the
+ * order is QUEUED, which only the instance that accepted it knows: other instances answer that
+ * the ID is unknown, so polling needs sticky routing to see QUEUED.
+ * <p>
+ * Delivery is at most once. Orders still queued at shutdown are written before the writer stops,
+ * but those queued when the instance crashes are lost, and their tracking IDs stay unknown.
+ */
+@Slf4j
+@Service
+public class OrderIntakeService implements SmartLifecycle {
+
+    private static final long POLL_MILLIS = 100;
+
+    private final OrderIntakeRecordService orderIntakeRecordService;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final long maxBatchDelayNanos;
+    private final BlockingQueue<Intake> queue;
+    private final Duration trackingTtl;
+    /** Tracking IDs of the orders queued or being written by this instance */
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    private final DistributionSummary batchSizes;
+    private final Timer batchTimer;
+    private final Counter rejected;
+    private volatile boolean accepting;
+    private volatile Thread writer;
+
+    public OrderIntakeService(OrderIntakeRecordService orderIntakeRecordService,
+                              MeterRegistry meterRegistry,
+                              @Value("${orderapp.orders.intake.enabled:false}") boolean enabled,
+                              @Value("${orderapp.orders.intake.queue-capacity:10000}") int queueCapacity,
+                              @Value("${orderapp.orders.intake.max-batch-size:200}") int maxBatchSize,
+                              @Value("${orderapp.orders.intake.max-batch-delay:2ms}") Duration maxBatchDelay,
+                              @Value("${orderapp.orders.intake.tracking-ttl:1h}") Duration trackingTtl) {
+        if (queueCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be positive: " + queueCapacity);
+        }
+        if (maxBatchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive: " + maxBatchSize);
+        }
+        this.orderIntakeRecordService = orderIntakeRecordService;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+        this.maxBatchDelayNanos = maxBatchDelay.toNanos();
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.trackingTtl = trackingTtl;
+
+        Gauge.builder("orderapp.orders.intake.queue.depth", queue, Collection::size)
+                .description("Orders waiting for the intake writer")
+                .register(meterRegistry);
+        this.batchSizes = DistributionSummary.builder("orderapp.orders.intake.batch.size")
+                .description("Orders created per intake transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("orderapp.orders.intake.batch")
+                .description("Time to create and commit one intake batch")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.rejected = Counter.builder("orderapp.orders.intake.rejected")
+                .description("Orders rejected because the intake queue was full")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @return Whether POST /api/orders queues orders instead of creating them immediately
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Queues an order for the writer.
+     *
+     * @param orderCreateDTO Validated order request
+     * @return Tracking information with status QUEUED
+     * @throws OrderIntakeFullException if the queue is full or the intake is stopped
+     */
+    public OrderIntakeDTO submit(OrderCreatedDTO orderCreateDTO) {
+        String trackingId = UUID.randomUUID().toString();
+        pending.add(trackingId);
+        if (!accepting || !queue.offer(new Intake(trackingId, orderCreateDTO))) {
+            pending.remove(trackingId);
+            rejected.increment();
+            throw new OrderIntakeFullException("Order intake is full, retry later");
+        }
+        return OrderIntakeDTO.queued(trackingId);
+    }
+
+    /**
+     * An ID is unknown while its order is queued on another instance, after its outcome has
+     * expired, or for good if its order was lost in a crash.
+     *
+     * @param trackingId Tracking ID returned when the order was queued
+     * @return Current status, or empty if the ID is unknown
+     */
+    public Optional<OrderIntakeDTO> getStatus(String trackingId) {
+        // The writer forgets an order only after its outcome is committed
+        if (pending.contains(trackingId)) {
+            return Optional.of(OrderIntakeDTO.queued(trackingId));
+        }
+        return orderIntakeRecordService.find(trackingId).map(OrderIntakeDTO::fromEntity);
+    }
+
+    /**
+     * @return Orders waiting in the queue
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        accepting = true;
+        Thread thread = new Thread(this::writeBatches, "order-intake-writer");
+        thread.setDaemon(true);
+        writer = thread;
+        thread.start();
+        log.info("Order intake started, batches of up to {} orders", maxBatchSize);
+    }
+
+    /**
+     * Stops accepting orders and waits until every queued order is written.
+     */
+    @Override
+    public void stop() {
+        accepting = false;
+        Thread thread = writer;
+        if (thread == null) {
+            return;
+        }
+        try {
+            thread.join();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        writer = null;
+        // Orders offered while the writer was finishing
+        List<Intake> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        writeAll(remaining);
+    }
+
+    @Override
+    public boolean isRunning() {
+        return writer != null;
+    }
+
+    /**
+     * Starts before and stops after the web server, so that no request is accepted without a writer.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void writeBatches() {
+        List<Intake> batch = new ArrayList<>(maxBatchSize);
+        while (accepting || !queue.isEmpty()) {
+            try {
+                Intake first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                fill(batch);
+                write(batch);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException ex) {
+                log.error("Order intake writer failed", ex);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Takes what is already queued and waits at most {@code max-batch-delay} for more, so a
+     * batch under light load is not held back for long.
+     */
+    private void fill(List<Intake> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxBatchDelayNanos;
+        while (batch.size() < maxBatchSize) {
+            queue.drainTo(batch, maxBatchSize - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= maxBatchSize || remaining <= 0) {
+                return;
+            }
+            Intake next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void writeAll(List<Intake> intakes) {
+        for (int from = 0; from < intakes.size(); from += maxBatchSize) {
+            write(intakes.subList(from, Math.min(from + maxBatchSize, intakes.size())));
+        }
+    }
+
+    private void write(List<Intake> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        List<String> trackingIds = batch.stream().map(Intake::trackingId).toList();
+        List<OrderCreatedDTO> orders = batch.stream().map(Intake::order).toList();
+        LocalDateTime expiresAt = LocalDateTime.now().plus(trackingTtl);
+        try {
+            batchTimer.record(() -> orderIntakeRecordService.createOrders(trackingIds, orders, expiresAt));
+            batchSizes.record(batch.size());
+        } catch (RuntimeException ex) {
+            log.error("Could not store a batch of {} orders", batch.size(), ex);
+            recordFailed(trackingIds, "Order could not be stored: " + ex.getMessage(), expiresAt);
+        } finally {
+            trackingIds.forEach(pending::remove);
+        }
+    }
+
+    private void recordFailed(List<String> trackingIds, String error, LocalDateTime expiresAt) {
+        try {
+            orderIntakeRecordService.recordFailed(trackingIds, error, expiresAt);
+        } catch (RuntimeException ex) {
+            log.error("Could not store the failure of {} orders; their tracking IDs stay unknown", trackingIds.size(), ex);
+        }
+    }
+
+    private record Intake(String trackingId, OrderCreatedDTO order) {
+    }
+}
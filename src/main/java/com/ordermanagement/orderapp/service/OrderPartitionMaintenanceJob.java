@@ -0,0 +1,181 @@
+package com.ordermanagement.orderapp.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly partitions of the orders and order_item tables (see database.sql) in step
+ * with the calendar: creates the partitions of the current month and the next ones ahead of time,
+ * and detaches the partitions past their retention.
+ * <p>
+ * Partitions are named {@code orders_pYYYY_MM} and {@code order_item_pYYYY_MM}; others, such as a
+ * default partition, are left alone. Detached partitions stay in the database as plain tables
+ * to be archived or dropped; their orders no longer exist for the application.
+ * <p>
+ * Every instance schedules the job; a session advisory lock lets one of them run it at a time,
+ * and the others skip that run. Partitions are detached CONCURRENTLY, so orders stay readable and
+ * writable meanwhile; this needs PostgreSQL 14 and no default partition, and runs outside a
+ * transaction.
+ * <p>
+ * Does nothing unless the database is PostgreSQL and the orders table is partitioned.
+ */
+@Slf4j
+@Component
+public class OrderPartitionMaintenanceJob {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+    private static final Pattern PARTITION_NAME = Pattern.compile("(orders|order_item)_p(\\d{4})_(\\d{2})");
+
+    private static final String PARTITIONED =
+            "SELECT count(*) FROM pg_partitioned_table WHERE partrelid = to_regclass('orders')";
+    private static final String PARTITIONS =
+            "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON c.oid = i.inhrelid " +
+            "WHERE i.inhparent = to_regclass(?)";
+    private static final String TRY_LOCK = "SELECT pg_try_advisory_lock(hashtext('orderapp.order-partitions'))";
+    private static final String UNLOCK = "SELECT pg_advisory_unlock(hashtext('orderapp.order-partitions'))";
+    private static final String FOREIGN_KEYS_TO_ORDERS =
+            "SELECT conname FROM pg_constraint " +
+            "WHERE conrelid = to_regclass(?) AND confrelid = to_regclass('orders') AND contype = 'f'";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int monthsAhead;
+    private final int retentionMonths;
+
+    /**
+     * @param jdbcTemplate    Runs the catalog queries and the DDL
+     * @param monthsAhead     Months after the current one to create partitions for
+     * @param retentionMonths Months before the current one to keep attached; 0 keeps every partition.
+     *                        Orders of detached months also leave the customer summaries at their
+     *                        next nightly rebuild, which only counts attached orders
+     */
+    public OrderPartitionMaintenanceJob(JdbcTemplate jdbcTemplate,
+                                        @Value("${orderapp.order-partitions.months-ahead:3}") int monthsAhead,
+                                        @Value("${orderapp.order-partitions.retention-months:0}") int retentionMonths) {
+        if (monthsAhead < 1) {
+            throw new IllegalArgumentException("Months ahead must be positive: " + monthsAhead);
+        }
+        if (retentionMonths < 0) {
+            throw new IllegalArgumentException("Retention months must not be negative: " + retentionMonths);
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.monthsAhead = monthsAhead;
+        this.retentionMonths = retentionMonths;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${orderapp.order-partitions.maintenance-cron:0 0 4 * * *}")
+    public void run() {
+        if (!isPartitioned()) {
+            log.debug("Orders table is not partitioned, skipping partition maintenance");
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!queryBoolean(connection, TRY_LOCK)) {
+                log.debug("Order partition maintenance is running on another instance, skipping");
+                return null;
+            }
+            try {
+                maintain(YearMonth.now());
+            } finally {
+                queryBoolean(connection, UNLOCK);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Creates the missing partitions from the given month to {@code months-ahead} months later and
+     * detaches those older than {@code retention-months} before it. The items of a month are
+     * detached before its orders, and lose their foreign key to the orders table on the way:
+     * the orders they point to are about to leave it. Statements are not run in a transaction.
+     *
+     * @param current Month to maintain the partitions around
+     */
+    public void maintain(YearMonth current) {
+        Set<String> orders = partitions("orders");
+        Set<String> items = partitions("order_item");
+
+        for (YearMonth month = current; !month.isAfter(current.plusMonths(monthsAhead)); month = month.plusMonths(1)) {
+            createPartition("orders", month, orders);
+            createPartition("order_item", month, items);
+        }
+
+        if (retentionMonths == 0) {
+            return;
+        }
+        YearMonth oldestKept = current.minusMonths(retentionMonths);
+        for (String item : items) {
+            YearMonth month = monthOf(item);
+            if (month != null && month.isBefore(oldestKept)) {
+                execute("ALTER TABLE order_item DETACH PARTITION " + item + " CONCURRENTLY");
+                for (String constraint : jdbcTemplate.queryForList(FOREIGN_KEYS_TO_ORDERS, String.class, item)) {
+                    execute("ALTER TABLE " + item + " DROP CONSTRAINT \"" + constraint.replace("\"", "\"\"") + "\"");
+                }
+            }
+        }
+        for (String order : orders) {
+            YearMonth month = monthOf(order);
+            if (month != null && month.isBefore(oldestKept)) {
+                execute("ALTER TABLE orders DETACH PARTITION " + order + " CONCURRENTLY");
+            }
+        }
+    }
+
+    private boolean isPartitioned() {
+        String database = jdbcTemplate.execute(
+                (ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+        if (!"PostgreSQL".equals(database)) {
+            return false;
+        }
+        Long count = jdbcTemplate.queryForObject(PARTITIONED, Long.class);
+        return count != null && count > 0;
+    }
+
+    private Set<String> partitions(String table) {
+        return new TreeSet<>(jdbcTemplate.queryForList(PARTITIONS, String.class, table));
+    }
+
+    private void createPartition(String table, YearMonth month, Set<String> existing) {
+        String partition = table + "_p" + month.format(SUFFIX);
+        if (!existing.contains(partition)) {
+            execute("CREATE TABLE IF NOT EXISTS " + partition + " PARTITION OF " + table +
+                    " FOR VALUES FROM ('" + month.atDay(1) + "') TO ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+    }
+
+    private void execute(String ddl) {
+        log.info("Order partition maintenance: {}", ddl);
+        jdbcTemplate.execute(ddl);
+    }
+
+    private static boolean queryBoolean(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement(); ResultSet result = statement.executeQuery(sql)) {
+            return result.next() && result.getBoolean(1);
+        }
+    }
+
+    private static YearMonth monthOf(String partition) {
+        Matcher matcher = PARTITION_NAME.matcher(partition);
+        if (!matcher.matches()) {
+            return null;
+        }
+        return YearMonth.of(Integer.parseInt(matcher.group(2)), Integer.parseInt(matcher.group(3)));
+    }
+}
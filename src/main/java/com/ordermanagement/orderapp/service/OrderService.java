@@ -1,16 +1,40 @@
 package com.ordermanagement.orderapp.service;
 
+import com.ordermanagement.orderapp.dto.CursorPage;
+import com.ordermanagement.orderapp.dto.OrderBatchResultDTO;
 import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
 import com.ordermanagement.orderapp.dto.OrderItemDTO;
 import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import com.ordermanagement.orderapp.dto.OrderRow;
+import com.ordermanagement.orderapp.dto.OrderStatusOutcomeDTO;
+import com.ordermanagement.orderapp.dto.OrderStatusRow;
+import com.ordermanagement.orderapp.dto.PageCursor;
+import com.ordermanagement.orderapp.dto.ResourceVersion;
+import com.ordermanagement.orderapp.dto.Versioned;
 import com.ordermanagement.orderapp.entity.*;
+import com.ordermanagement.orderapp.exception.OrderStatusConflictException;
 import com.ordermanagement.orderapp.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -20,59 +44,142 @@ public class OrderService {
     private final OrderRepository orderRepository;
     private final CustomerService customerService;
     private final ProductService productService;
+    private final CustomerOrderSummaryService customerOrderSummaryService;
+    private final AnalyticsRollupService analyticsRollupService;
+    private final OrderEventService orderEventService;
 
     /**
      * Creates a new order.
+     * All products of the cart are resolved with a single query and lines that
+     * reference the same product are merged into one order item.
+     * The customer's order summary and the order event outbox are updated in the same transaction.
      *
      * @param orderCreateDTO DTO containing order creation data
      * @return OrderResponseDTO with created order information
-     * @throws IllegalArgumentException if customer or products not found
+     * @throws IllegalArgumentException if customer or products not found, or products are not active
      */
+    @Timed(value = "orderapp.orders.create", description = "Time to validate, price and store one order", histogram = true)
     public OrderResponseDTO createOrder(OrderCreatedDTO orderCreateDTO) {
         // Validate customer exists
         Customer customer = customerService.getCustomerById(orderCreateDTO.getId());
 
-        // Create new order
-        Order order = new Order();
-        order.setCustomer(customer);
-        order.setStatus(Order.OrderStatus.PENDING);
+        // Merge duplicate lines and resolve every product of the cart at once
+        Map<Long, Integer> quantities = mergeQuantities(orderCreateDTO.getItems());
+        Map<Long, Product> products = productService.getProductsByIds(quantities.keySet()).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
 
-        // Add order items
-        for (OrderItemDTO itemDTO : orderCreateDTO.getItems()) {
-            Product product = productService.getProductById(itemDTO.getId());
+        Order order = buildOrder(customer, quantities, products);
 
-            // Validate product is active
-            if (!product.getIsActive()) {
-                throw new IllegalArgumentException("Product is not active: " + product.getName());
-            }
+        // Save order
+        Order savedOrder = orderRepository.save(order);
+        customerOrderSummaryService.recordOrdersPlaced(List.of(savedOrder));
+        orderEventService.recordCreated(List.of(savedOrder));
 
-            OrderItem orderItem = new OrderItem();
-            orderItem.setProduct(product);
-            orderItem.setQuantity(itemDTO.getQuantity());
-            orderItem.setUnitPriceFromProduct();
+        return OrderResponseDTO.fromEntity(savedOrder);
+    }
 
-            order.addOrderItem(orderItem);
+    /**
+     * Creates several orders in one transaction.
+     * Customers and products of every order are resolved with one query each and the
+     * valid orders are inserted together; an invalid order does not affect the others.
+     *
+     * @param orderCreateDTOs DTOs containing order creation data
+     * @return One result per input, in the same order, with the new order ID or the error
+     */
+    @Timed(value = "orderapp.orders.create.batch", description = "Time to validate, price and store a chunk of orders", histogram = true)
+    public List<OrderBatchResultDTO> createOrders(List<OrderCreatedDTO> orderCreateDTOs) {
+        List<Map<Long, Integer>> carts = orderCreateDTOs.stream()
+                .map(dto -> mergeQuantities(dto.getItems()))
+                .collect(Collectors.toList());
+
+        Set<Long> customerIds = orderCreateDTOs.stream()
+                .map(OrderCreatedDTO::getId)
+                .collect(Collectors.toSet());
+        Set<Long> productIds = carts.stream()
+                .flatMap(cart -> cart.keySet().stream())
+                .collect(Collectors.toSet());
+
+        Map<Long, Customer> customers = customerService.getCustomersByIds(customerIds).stream()
+                .collect(Collectors.toMap(Customer::getId, Function.identity()));
+        Map<Long, Product> products = productService.getProductsByIds(productIds).stream()
+                .collect(Collectors.toMap(Product::getId, Function.identity()));
+
+        Order[] orders = new Order[orderCreateDTOs.size()];
+        List<OrderBatchResultDTO> results = new ArrayList<>(orderCreateDTOs.size());
+        for (int i = 0; i < orderCreateDTOs.size(); i++) {
+            Long customerId = orderCreateDTOs.get(i).getId();
+            Customer customer = customers.get(customerId);
+            if (customer == null) {
+                results.add(OrderBatchResultDTO.failure("Customer not found with id: " + customerId));
+                continue;
+            }
+            try {
+                orders[i] = buildOrder(customer, carts.get(i), products);
+                results.add(null);
+            } catch (IllegalArgumentException ex) {
+                results.add(OrderBatchResultDTO.failure(ex.getMessage()));
+            }
         }
 
-        // Calculate total amount
-        order.calculateTotalAmount();
+        List<Order> validOrders = Arrays.stream(orders).filter(Objects::nonNull).collect(Collectors.toList());
+        orderRepository.saveAll(validOrders);
+        customerOrderSummaryService.recordOrdersPlaced(validOrders);
+        orderEventService.recordCreated(validOrders);
 
-        // Save order
-        Order savedOrder = orderRepository.save(order);
+        for (int i = 0; i < orders.length; i++) {
+            if (orders[i] != null) {
+                results.set(i, OrderBatchResultDTO.success(orders[i].getId()));
+            }
+        }
+        return results;
+    }
 
-        return OrderResponseDTO.fromEntity(savedOrder);
+    /**
+     * Retrieves one page of orders, newest first.
+     * Orders are read as flat projection rows; no entity is loaded.
+     *
+     * @param cursor Continuation token of the previous page, or null for the first page
+     * @param limit  Maximum number of orders to return
+     * @return Page of orders as DTOs
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<OrderResponseDTO> getOrders(String cursor, int limit) {
+        CursorPage.checkLimit(limit);
+        List<PageCursor> keys;
+        if (cursor == null) {
+            keys = orderRepository.findFirstPageKeys(CursorPage.queryLimit(limit));
+        } else {
+            PageCursor after = decodeOrderCursor(cursor);
+            keys = orderRepository.findPageKeysAfter(after.getCreatedAt(), after.getId(), CursorPage.queryLimit(limit));
+        }
+        return toPage(keys, limit);
     }
 
     /**
-     * Retrieves all orders.
+     * Streams every order, oldest first, to the given consumer.
+     * Rows are read as projections through a database cursor and each order is handed
+     * over as soon as its last row has been read, so memory does not grow with the table.
      *
-     * @return List of all orders as DTOs
+     * @param consumer Receives each order as a DTO
      */
     @Transactional(readOnly = true)
-    public List<OrderResponseDTO> getAllOrders() {
-        return orderRepository.findAll().stream()
-                .map(OrderResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+    public void exportOrders(Consumer<OrderResponseDTO> consumer) {
+        try (Stream<OrderRow> rows = orderRepository.streamAllRows()) {
+            OrderResponseDTO current = null;
+            for (Iterator<OrderRow> iterator = rows.iterator(); iterator.hasNext(); ) {
+                OrderRow row = iterator.next();
+                if (current == null || !current.getId().equals(row.getOrderId())) {
+                    if (current != null) {
+                        consumer.accept(current);
+                    }
+                    current = OrderResponseDTO.fromRow(row);
+                }
+                OrderResponseDTO.addItem(current, row);
+            }
+            if (current != null) {
+                consumer.accept(current);
+            }
+        }
     }
 
     /**
@@ -84,45 +191,177 @@ public class OrderService {
      */
     @Transactional(readOnly = true)
     public OrderResponseDTO getOrderById(Long id) {
-        Order order = orderRepository.findById(id)
+        return getVersionedOrderById(id).getBody();
+    }
+
+    /**
+     * Retrieves an order by ID with the version of its representation.
+     *
+     * @param id Order ID
+     * @return OrderResponseDTO with its version
+     * @throws IllegalArgumentException if order not found
+     */
+    @Transactional(readOnly = true)
+    public Versioned<OrderResponseDTO> getVersionedOrderById(Long id) {
+        List<OrderRow> rows = orderRepository.findRowsById(id);
+        List<OrderResponseDTO> orders = OrderResponseDTO.fromRows(rows);
+        if (orders.isEmpty()) {
+            throw new IllegalArgumentException("Order not found with id: " + id);
+        }
+        LocalDateTime modifiedAt = rows.stream()
+                .flatMap(row -> Stream.of(row.getUpdatedAt() != null ? row.getUpdatedAt() : row.getCreatedAt(),
+                        row.getCustomerUpdatedAt(), row.getProductUpdatedAt()))
+                .filter(Objects::nonNull)
+                .max(LocalDateTime::compareTo)
+                .orElse(null);
+        return new Versioned<>(orders.get(0), orderVersion(id, modifiedAt));
+    }
+
+    /**
+     * Looks up the version of an order's representation without reading the order.
+     * Equals the version returned with the order by {@link #getVersionedOrderById(Long)}.
+     *
+     * @param id Order ID
+     * @return Version of the order
+     * @throws IllegalArgumentException if order not found
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getOrderVersion(Long id) {
+        LocalDateTime modifiedAt = orderRepository.findModifiedAtById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + id));
-        return OrderResponseDTO.fromEntity(order);
+        return orderVersion(id, modifiedAt);
     }
 
     /**
-     * Retrieves all orders for a specific customer.
+     * Retrieves one page of the orders of a specific customer, newest first.
      *
      * @param customerId Customer ID
-     * @return List of orders for the customer
+     * @param cursor     Continuation token of the previous page, or null for the first page
+     * @param limit      Maximum number of orders to return
+     * @return Page of orders for the customer
      */
     @Transactional(readOnly = true)
-    public List<OrderResponseDTO> getOrdersByCustomerId(Long customerId) {
-        return orderRepository.findByCustomerId(customerId).stream()
-                .map(OrderResponseDTO::fromEntity)
-                .collect(Collectors.toList());
+    public CursorPage<OrderResponseDTO> getOrdersByCustomerId(Long customerId, String cursor, int limit) {
+        CursorPage.checkLimit(limit);
+        List<PageCursor> keys;
+        if (cursor == null) {
+            keys = orderRepository.findFirstPageKeysByCustomerId(customerId, CursorPage.queryLimit(limit));
+        } else {
+            PageCursor after = decodeOrderCursor(cursor);
+            keys = orderRepository.findPageKeysAfterByCustomerId(
+                    customerId, after.getCreatedAt(), after.getId(), CursorPage.queryLimit(limit));
+        }
+        return toPage(keys, limit);
     }
 
     /**
      * Updates the status of an order.
+     * The change is a conditional update that only applies while the order still has the
+     * status it was read with; the order is not loaded as an entity.
+     * Cancelling an order takes it out of its customer's order summary.
      *
      * @param id Order ID
      * @param status New order status
      * @return Updated order as DTO
-     * @throws IllegalArgumentException if order not found
+     * @throws IllegalArgumentException if order not found or the transition is not allowed
+     * @throws OrderStatusConflictException if the status changed concurrently
      */
     public OrderResponseDTO updateOrderStatus(Long id, Order.OrderStatus status) {
-        Order order = orderRepository.findById(id)
+        OrderStatusRow order = orderRepository.findStatusRowById(id)
                 .orElseThrow(() -> new IllegalArgumentException("Order not found with id: " + id));
+        Order.OrderStatus current = order.getStatus();
 
-        order.setStatus(status);
-        Order updatedOrder = orderRepository.save(order);
+        if (current != status) {
+            checkTransition(current, status);
+            if (orderRepository.updateStatus(List.of(id), current, status, LocalDateTime.now()) == 0) {
+                throw new OrderStatusConflictException(
+                        "Order " + id + " is no longer " + current + ", it was changed concurrently");
+            }
+            if (status == Order.OrderStatus.CANCELLED) {
+                customerOrderSummaryService.recordOrdersRemoved(List.of(order));
+            }
+            orderEventService.recordStatusChanged(List.of(id));
+        }
 
-        return OrderResponseDTO.fromEntity(updatedOrder);
+        return getOrderById(id);
+    }
+
+    /**
+     * Moves the given orders to a new status in one transaction.
+     * The orders are locked, then updated with one conditional update per current status.
+     * Cancelled orders are taken out of their customers' summaries.
+     *
+     * @param ids    Order IDs, without duplicates
+     * @param status New order status
+     * @return Outcome for every ID, in the same order
+     */
+    public List<OrderStatusOutcomeDTO> updateOrderStatuses(Collection<Long> ids, Order.OrderStatus status) {
+        Map<Long, OrderStatusRow> current = orderRepository.lockStatusesByIdIn(ids).stream()
+                .collect(Collectors.toMap(OrderStatusRow::getId, Function.identity()));
+
+        List<OrderStatusOutcomeDTO> outcomes = new ArrayList<>(ids.size());
+        Map<Order.OrderStatus, List<Long>> movable = new EnumMap<>(Order.OrderStatus.class);
+        List<OrderStatusRow> moved = new ArrayList<>();
+        for (Long id : ids) {
+            OrderStatusRow row = current.get(id);
+            Order.OrderStatus previous = row == null ? null : row.getStatus();
+            OrderStatusOutcomeDTO.Outcome outcome;
+            if (previous == null) {
+                outcome = OrderStatusOutcomeDTO.Outcome.NOT_FOUND;
+            } else if (previous == status) {
+                outcome = OrderStatusOutcomeDTO.Outcome.UNCHANGED;
+            } else if (!previous.canTransitionTo(status)) {
+                outcome = OrderStatusOutcomeDTO.Outcome.ILLEGAL_TRANSITION;
+            } else {
+                outcome = OrderStatusOutcomeDTO.Outcome.UPDATED;
+                movable.computeIfAbsent(previous, key -> new ArrayList<>()).add(id);
+                moved.add(row);
+            }
+            outcomes.add(new OrderStatusOutcomeDTO(id, outcome, previous));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        movable.forEach((expected, group) -> updateLocked(group, expected, status, now));
+        if (status == Order.OrderStatus.CANCELLED) {
+            customerOrderSummaryService.recordOrdersRemoved(moved);
+        }
+        orderEventService.recordStatusChanged(moved.stream().map(OrderStatusRow::getId).collect(Collectors.toList()));
+        return outcomes;
+    }
+
+    /**
+     * Moves the next chunk of orders with a given status to a new status in one transaction,
+     * walking them by ID.
+     *
+     * @param expected      Current status of the orders to move
+     * @param createdBefore Only move orders created before this time, or null for all
+     * @param afterId       Only move orders with a greater ID
+     * @param limit         Maximum number of orders to move
+     * @param status        New order status
+     * @return IDs of the moved orders, in ascending order
+     * @throws IllegalArgumentException if the transition is not allowed
+     */
+    public List<Long> updateOrderStatusesByStatus(Order.OrderStatus expected, LocalDateTime createdBefore,
+                                                 Long afterId, int limit, Order.OrderStatus status) {
+        checkTransition(expected, status);
+        List<OrderStatusRow> rows = createdBefore == null
+                ? orderRepository.lockStatusesByStatus(expected, afterId, Limit.of(limit))
+                : orderRepository.lockStatusesByStatusCreatedBefore(expected, createdBefore, afterId, Limit.of(limit));
+        List<Long> ids = rows.stream().map(OrderStatusRow::getId).collect(Collectors.toList());
+        if (!ids.isEmpty()) {
+            updateLocked(ids, expected, status, LocalDateTime.now());
+            if (status == Order.OrderStatus.CANCELLED) {
+                customerOrderSummaryService.recordOrdersRemoved(rows);
+            }
+            orderEventService.recordStatusChanged(ids);
+        }
+        return ids;
     }
 
     /**
      * Deletes an order by ID.
      * Only orders with PENDING status can be deleted.
+     * The order is looked up without its customer; its items are loaded to be deleted with it.
      *
      * @param id Order ID
      * @throws IllegalArgumentException if order not found or cannot be deleted
@@ -136,6 +375,123 @@ public class OrderService {
             throw new IllegalArgumentException("Cannot delete order with status: " + order.getStatus());
         }
 
-        orderRepository.deleteById(id);
+        OrderStatusRow deleted = new OrderStatusRow(
+                order.getId(), order.getCustomer().getId(), order.getStatus(), order.getTotalAmount());
+        orderRepository.delete(order);
+        analyticsRollupService.markDeleted(order.getCreatedAt());
+        if (order.getStatus() != Order.OrderStatus.CANCELLED) {
+            customerOrderSummaryService.recordOrdersRemoved(List.of(deleted));
+        }
+        orderEventService.recordDeleted(deleted);
+    }
+
+    /**
+     * Sums the quantities of cart lines that reference the same product,
+     * keeping the order in which products first appear.
+     *
+     * @param items Cart lines
+     * @return Quantity per product ID
+     */
+    private Map<Long, Integer> mergeQuantities(List<OrderItemDTO> items) {
+        Map<Long, Integer> quantities = new LinkedHashMap<>();
+        for (OrderItemDTO itemDTO : items) {
+            quantities.merge(itemDTO.getId(), itemDTO.getQuantity(), Math::addExact);
+        }
+        return quantities;
+    }
+
+    /**
+     * Builds a new PENDING order from already resolved products.
+     *
+     * @param customer   Customer placing the order
+     * @param quantities Quantity per product ID
+     * @param products   Resolved products by ID
+     * @return Order with its items and total amount
+     * @throws IllegalArgumentException listing every missing or inactive product of the cart
+     */
+    private Order buildOrder(Customer customer, Map<Long, Integer> quantities, Map<Long, Product> products) {
+        List<String> errors = new ArrayList<>();
+        for (Long productId : quantities.keySet()) {
+            Product product = products.get(productId);
+            if (product == null) {
+                errors.add("Product not found with id: " + productId);
+            } else if (!product.getIsActive()) {
+                errors.add("Product is not active: " + product.getName());
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new IllegalArgumentException(String.join("; ", errors));
+        }
+
+        // Create new order
+        Order order = new Order();
+        order.setCustomer(customer);
+        order.setStatus(Order.OrderStatus.PENDING);
+
+        // Add order items
+        quantities.forEach((productId, quantity) -> {
+            OrderItem orderItem = new OrderItem();
+            orderItem.setProduct(products.get(productId));
+            orderItem.setQuantity(quantity);
+            orderItem.setUnitPriceFromProduct();
+
+            order.addOrderItem(orderItem);
+        });
+
+        // Calculate total amount
+        order.calculateTotalAmount();
+
+        return order;
+    }
+
+    private static ResourceVersion orderVersion(Long id, LocalDateTime modifiedAt) {
+        return ResourceVersion.of("order-" + id, modifiedAt);
+    }
+
+    private static void checkTransition(Order.OrderStatus current, Order.OrderStatus status) {
+        if (!current.canTransitionTo(status)) {
+            throw new IllegalArgumentException("Cannot change order status from " + current + " to " + status);
+        }
+    }
+
+    /**
+     * Updates orders that were locked with the expected status; they cannot have changed since.
+     */
+    private void updateLocked(List<Long> ids, Order.OrderStatus expected, Order.OrderStatus status,
+                              LocalDateTime updatedAt) {
+        int updated = orderRepository.updateStatus(ids, expected, status, updatedAt);
+        if (updated != ids.size()) {
+            throw new OrderStatusConflictException(
+                    "Expected to move " + ids.size() + " " + expected + " orders but moved " + updated);
+        }
+    }
+
+    private static PageCursor decodeOrderCursor(String cursor) {
+        PageCursor after = PageCursor.decode(cursor);
+        if (after.getCreatedAt() == null) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor);
+        }
+        return after;
+    }
+
+    /**
+     * Turns the keys of a page into the page itself, reading the rows of its orders with a single query
+     * bounded to their creation times.
+     *
+     * @param keys  Keys of the page, including the look-ahead row
+     * @param limit Requested page size
+     * @return Page of orders as DTOs
+     */
+    private CursorPage<OrderResponseDTO> toPage(List<PageCursor> keys, int limit) {
+        CursorPage<PageCursor> page = CursorPage.of(keys, limit, Function.identity(), Function.identity());
+        if (page.getItems().isEmpty()) {
+            return new CursorPage<>(List.of(), page.getNextCursor());
+        }
+        List<PageCursor> items = page.getItems();
+        List<Long> ids = items.stream().map(PageCursor::getId).collect(Collectors.toList());
+        // Keys come newest first; their creation times bound the partitions to read
+        List<OrderRow> rows = orderRepository.findRowsByIdIn(
+                ids, items.get(items.size() - 1).getCreatedAt(), items.get(0).getCreatedAt());
+        return new CursorPage<>(OrderResponseDTO.fromRows(rows), page.getNextCursor());
     }
 }
@@ -0,0 +1,93 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.dto.OrderStatusOutcomeDTO;
+import com.ordermanagement.orderapp.dto.OrderStatusUpdateDTO;
+import com.ordermanagement.orderapp.dto.OrderStatusUpdateResultDTO;
+import com.ordermanagement.orderapp.entity.Order;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Moves many orders to a new status at once.
+ * Orders are processed in chunks, each chunk in its own transaction, so row locks are held
+ * briefly and a large change does not run as one long transaction. Chunks committed before a
+ * failure stay committed; repeating the request is safe, as orders that already moved are
+ * reported as unchanged or no longer match the filter.
+ */
+@Service
+public class OrderStatusService {
+
+    private final OrderService orderService;
+    private final int chunkSize;
+
+    public OrderStatusService(OrderService orderService,
+                              @Value("${orderapp.orders.status.chunk-size:1000}") int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("Chunk size must be positive: " + chunkSize);
+        }
+        this.orderService = orderService;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Moves the selected orders to the requested status.
+     *
+     * @param request Orders to move, by ID or by current status, and the new status
+     * @return Outcome for every selected order
+     * @throws IllegalArgumentException if the request selects orders both or neither way,
+     *                                  or a filtered transition is not allowed
+     */
+    public OrderStatusUpdateResultDTO updateStatuses(OrderStatusUpdateDTO request) {
+        boolean byIds = request.getIds() != null && !request.getIds().isEmpty();
+        boolean byFilter = request.getCurrentStatus() != null || request.getCreatedBefore() != null;
+        if (byIds == byFilter) {
+            throw new IllegalArgumentException("Select orders either by ids or by currentStatus and createdBefore");
+        }
+        if (byFilter && request.getCurrentStatus() == null) {
+            throw new IllegalArgumentException("currentStatus is required when filtering orders");
+        }
+
+        List<OrderStatusOutcomeDTO> outcomes = byIds
+                ? updateByIds(request.getIds(), request.getStatus())
+                : updateByFilter(request);
+        int updated = (int) outcomes.stream()
+                .filter(outcome -> outcome.getOutcome() == OrderStatusOutcomeDTO.Outcome.UPDATED)
+                .count();
+        return new OrderStatusUpdateResultDTO(request.getStatus(), updated, outcomes);
+    }
+
+    private List<OrderStatusOutcomeDTO> updateByIds(List<Long> ids, Order.OrderStatus status) {
+        List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        if (distinct.contains(null)) {
+            throw new IllegalArgumentException("Order ids must not be null");
+        }
+        List<OrderStatusOutcomeDTO> outcomes = new ArrayList<>(distinct.size());
+        for (int from = 0; from < distinct.size(); from += chunkSize) {
+            List<Long> chunk = distinct.subList(from, Math.min(from + chunkSize, distinct.size()));
+            outcomes.addAll(orderService.updateOrderStatuses(chunk, status));
+        }
+        return outcomes;
+    }
+
+    private List<OrderStatusOutcomeDTO> updateByFilter(OrderStatusUpdateDTO request) {
+        Order.OrderStatus expected = request.getCurrentStatus();
+        List<OrderStatusOutcomeDTO> outcomes = new ArrayList<>();
+        long afterId = 0L;
+        List<Long> moved;
+        do {
+            moved = orderService.updateOrderStatusesByStatus(
+                    expected, request.getCreatedBefore(), afterId, chunkSize, request.getStatus());
+            for (Long id : moved) {
+                outcomes.add(new OrderStatusOutcomeDTO(id, OrderStatusOutcomeDTO.Outcome.UPDATED, expected));
+            }
+            if (!moved.isEmpty()) {
+                afterId = moved.get(moved.size() - 1);
+            }
+        } while (moved.size() == chunkSize);
+        return outcomes;
+    }
+}
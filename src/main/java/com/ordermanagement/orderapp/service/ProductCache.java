@@ -0,0 +1,126 @@
+package com.ordermanagement.orderapp.service;
+
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * In-process, size-bounded cache of products by ID.
+ * Entries expire after a fixed time and are reloaded in the background once they are older
+ * than the refresh interval, so hot products are served without a query. Missing IDs are
+ * not cached. Cached products are detached and shared: callers must not modify them.
+ * Its counters are published as the {@code cache.*} meters with {@code cache="products"}.
+ */
+@Component
+public class ProductCache implements MeterBinder {
+
+    private final LoadingCache<Long, Product> cache;
+
+    public ProductCache(ProductRepository productRepository,
+                        @Value("${orderapp.product-cache.maximum-size:10000}") long maximumSize,
+                        @Value("${orderapp.product-cache.expire-after-write:10m}") Duration expireAfterWrite,
+                        @Value("${orderapp.product-cache.refresh-after-write:1m}") Duration refreshAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .refreshAfterWrite(refreshAfterWrite)
+                .recordStats()
+                .build(new CacheLoader<>() {
+                    @Override
+                    public Product load(Long id) {
+                        return productRepository.findById(id).map(ProductCache::detachedCopy).orElse(null);
+                    }
+
+                    @Override
+                    public Map<Long, Product> loadAll(Set<? extends Long> ids) {
+                        return productRepository.findAllById(List.copyOf(ids)).stream()
+                                .collect(Collectors.toMap(Product::getId, ProductCache::detachedCopy));
+                    }
+                });
+    }
+
+    /**
+     * Returns a product, loading it on a miss.
+     *
+     * @param id Product ID
+     * @return The product, or empty if it does not exist
+     */
+    public Optional<Product> get(Long id) {
+        return Optional.ofNullable(cache.get(id));
+    }
+
+    /**
+     * Returns several products, loading every miss with a single query.
+     *
+     * @param ids Product IDs
+     * @return Products found by ID; IDs that do not exist are absent
+     */
+    public Map<Long, Product> getAll(Collection<Long> ids) {
+        return cache.getAll(ids);
+    }
+
+    /**
+     * Drops a product now and again when the current transaction completes, so that neither
+     * a load of this transaction's uncommitted row nor a concurrent load of the old committed
+     * row outlives the change.
+     *
+     * @param id Product ID
+     */
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * @return Hit, miss, load and eviction counters since startup
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * @return Approximate number of cached products
+     */
+    public long size() {
+        return cache.estimatedSize();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "products");
+    }
+
+    /**
+     * Loads may join the caller's transaction; caching a copy keeps the shared instance out of
+     * its persistence context, where a later change of the same product would modify it in place.
+     */
+    private static Product detachedCopy(Product product) {
+        return new Product(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getIsActive(), product.getUpdatedAt());
+    }
+}
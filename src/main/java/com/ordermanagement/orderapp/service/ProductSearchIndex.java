@@ -0,0 +1,402 @@
+package com.ordermanagement.orderapp.service;
+
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * In-process trigram inverted index over product names and descriptions.
+ * <p>
+ * Text is lowercased, stripped of accents and split into words; every word, prefixed with a
+ * space, contributes its trigrams, so {@code " la"} marks a word starting with "la". A search
+ * term of three or more characters matches anywhere in the text, a term of two characters
+ * matches the start of a word and single characters only narrow down the other terms.
+ * Every term must match. Candidates come from intersecting the posting lists of the query
+ * trigrams and are checked against the text before being ranked.
+ * <p>
+ * The index is built from the database once the application is ready and kept up to date by
+ * {@link ProductService} writes once they commit. Until it is built, searches fall back to the
+ * database.
+ */
+@Slf4j
+@Component
+public class ProductSearchIndex {
+
+    public static final int MAX_LIMIT = 100;
+
+    private static final int BUILD_PAGE_SIZE = 1_000;
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    private final ProductRepository productRepository;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final Map<Long, PostingList> postings = new HashMap<>();
+
+    /** IDs written while the initial build runs; the build must not overwrite them. */
+    private volatile Set<Long> writtenDuringBuild;
+    private volatile boolean ready;
+
+    public ProductSearchIndex(ProductRepository productRepository) {
+        this.productRepository = productRepository;
+    }
+
+    /**
+     * Loads every product, walking the table by ID in pages.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        writtenDuringBuild = ConcurrentHashMap.newKeySet();
+        long lastId = 0L;
+        List<Product> page;
+        do {
+            page = productRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(BUILD_PAGE_SIZE));
+            lock.writeLock().lock();
+            try {
+                for (Product product : page) {
+                    if (!writtenDuringBuild.contains(product.getId())) {
+                        put(product);
+                    }
+                }
+            } finally {
+                lock.writeLock().unlock();
+            }
+            if (!page.isEmpty()) {
+                lastId = page.get(page.size() - 1).getId();
+            }
+        } while (page.size() == BUILD_PAGE_SIZE);
+        ready = true;
+        writtenDuringBuild = null;
+        log.info("Product search index built: {} products, {} trigrams in {} ms",
+                size(), trigramCount(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Adds or replaces a product once the current transaction commits, or right away
+     * outside of a transaction.
+     *
+     * @param product Saved product
+     */
+    public void index(Product product) {
+        Product snapshot = new Product(product.getId(), product.getName(), product.getDescription(),
+                product.getPrice(), product.getIsActive(), product.getUpdatedAt());
+        afterCommit(snapshot.getId(), () -> {
+            lock.writeLock().lock();
+            try {
+                put(snapshot);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * Removes a product once the current transaction commits, or right away
+     * outside of a transaction.
+     *
+     * @param id Product ID
+     */
+    public void remove(Long id) {
+        afterCommit(id, () -> {
+            lock.writeLock().lock();
+            try {
+                delete(id);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        });
+    }
+
+    /**
+     * @return Whether the initial build has completed
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Finds the products whose name or description contains every term of the query.
+     * Results are ranked by where they match: the whole name, the start of the name, the start
+     * of a word of the name, anywhere in the name and finally only in the description; shorter
+     * names and lower IDs come first within a rank.
+     *
+     * @param query Search text
+     * @param limit Maximum number of products to return
+     * @return Matching products, best first; they are shared and must not be modified
+     * @throws IllegalArgumentException if the limit is out of range or no term has two characters
+     */
+    public List<Product> search(String query, int limit) {
+        if (limit < 1 || limit > MAX_LIMIT) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_LIMIT + ": " + limit);
+        }
+        String normalized = normalize(query);
+        List<String> terms = Arrays.stream(normalized.split(" "))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+        Set<Long> trigrams = new LinkedHashSet<>();
+        for (String term : terms) {
+            if (term.length() == 2) {
+                trigrams.add(trigram(" " + term, 0));
+            } else {
+                for (int i = 0; i + 3 <= term.length(); i++) {
+                    trigrams.add(trigram(term, i));
+                }
+            }
+        }
+        if (trigrams.isEmpty()) {
+            throw new IllegalArgumentException("Search text needs a term of at least 2 characters: " + query);
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, Match.ORDER.reversed());
+        lock.readLock().lock();
+        try {
+            for (long id : candidates(trigrams)) {
+                Document document = documents.get(id);
+                if (!document.matchesAll(terms)) {
+                    continue;
+                }
+                best.add(new Match(document, document.rank(normalized, terms)));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Product> results = new ArrayList<>(best.size());
+        while (!best.isEmpty()) {
+            results.add(best.poll().document().product());
+        }
+        Collections.reverse(results);
+        return results;
+    }
+
+    /**
+     * @return Number of indexed products
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Long id, Runnable change) {
+        Set<Long> written = writtenDuringBuild;
+        if (written != null) {
+            written.add(id);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+
+    private long[] candidates(Set<Long> trigrams) {
+        List<PostingList> lists = new ArrayList<>(trigrams.size());
+        for (long trigram : trigrams) {
+            PostingList list = postings.get(trigram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(PostingList::size));
+        long[] ids = lists.get(0).toArray();
+        int count = ids.length;
+        for (int l = 1; l < lists.size() && count > 0; l++) {
+            PostingList list = lists.get(l);
+            int kept = 0;
+            for (int i = 0; i < count; i++) {
+                if (list.contains(ids[i])) {
+                    ids[kept++] = ids[i];
+                }
+            }
+            count = kept;
+        }
+        return Arrays.copyOf(ids, count);
+    }
+
+    /** Requires the write lock. */
+    private void put(Product product) {
+        delete(product.getId());
+        Document document = new Document(product, normalize(product.getName()), normalize(product.getDescription()));
+        documents.put(product.getId(), document);
+        for (long trigram : document.trigrams()) {
+            postings.computeIfAbsent(trigram, key -> new PostingList()).add(product.getId());
+        }
+    }
+
+    /** Requires the write lock. */
+    private void delete(Long id) {
+        Document document = documents.remove(id);
+        if (document == null) {
+            return;
+        }
+        for (long trigram : document.trigrams()) {
+            PostingList list = postings.get(trigram);
+            list.remove(id);
+            if (list.size() == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String stripped = DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_WORD.matcher(stripped.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static long trigram(String text, int start) {
+        return ((long) text.charAt(start) << 32) | ((long) text.charAt(start + 1) << 16) | text.charAt(start + 2);
+    }
+
+    private record Document(Product product, String name, String description) {
+
+        Set<Long> trigrams() {
+            Set<Long> trigrams = new LinkedHashSet<>();
+            addTrigrams(name, trigrams);
+            addTrigrams(description, trigrams);
+            return trigrams;
+        }
+
+        private static void addTrigrams(String text, Set<Long> trigrams) {
+            for (String word : text.split(" ")) {
+                String padded = " " + word;
+                for (int i = 0; i + 3 <= padded.length(); i++) {
+                    trigrams.add(trigram(padded, i));
+                }
+            }
+        }
+
+        boolean matchesAll(List<String> terms) {
+            for (String term : terms) {
+                if (!matches(name, term) && !matches(description, term)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static boolean matches(String text, String term) {
+            if (term.length() == 2) {
+                return text.startsWith(term) || text.contains(" " + term);
+            }
+            return text.contains(term);
+        }
+
+        int rank(String query, List<String> terms) {
+            if (name.equals(query)) {
+                return 0;
+            }
+            if (name.startsWith(query)) {
+                return 1;
+            }
+            if (terms.stream().allMatch(term -> name.startsWith(term) || name.contains(" " + term))) {
+                return 2;
+            }
+            if (terms.stream().allMatch(term -> matches(name, term))) {
+                return 3;
+            }
+            return 4;
+        }
+    }
+
+    private record Match(Document document, int rank) {
+
+        static final Comparator<Match> ORDER = Comparator.comparingInt(Match::rank)
+                .thenComparingInt(match -> match.document().name().length())
+                .thenComparing(match -> match.document().product().getId());
+    }
+
+    /**
+     * Sorted set of product IDs backed by a growable array. IDs are mostly added in increasing
+     * order, which makes additions appends.
+     */
+    private static final class PostingList {
+
+        private long[] ids = new long[4];
+        private int size;
+
+        int size() {
+            return size;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void add(long id) {
+            int position = size == 0 || ids[size - 1] < id ? -(size + 1) : Arrays.binarySearch(ids, 0, size, id);
+            if (position >= 0) {
+                return;
+            }
+            int insertAt = -(position + 1);
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int position = Arrays.binarySearch(ids, 0, size, id);
+            if (position < 0) {
+                return;
+            }
+            System.arraycopy(ids, position + 1, ids, position, size - position - 1);
+            size--;
+        }
+
+        long[] toArray() {
+            return Arrays.copyOf(ids, size);
+        }
+    }
+}
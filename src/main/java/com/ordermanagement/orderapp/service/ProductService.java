@@ -1,12 +1,21 @@
 package com.ordermanagement.orderapp.service;
 
+import com.ordermanagement.orderapp.dto.CacheStatsDTO;
+import com.ordermanagement.orderapp.dto.CursorPage;
+import com.ordermanagement.orderapp.dto.PageCursor;
+import com.ordermanagement.orderapp.dto.ResourceVersion;
+import com.ordermanagement.orderapp.dto.Versioned;
 import com.ordermanagement.orderapp.entity.Product;
 import com.ordermanagement.orderapp.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 @RequiredArgsConstructor
@@ -14,6 +23,8 @@ import java.util.List;
 public class ProductService {
 
     private final ProductRepository productRepository;
+    private final ProductCache productCache;
+    private final ProductSearchIndex productSearchIndex;
 
     /**
      * Creates a new product.
@@ -22,31 +33,45 @@ public class ProductService {
      * @return Created product
      */
     public Product createProduct(Product product) {
-        return productRepository.save(product);
+        Product savedProduct = productRepository.save(product);
+        productCache.invalidate(savedProduct.getId());
+        productSearchIndex.index(savedProduct);
+        return savedProduct;
     }
 
     /**
-     * Retrieves all products.
+     * Retrieves one page of products ordered by ID.
      *
-     * @return List of all products
+     * @param cursor Continuation token of the previous page, or null for the first page
+     * @param limit  Maximum number of products to return
+     * @return Page of products
      */
     @Transactional(readOnly = true)
-    public List<Product> getAllProducts() {
-        return productRepository.findAll();
+    public CursorPage<Product> getAllProducts(String cursor, int limit) {
+        CursorPage.checkLimit(limit);
+        List<Product> rows = productRepository.findByIdGreaterThanOrderByIdAsc(
+                afterId(cursor), CursorPage.queryLimit(limit));
+        return CursorPage.of(rows, limit, product -> PageCursor.of(product.getId()), Function.identity());
     }
 
     /**
-     * Retrieves only active products.
+     * Retrieves one page of active products ordered by ID.
      *
-     * @return List of active products
+     * @param cursor Continuation token of the previous page, or null for the first page
+     * @param limit  Maximum number of products to return
+     * @return Page of active products
      */
     @Transactional(readOnly = true)
-    public List<Product> getActiveProducts() {
-        return productRepository.findByIsActiveTrue();
+    public CursorPage<Product> getActiveProducts(String cursor, int limit) {
+        CursorPage.checkLimit(limit);
+        List<Product> rows = productRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(
+                afterId(cursor), CursorPage.queryLimit(limit));
+        return CursorPage.of(rows, limit, product -> PageCursor.of(product.getId()), Function.identity());
     }
 
     /**
-     * Retrieves a product by ID.
+     * Retrieves a product by ID through the product cache.
+     * The returned product is shared and must not be modified.
      *
      * @param id Product ID
      * @return Product entity
@@ -54,10 +79,60 @@ public class ProductService {
      */
     @Transactional(readOnly = true)
     public Product getProductById(Long id) {
-        return productRepository.findById(id)
+        return productCache.get(id)
                 .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
     }
 
+    /**
+     * Retrieves a product by ID through the product cache, with the version of its representation.
+     * The returned product is shared and must not be modified.
+     *
+     * @param id Product ID
+     * @return Product entity with its version
+     * @throws IllegalArgumentException if product not found
+     */
+    @Transactional(readOnly = true)
+    public Versioned<Product> getVersionedProductById(Long id) {
+        Product product = getProductById(id);
+        return new Versioned<>(product, ResourceVersion.of("product-" + id, product.getUpdatedAt()));
+    }
+
+    /**
+     * Looks up the version of the catalog, which changes with every product created, updated
+     * or deleted. Pages of the product list are versioned with it.
+     * Deletions leave no change time, so the version has an entity tag only.
+     *
+     * @return Version of the catalog
+     */
+    @Transactional(readOnly = true)
+    public ResourceVersion getCatalogVersion() {
+        ProductRepository.CatalogVersion catalog = productRepository.findCatalogVersion();
+        return ResourceVersion.tagOnly("products-" + catalog.getProducts(), catalog.getModifiedAt());
+    }
+
+    /**
+     * Retrieves all products whose ids are in the given collection through the product cache;
+     * the products that are not cached are loaded with a single query.
+     * Ids that do not match any product are simply absent from the result.
+     * The returned products are shared and must not be modified.
+     *
+     * @param ids Product IDs
+     * @return List of the products found
+     */
+    @Transactional(readOnly = true)
+    public List<Product> getProductsByIds(Collection<Long> ids) {
+        return new ArrayList<>(productCache.getAll(ids).values());
+    }
+
+    /**
+     * Returns the counters of the product cache.
+     *
+     * @return Cache size, hits, misses, loads and evictions since startup
+     */
+    public CacheStatsDTO getCacheStats() {
+        return CacheStatsDTO.of(productCache.stats(), productCache.size());
+    }
+
     /**
      * Updates an existing product.
      *
@@ -67,14 +142,18 @@ public class ProductService {
      * @throws IllegalArgumentException if product not found
      */
     public Product updateProduct(Long id, Product productDetails) {
-        Product product = getProductById(id);
+        Product product = productRepository.findById(id)
+                .orElseThrow(() -> new IllegalArgumentException("Product not found with id: " + id));
 
         product.setName(productDetails.getName());
         product.setDescription(productDetails.getDescription());
         product.setPrice(productDetails.getPrice());
         product.setIsActive(productDetails.getIsActive());
 
-        return productRepository.save(product);
+        Product updatedProduct = productRepository.save(product);
+        productCache.invalidate(id);
+        productSearchIndex.index(updatedProduct);
+        return updatedProduct;
     }
 
     /**
@@ -88,16 +167,32 @@ public class ProductService {
             throw new IllegalArgumentException("Product not found with id: " + id);
         }
         productRepository.deleteById(id);
+        productCache.invalidate(id);
+        productSearchIndex.remove(id);
     }
 
     /**
-     * Searches products by name.
+     * Searches products by name and description through the in-memory search index.
+     * Until the index has been built, only names are searched, in the database.
      *
-     * @param name Name to search for
-     * @return List of matching products
+     * @param name  Text to search for
+     * @param limit Maximum number of products to return
+     * @return Matching products, best first
+     * @throws IllegalArgumentException if the limit is out of range or the text is too short
      */
     @Transactional(readOnly = true)
-    public List<Product> searchProductsByName(String name) {
-        return productRepository.findByNameContainingIgnoreCase(name);
+    public List<Product> searchProductsByName(String name, int limit) {
+        if (!productSearchIndex.isReady()) {
+            if (limit < 1 || limit > ProductSearchIndex.MAX_LIMIT) {
+                throw new IllegalArgumentException(
+                        "Limit must be between 1 and " + ProductSearchIndex.MAX_LIMIT + ": " + limit);
+            }
+            return productRepository.findByNameContainingIgnoreCase(name, Limit.of(limit));
+        }
+        return productSearchIndex.search(name, limit);
+    }
+
+    private static Long afterId(String cursor) {
+        return cursor == null ? 0L : PageCursor.decode(cursor).getId();
     }
 }
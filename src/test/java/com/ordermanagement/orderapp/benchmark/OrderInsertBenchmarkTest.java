@@ -0,0 +1,113 @@
+package com.ordermanagement.orderapp.benchmark;
+
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.entity.OrderItem;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import com.ordermanagement.orderapp.support.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Insert throughput benchmark for orders with carts of 1, 10 and 100 lines.
+ * Excluded from the default build; run it with
+ * {@code ./mvnw test -Dgroups=benchmark -Dsurefire.excludedGroups=}
+ * and compare against the same run on an older revision.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@DisplayName("Order Insert Benchmark")
+class OrderInsertBenchmarkTest {
+
+    private static final int WARMUP_ORDERS = 200;
+    private static final int MEASURED_ORDERS = 1_000;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Customer customer;
+    private List<Product> products;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        customer = new Customer();
+        customer.setName("Benchmark Customer");
+        customer.setEmail("benchmark@example.com");
+        customer.setPhone(3312345678L);
+        customer = customerRepository.save(customer);
+
+        products = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Product product = new Product();
+            product.setName("Benchmark Product " + i);
+            product.setPrice(Money.of("10.00"));
+            product.setIsActive(true);
+            products.add(product);
+        }
+        products = productRepository.saveAll(products);
+    }
+
+    @ParameterizedTest(name = "cart of {0} lines")
+    @ValueSource(ints = {1, 10, 100})
+    void insertThroughput(int cartSize) {
+        insertOrders(cartSize, WARMUP_ORDERS);
+
+        RecordingStatementInspector.reset();
+        long start = System.nanoTime();
+        insertOrders(cartSize, MEASURED_ORDERS);
+        long elapsed = System.nanoTime() - start;
+
+        System.out.printf("cart=%3d lines: %8.1f orders/s, %6.1f order_item statements per order%n",
+                cartSize,
+                MEASURED_ORDERS / (elapsed / 1_000_000_000.0),
+                RecordingStatementInspector.countInsertsInto("order_item") / (double) MEASURED_ORDERS);
+    }
+
+    private void insertOrders(int cartSize, int count) {
+        for (int i = 0; i < count; i++) {
+            transactionTemplate.executeWithoutResult(status -> orderRepository.save(newOrder(cartSize)));
+        }
+    }
+
+    private Order newOrder(int cartSize) {
+        Order order = new Order();
+        order.setCustomer(customer);
+        for (int i = 0; i < cartSize; i++) {
+            OrderItem item = new OrderItem();
+            item.setProduct(products.get(i));
+            item.setQuantity(1);
+            item.setUnitPriceFromProduct();
+            order.addOrderItem(item);
+        }
+        order.calculateTotalAmount();
+        return order;
+    }
+}
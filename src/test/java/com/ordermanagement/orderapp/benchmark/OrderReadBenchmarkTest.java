@@ -0,0 +1,152 @@
+package com.ordermanagement.orderapp.benchmark;
+
+import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.entity.OrderItem;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import com.ordermanagement.orderapp.service.OrderService;
+import jakarta.persistence.EntityManager;
+import org.hibernate.jpa.AvailableHints;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Read benchmark over 10k orders of 3 items: managed entities copied into DTOs
+ * versus DTOs built straight from projection rows.
+ * Excluded from the default build; run it with
+ * {@code ./mvnw test -Dgroups=benchmark -Dsurefire.excludedGroups=}.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@ActiveProfiles("test")
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("Order Read Benchmark")
+class OrderReadBenchmarkTest {
+
+    private static final int ORDERS = 10_000;
+    private static final int ITEMS_PER_ORDER = 3;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MEASURED_ROUNDS = 5;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeAll
+    void seed() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        Customer customer = new Customer();
+        customer.setName("Benchmark Customer");
+        customer.setEmail("benchmark@example.com");
+        customer.setPhone(3312345678L);
+        Customer savedCustomer = customerRepository.save(customer);
+
+        List<Product> products = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            Product product = new Product();
+            product.setName("Benchmark Product " + i);
+            product.setPrice(Money.of("10.00"));
+            product.setIsActive(true);
+            products.add(product);
+        }
+        List<Product> savedProducts = productRepository.saveAll(products);
+
+        for (int chunk = 0; chunk < ORDERS; chunk += 500) {
+            int from = chunk;
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Order> orders = new ArrayList<>();
+                for (int i = from; i < from + 500; i++) {
+                    Order order = new Order();
+                    order.setCustomer(savedCustomer);
+                    for (int j = 0; j < ITEMS_PER_ORDER; j++) {
+                        OrderItem item = new OrderItem();
+                        item.setProduct(savedProducts.get((i + j) % savedProducts.size()));
+                        item.setQuantity(j + 1);
+                        item.setUnitPriceFromProduct();
+                        order.addOrderItem(item);
+                    }
+                    order.calculateTotalAmount();
+                    orders.add(order);
+                }
+                orderRepository.saveAll(orders);
+            });
+        }
+    }
+
+    @Test
+    void entitiesVersusProjection() {
+        Supplier<List<OrderResponseDTO>> entities = () -> transactionTemplate.execute(status ->
+                entityManager.createQuery("SELECT o FROM Order o", Order.class)
+                        .setHint(AvailableHints.HINT_SPEC_FETCH_GRAPH, entityManager.getEntityGraph(Order.DETAIL_GRAPH))
+                        .getResultStream()
+                        .map(OrderResponseDTO::fromEntity)
+                        .collect(Collectors.toList()));
+        Supplier<List<OrderResponseDTO>> projection = () -> {
+            List<OrderResponseDTO> orders = new ArrayList<>(ORDERS);
+            orderService.exportOrders(orders::add);
+            return orders;
+        };
+
+        measure("entities  ", entities);
+        measure("projection", projection);
+    }
+
+    private void measure(String label, Supplier<List<OrderResponseDTO>> read) {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            assertEquals(ORDERS, read.get().size());
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            assertEquals(ORDERS, read.get().size());
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        System.out.printf("%s: %8.1f ms per read of %d orders, %8.1f MB allocated per read%n",
+                label,
+                elapsed / 1_000_000.0 / MEASURED_ROUNDS,
+                ORDERS,
+                allocated / 1_048_576.0 / MEASURED_ROUNDS);
+    }
+}
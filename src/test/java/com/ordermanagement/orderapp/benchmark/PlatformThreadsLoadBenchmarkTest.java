@@ -0,0 +1,24 @@
+package com.ordermanagement.orderapp.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Current setup: Tomcat's platform-thread pool (200 threads), no request limiter.
+ */
+@Tag("benchmark")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {ThreadingLoadBenchmark.POOL_SIZE, ThreadingLoadBenchmark.NO_SQL_LOG,
+                ThreadingLoadBenchmark.QUIET_LOG, ThreadingLoadBenchmark.QUIET_APP_LOG,
+                ThreadingLoadBenchmark.QUIET_WEB_LOG, ThreadingLoadBenchmark.QUIET_HIBERNATE_LOG})
+@ActiveProfiles("test")
+@DisplayName("Platform Threads Load Benchmark")
+class PlatformThreadsLoadBenchmarkTest extends ThreadingLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "platform";
+    }
+}
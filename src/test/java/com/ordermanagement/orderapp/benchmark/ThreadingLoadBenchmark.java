@@ -0,0 +1,211 @@
+package com.ordermanagement.orderapp.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import com.ordermanagement.orderapp.support.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Closed-loop load test of order creation and lookup: {@value #CLIENTS} clients each create an
+ * order and read it back, as fast as they can, against a 10-connection pool as in production.
+ * Subclasses choose the threading mode of the server; compare their output lines.
+ * Excluded from the default build; run it with
+ * {@code ./mvnw test -Dgroups=benchmark -Dsurefire.excludedGroups= -Dtest='*ThreadsLoadBenchmarkTest'}
+ * (the virtual-thread variant needs a Java 21 runtime, {@code -Pjava21}).
+ */
+abstract class ThreadingLoadBenchmark {
+
+    /** Production pool size, and quiet logging so the console does not become the bottleneck. */
+    static final String POOL_SIZE = "spring.datasource.hikari.maximum-pool-size=10";
+    static final String NO_SQL_LOG = "spring.jpa.show-sql=false";
+    static final String QUIET_LOG = "logging.level.root=WARN";
+    static final String QUIET_APP_LOG = "logging.level.com.ordermanagement.orderapp=WARN";
+    static final String QUIET_WEB_LOG = "logging.level.org.springframework.web=WARN";
+    static final String QUIET_HIBERNATE_LOG = "logging.level.org.hibernate.SQL=WARN";
+
+    private static final int CLIENTS = 400;
+    private static final Duration WARMUP = Duration.ofSeconds(5);
+    private static final Duration MEASUREMENT = Duration.ofSeconds(15);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .executor(Executors.newFixedThreadPool(8))
+            .build();
+
+    private byte[] orderBody;
+
+    /**
+     * @return Name of the threading mode, for the report
+     */
+    abstract String mode();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        Customer customer = new Customer();
+        customer.setName("Load Customer");
+        customer.setEmail("load@example.com");
+        customer.setPhone(3312345678L);
+        customer = customerRepository.save(customer);
+
+        List<OrderItemDTO> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Product product = new Product();
+            product.setName("Load Product " + i);
+            product.setPrice(Money.of("10.00"));
+            product.setIsActive(true);
+            items.add(new OrderItemDTO(productRepository.save(product).getId(), i + 1));
+        }
+        orderBody = objectMapper.writeValueAsBytes(new OrderCreatedDTO(customer.getId(), items));
+    }
+
+    @Test
+    void createAndReadOrders() throws Exception {
+        run(WARMUP);
+        Result result = run(MEASUREMENT);
+
+        System.out.printf("%-8s: %8.1f req/s, p50 %6.1f ms, p99 %7.1f ms, max %7.1f ms, %d x 503, %d errors%n",
+                mode(),
+                result.ok() / (double) MEASUREMENT.toSeconds(),
+                result.percentile(0.50),
+                result.percentile(0.99),
+                result.percentile(1.0),
+                result.rejected(),
+                result.errors());
+        assertTrue(result.ok() > 0);
+    }
+
+    private Result run(Duration duration) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long deadline = System.nanoTime() + duration.toNanos();
+        LongAdder rejected = new LongAdder();
+        LongAdder errors = new LongAdder();
+        List<Future<long[]>> latencies = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            latencies.add(clients.submit(() -> client(deadline, rejected, errors)));
+        }
+        while (System.nanoTime() < deadline) {
+            // The test profile records every statement; keep that list from growing for the whole run
+            RecordingStatementInspector.reset();
+            Thread.sleep(500);
+        }
+        List<long[]> all = new ArrayList<>();
+        for (Future<long[]> future : latencies) {
+            all.add(future.get());
+        }
+        clients.shutdown();
+        return new Result(all.stream().flatMapToLong(Arrays::stream).sorted().toArray(),
+                rejected.sum(), errors.sum());
+    }
+
+    private long[] client(long deadline, LongAdder rejected, LongAdder errors) {
+        long[] latencies = new long[1024];
+        int count = 0;
+        while (System.nanoTime() < deadline) {
+            long start = System.nanoTime();
+            try {
+                HttpResponse<byte[]> created = httpClient.send(HttpRequest.newBuilder(uri("/api/orders"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofByteArray(orderBody))
+                                .build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                if (!record(created.statusCode(), rejected, errors)) {
+                    continue;
+                }
+                JsonNode order = objectMapper.readTree(created.body());
+                HttpResponse<byte[]> read = httpClient.send(
+                        HttpRequest.newBuilder(uri("/api/orders/" + order.get("id").asLong())).GET().build(),
+                        HttpResponse.BodyHandlers.ofByteArray());
+                if (!record(read.statusCode(), rejected, errors)) {
+                    continue;
+                }
+            } catch (Exception ex) {
+                errors.increment();
+                continue;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = System.nanoTime() - start;
+        }
+        return Arrays.copyOf(latencies, count);
+    }
+
+    private static boolean record(int status, LongAdder rejected, LongAdder errors) {
+        if (status == 503) {
+            rejected.increment();
+            return false;
+        }
+        if (status >= 300) {
+            errors.increment();
+            return false;
+        }
+        return true;
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    /**
+     * Latencies, in nanoseconds, of the create-and-read round trips that succeeded.
+     */
+    private record Result(long[] latencies, long rejected, long errors) {
+
+        long ok() {
+            return latencies.length;
+        }
+
+        double percentile(double percentile) {
+            if (latencies.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(latencies.length - 1, Math.ceil(percentile * latencies.length) - 1);
+            return latencies[Math.max(index, 0)] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.ordermanagement.orderapp.benchmark;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/**
+ * Virtual-thread mode: the test profile plus the settings of the virtual-threads profile.
+ */
+@Tag("benchmark")
+@EnabledForJreRange(min = JRE.JAVA_21)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {ThreadingLoadBenchmark.POOL_SIZE, ThreadingLoadBenchmark.NO_SQL_LOG,
+                ThreadingLoadBenchmark.QUIET_LOG, ThreadingLoadBenchmark.QUIET_APP_LOG,
+                ThreadingLoadBenchmark.QUIET_WEB_LOG, ThreadingLoadBenchmark.QUIET_HIBERNATE_LOG})
+@ActiveProfiles({"test", "virtual-threads"})
+@DisplayName("Virtual Threads Load Benchmark")
+class VirtualThreadsLoadBenchmarkTest extends ThreadingLoadBenchmark {
+
+    @Override
+    String mode() {
+        return "virtual";
+    }
+}
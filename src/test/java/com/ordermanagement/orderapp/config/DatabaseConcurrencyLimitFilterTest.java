@@ -0,0 +1,71 @@
+package com.ordermanagement.orderapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for DatabaseConcurrencyLimitFilter
+ * Tests admission and rejection with a single permit
+ */
+@DisplayName("Database Concurrency Limit Filter Unit Tests")
+class DatabaseConcurrencyLimitFilterTest {
+
+    private final DatabaseConcurrencyLimitFilter filter = new DatabaseConcurrencyLimitFilter(
+            1, Duration.ofMillis(50), new ObjectMapper().registerModule(new JavaTimeModule()));
+
+    @Test
+    @DisplayName("Should reject with 503 while the limit is reached and admit again once released")
+    void testRejectWhenSaturated() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            // Given - one request holding the only permit
+            Future<?> holder = executor.submit(() -> {
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            entered.countDown();
+                            try {
+                                release.await();
+                            } catch (InterruptedException ex) {
+                                Thread.currentThread().interrupt();
+                            }
+                        });
+                return null;
+            });
+            entered.await();
+
+            // When
+            MockHttpServletResponse rejected = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), rejected,
+                    (request, response) -> fail("Request should not be admitted"));
+
+            // Then
+            assertEquals(503, rejected.getStatus());
+            assertEquals("1", rejected.getHeader("Retry-After"));
+            assertTrue(rejected.getContentAsString().contains("Server is at capacity"));
+            assertEquals(1, filter.getInFlight());
+
+            release.countDown();
+            holder.get();
+            MockHttpServletResponse admitted = new MockHttpServletResponse();
+            filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), admitted, (request, response) -> { });
+            assertEquals(200, admitted.getStatus());
+            assertEquals(0, filter.getInFlight());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package com.ordermanagement.orderapp.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for ReplicaDataSource
+ * Tests routing between two embedded databases standing in for the primary and a replica
+ */
+@DisplayName("Replica DataSource Unit Tests")
+class ReplicaDataSourceTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HikariDataSource primary;
+    private HikariDataSource replica;
+    private ReplicaDataSource replicaDataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("replica-test-primary");
+        replica = database("replica-test-replica");
+        new JdbcTemplate(replica).update("UPDATE node SET name = 'replica'");
+
+        replicaDataSource = new ReplicaDataSource(primary, Map.of("replica-1", replica),
+                "SELECT lag_seconds FROM node", Duration.ofSeconds(5), meterRegistry);
+        DataSource dataSource = new ReplicaRoutingConfig().dataSource(primary, replicaDataSource, false);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        ReplicaRoutingContext.end();
+        replicaDataSource.close();
+        primary.close();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replica and others to the primary")
+    void testRouteByTransaction() {
+        assertEquals("replica", readOnly.execute(status -> node()));
+        assertEquals("primary", readWrite.execute(status -> node()));
+        assertEquals(1, meterRegistry.get("orderapp.datasource.reads").tag("target", "replica-1").counter().count());
+    }
+
+    @Test
+    @DisplayName("Should read from the primary for the rest of a request once it has written")
+    void testReadYourWrites() {
+        // Given
+        ReplicaRoutingContext.begin();
+        assertEquals("replica", readOnly.execute(status -> node()));
+
+        // When
+        readWrite.executeWithoutResult(status -> jdbcTemplate.update("UPDATE node SET lag_seconds = 0"));
+
+        // Then
+        assertEquals("primary", readOnly.execute(status -> node()));
+        ReplicaRoutingContext.end();
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary while the replica lags and return once it catches up")
+    void testLaggingReplica() {
+        // Given
+        new JdbcTemplate(replica).update("UPDATE node SET lag_seconds = 30");
+
+        // When
+        replicaDataSource.checkReplicas();
+
+        // Then
+        assertEquals("primary", readOnly.execute(status -> node()));
+        assertEquals(30, meterRegistry.get("orderapp.datasource.replica.lag").gauge().value());
+        assertEquals(1, meterRegistry.get("orderapp.datasource.replica.fallbacks").counter().count());
+
+        new JdbcTemplate(replica).update("UPDATE node SET lag_seconds = 1");
+        replicaDataSource.checkReplicas();
+        assertEquals("replica", readOnly.execute(status -> node()));
+    }
+
+    @Test
+    @DisplayName("Should fall back to the primary when the replica is unreachable")
+    void testUnreachableReplica() {
+        // Given
+        replica.close();
+
+        // When
+        String node = readOnly.execute(status -> node());
+
+        // Then
+        assertEquals("primary", node);
+        assertEquals(0, meterRegistry.get("orderapp.datasource.replica.healthy").gauge().value());
+        replicaDataSource.checkReplicas();
+        assertEquals("primary", readOnly.execute(status -> node()));
+    }
+
+    private String node() {
+        return jdbcTemplate.queryForObject("SELECT name FROM node", String.class);
+    }
+
+    private static HikariDataSource database(String name) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        dataSource.setUsername("sa");
+        dataSource.setMaximumPoolSize(2);
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS node");
+        jdbcTemplate.execute("CREATE TABLE node (name VARCHAR(20), lag_seconds DOUBLE PRECISION)");
+        jdbcTemplate.update("INSERT INTO node VALUES ('primary', 0)");
+        return dataSource;
+    }
+}
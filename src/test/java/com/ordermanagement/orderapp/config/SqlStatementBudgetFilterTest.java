@@ -0,0 +1,73 @@
+package com.ordermanagement.orderapp.config;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SqlStatementBudgetFilter
+ * Tests the statement budget and N+1 detection in fail-on-exceed mode
+ */
+@DisplayName("SQL Statement Budget Filter Unit Tests")
+class SqlStatementBudgetFilterTest {
+
+    private static final String ORDER_BY_ID = "select o.id from orders o where o.id=?";
+    private static final String ITEMS_BY_ORDER = "select oi.id from order_item oi where oi.order_id=?";
+
+    private final SqlCountingStatementInspector inspector = new SqlCountingStatementInspector();
+    private final SqlStatementBudgetFilter filter = new SqlStatementBudgetFilter(
+            4, Duration.ofSeconds(1), 3, true);
+
+    @Test
+    @DisplayName("Should admit a request within the budget")
+    void testWithinBudget() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/api/orders/1"), new MockHttpServletResponse(),
+                (request, response) -> {
+                    inspector.inspect(ORDER_BY_ID);
+                    inspector.inspect(ITEMS_BY_ORDER);
+                    inspector.inspect(ITEMS_BY_ORDER);
+                });
+    }
+
+    @Test
+    @DisplayName("Should fail a request over the statement budget")
+    void testOverBudget() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                filter.doFilter(new MockHttpServletRequest("POST", "/api/orders"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            for (int i = 0; i < 5; i++) {
+                                inspector.inspect("insert into orders (id) values (?)");
+                            }
+                        }));
+
+        assertEquals("POST /api/orders issued 5 SQL statements, over the budget of 4", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should fail a request that repeats the same SELECT")
+    void testSuspectedNPlusOne() {
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () ->
+                filter.doFilter(new MockHttpServletRequest("GET", "/api/orders"), new MockHttpServletResponse(),
+                        (request, response) -> {
+                            inspector.inspect(ORDER_BY_ID);
+                            for (int i = 0; i < 3; i++) {
+                                inspector.inspect(ITEMS_BY_ORDER);
+                            }
+                        }));
+
+        assertEquals("Suspected N+1 in GET /api/orders: 3 executions of " + ITEMS_BY_ORDER, exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should not count statements outside a request")
+    void testOutsideRequest() {
+        inspector.inspect(ORDER_BY_ID);
+
+        assertNull(SqlRequestStatistics.current());
+    }
+}
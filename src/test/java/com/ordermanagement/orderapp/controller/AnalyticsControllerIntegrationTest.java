@@ -0,0 +1,195 @@
+package com.ordermanagement.orderapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import com.ordermanagement.orderapp.service.AnalyticsRollupService;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for AnalyticsController
+ * Tests the rollup refresh and the analytics queries with real database
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Analytics Controller Integration Tests")
+class AnalyticsControllerIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private Customer testCustomer;
+    private Product cheapProduct;
+    private Product expensiveProduct;
+    private String today;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testCustomer = new Customer();
+        testCustomer.setName("Analytics Customer");
+        testCustomer.setEmail("analytics@example.com");
+        testCustomer.setPhone(3312345678L);
+        testCustomer = customerRepository.save(testCustomer);
+
+        cheapProduct = newProduct("Cheap Product", "5.00");
+        expensiveProduct = newProduct("Expensive Product", "100.00");
+        today = LocalDate.now().toString();
+    }
+
+    @Test
+    @DisplayName("Should answer from rollups that follow order changes")
+    void testRevenue_Integration() throws Exception {
+        // Given
+        createOrder(cheapProduct, 4);
+        createOrder(expensiveProduct, 1);
+        Long cancelled = createOrder(expensiveProduct, 2);
+        mockMvc.perform(patch("/api/orders/" + cancelled + "/status").param("status", "CANCELLED"))
+                .andExpect(status().isOk());
+        analyticsRollupService.refresh();
+
+        // When & Then
+        mockMvc.perform(get("/api/analytics/revenue/daily").param("from", today).param("to", today))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"))
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(jsonPath("$[0].date").value(today))
+                .andExpect(jsonPath("$[0].orders").value(2))
+                .andExpect(jsonPath("$[0].units").value(5))
+                .andExpect(jsonPath("$[0].revenue").value(120.00));
+
+        mockMvc.perform(get("/api/analytics/revenue/products").param("from", today).param("to", today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].productName").value("Expensive Product"))
+                .andExpect(jsonPath("$[0].units").value(1))
+                .andExpect(jsonPath("$[1].productName").value("Cheap Product"))
+                .andExpect(jsonPath("$[1].revenue").value(20.00));
+
+        mockMvc.perform(get("/api/analytics/revenue/status").param("from", today).param("to", today))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].status").value("CANCELLED"))
+                .andExpect(jsonPath("$[0].revenue").value(200.00))
+                .andExpect(jsonPath("$[1].status").value("PENDING"))
+                .andExpect(jsonPath("$[1].orders").value(2));
+
+        // When - a new order and a deletion, picked up by the next refresh
+        createOrder(cheapProduct, 1);
+        mockMvc.perform(delete("/api/orders/" + cancelled)).andExpect(status().isNoContent());
+        analyticsRollupService.refresh();
+
+        // Then
+        mockMvc.perform(get("/api/analytics/revenue/daily").param("from", today).param("to", today))
+                .andExpect(jsonPath("$[0].orders").value(3))
+                .andExpect(jsonPath("$[0].revenue").value(125.00));
+        mockMvc.perform(get("/api/analytics/revenue/status").param("from", today).param("to", today))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
+
+    @Test
+    @DisplayName("Should drop the orders of a deleted customer from the rollups")
+    void testDeleteCustomer_RemovesRevenue_Integration() throws Exception {
+        // Given
+        createOrder(cheapProduct, 2);
+        createOrder(expensiveProduct, 1);
+        analyticsRollupService.refresh();
+        mockMvc.perform(get("/api/analytics/revenue/daily").param("from", today).param("to", today))
+                .andExpect(jsonPath("$[0].revenue").value(110.00));
+        // A request reads the customer with the orders it has by now
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        mockMvc.perform(delete("/api/customers/" + testCustomer.getId())).andExpect(status().isNoContent());
+        analyticsRollupService.refresh();
+
+        // Then
+        mockMvc.perform(get("/api/analytics/revenue/daily").param("from", today).param("to", today))
+                .andExpect(jsonPath("$.length()").value(0));
+        mockMvc.perform(get("/api/analytics/revenue/products").param("from", today).param("to", today))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Should let clients cache ranges that ended before today")
+    void testClosedRange_Cacheable_Integration() throws Exception {
+        String yesterday = LocalDate.now().minusDays(1).toString();
+
+        mockMvc.perform(get("/api/analytics/revenue/daily").param("from", "2024-01-01").param("to", yesterday))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "max-age=3600, public"))
+                .andExpect(jsonPath("$.length()").value(0));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for a range that ends before it starts")
+    void testInvalidRange_Integration() throws Exception {
+        mockMvc.perform(get("/api/analytics/revenue/status").param("from", "2024-02-01").param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Range end 2024-01-01 is before its start 2024-02-01"));
+    }
+
+    private Product newProduct(String name, String price) {
+        Product product = new Product();
+        product.setName(name);
+        product.setPrice(Money.of(price));
+        product.setIsActive(true);
+        return productRepository.save(product);
+    }
+
+    private Long createOrder(Product product, int quantity) throws Exception {
+        OrderCreatedDTO createDTO = new OrderCreatedDTO(testCustomer.getId(),
+                List.of(new OrderItemDTO(product.getId(), quantity)));
+        String created = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(created).get("id").asLong();
+    }
+}
@@ -0,0 +1,193 @@
+package com.ordermanagement.orderapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.config.BinaryFormatsConfig;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for the CBOR and Smile representations
+ * Tests content negotiation, binary request bodies and per-format entity tags
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@ActiveProfiles("test")
+@DisplayName("Binary Formats Integration Tests")
+class BinaryFormatsIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MappingJackson2CborHttpMessageConverter cborConverter;
+
+    @Autowired
+    private MappingJackson2SmileHttpMessageConverter smileConverter;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Customer testCustomer;
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testCustomer = new Customer();
+        testCustomer.setName("Binary Customer");
+        testCustomer.setEmail("binary@example.com");
+        testCustomer.setPhone(3312345678L);
+        testCustomer = customerRepository.save(testCustomer);
+
+        testProduct = new Product();
+        testProduct.setName("Binary Product");
+        testProduct.setPrice(Money.of("12.34"));
+        testProduct.setIsActive(true);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    @Test
+    @DisplayName("Should create an order from a CBOR body and answer in CBOR")
+    void testCreateOrder_Cbor() throws Exception {
+        // Given
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+        OrderCreatedDTO createDTO = new OrderCreatedDTO(testCustomer.getId(),
+                List.of(new OrderItemDTO(testProduct.getId(), 3)));
+
+        // When
+        MockHttpServletResponse response = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_CBOR)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .content(cbor.writeValueAsBytes(createDTO)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse();
+
+        // Then
+        OrderResponseDTO created = cbor.readValue(response.getContentAsByteArray(), OrderResponseDTO.class);
+        assertEquals(Money.of("37.02"), created.getTotalAmount());
+        assertEquals(Money.of("12.34"), created.getItems().get(0).getUnitPrice());
+        assertNotNull(created.getCreatedAt());
+    }
+
+    @Test
+    @DisplayName("Should serve the same order in Smile as in JSON, in fewer bytes")
+    void testGetOrder_SmileMatchesJson() throws Exception {
+        // Given
+        Long orderId = createOrder();
+
+        // When
+        MockHttpServletResponse json = mockMvc.perform(get("/api/orders/{id}", orderId))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andReturn().getResponse();
+        MockHttpServletResponse smile = mockMvc.perform(get("/api/orders/{id}", orderId)
+                        .accept(BinaryFormatsConfig.APPLICATION_SMILE))
+                .andExpect(content().contentType(BinaryFormatsConfig.APPLICATION_SMILE))
+                .andReturn().getResponse();
+
+        // Then
+        assertEquals(objectMapper.readValue(json.getContentAsByteArray(), OrderResponseDTO.class),
+                smileConverter.getObjectMapper().readValue(smile.getContentAsByteArray(), OrderResponseDTO.class));
+        assertTrue(smile.getContentAsByteArray().length < json.getContentAsByteArray().length);
+    }
+
+    @Test
+    @DisplayName("Should serve products and customers in CBOR and keep JSON for any type")
+    void testProductsAndCustomers_Cbor() throws Exception {
+        ObjectMapper cbor = cborConverter.getObjectMapper();
+
+        MockHttpServletResponse product = mockMvc.perform(get("/api/products/{id}", testProduct.getId())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse();
+        assertEquals("Binary Product", cbor.readValue(product.getContentAsByteArray(), Map.class).get("name"));
+
+        MockHttpServletResponse customer = mockMvc.perform(get("/api/customers/{id}", testCustomer.getId())
+                        .accept(MediaType.APPLICATION_CBOR))
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse();
+        assertEquals("binary@example.com", cbor.readValue(customer.getContentAsByteArray(), Map.class).get("email"));
+
+        mockMvc.perform(get("/api/customers/{id}", testCustomer.getId()).accept(MediaType.ALL))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @DisplayName("Should give each format its own entity tag")
+    void testConditionalGet_PerFormatETag() throws Exception {
+        // Given
+        Long orderId = createOrder();
+        String jsonETag = mockMvc.perform(get("/api/orders/{id}", orderId))
+                .andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cborETag = mockMvc.perform(get("/api/orders/{id}", orderId).accept(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        // Then
+        assertNotEquals(jsonETag, cborETag);
+        mockMvc.perform(get("/api/orders/{id}", orderId)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, cborETag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/orders/{id}", orderId)
+                        .accept(MediaType.APPLICATION_CBOR)
+                        .header(HttpHeaders.IF_NONE_MATCH, jsonETag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR));
+    }
+
+    private Long createOrder() throws Exception {
+        OrderCreatedDTO createDTO = new OrderCreatedDTO(testCustomer.getId(),
+                List.of(new OrderItemDTO(testProduct.getId(), 2)));
+        MockHttpServletResponse response = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse();
+        return objectMapper.readValue(response.getContentAsByteArray(), OrderResponseDTO.class).getId();
+    }
+}
@@ -1,8 +1,15 @@
 package com.ordermanagement.orderapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
 import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
 import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import com.ordermanagement.orderapp.service.CustomerOrderSummaryRebuildJob;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,6 +21,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -37,6 +47,15 @@ class CustomerControllerIntegrationTest {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private ProductRepository productRepository;
+
+    @Autowired
+    private CustomerOrderSummaryRebuildJob customerOrderSummaryRebuildJob;
+
+    @Autowired
+    private EntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         customerRepository.deleteAll();
@@ -99,4 +118,131 @@ class CustomerControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(duplicateCustomer)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Should look up only the emails the filter cannot rule out")
+    void testEmailFilter_Integration() throws Exception {
+        // Given
+        mockMvc.perform(post("/api/customers/email-filter/rebuild"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.ready").value(true))
+                .andExpect(jsonPath("$.falsePositives").value(0));
+        Customer customer = new Customer();
+        customer.setName("Filter Customer");
+        customer.setEmail("filter@example.com");
+        customer.setPhone(3312345678L);
+
+        // When - the second email differs only in case, which the filter does not tell apart
+        mockMvc.perform(post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(customer)))
+                .andExpect(status().isCreated());
+        customer.setEmail("FILTER@example.com");
+        mockMvc.perform(post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(customer)))
+                .andExpect(status().isCreated());
+
+        // Then
+        mockMvc.perform(get("/api/customers/email-filter/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.definiteNegatives").value(1))
+                .andExpect(jsonPath("$.falsePositives").value(1))
+                .andExpect(jsonPath("$.observedFalsePositiveRate").value(0.5));
+    }
+
+    @Test
+    @DisplayName("Should keep the customer order summary up to date")
+    void testCustomerSummary_Integration() throws Exception {
+        // Given
+        Long customerId = createCustomer("summary@example.com");
+        Product product = new Product();
+        product.setName("Summary Product");
+        product.setPrice(Money.of("10.50"));
+        product.setIsActive(true);
+        product = productRepository.save(product);
+
+        mockMvc.perform(get("/api/customers/" + customerId + "/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.orderCount").value(0))
+                .andExpect(jsonPath("$.lifetimeValue").value(0))
+                .andExpect(jsonPath("$.lastOrderAt").doesNotExist());
+
+        Long first = createOrder(customerId, product.getId(), 1);
+        Long second = createOrder(customerId, product.getId(), 2);
+        Long third = createOrder(customerId, product.getId(), 4);
+
+        // When - one order is cancelled and another deleted
+        mockMvc.perform(patch("/api/orders/" + second + "/status").param("status", "CANCELLED"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/orders/" + third))
+                .andExpect(status().isNoContent());
+
+        // Then
+        String firstCreatedAt = objectMapper.readTree(mockMvc.perform(get("/api/orders/" + first))
+                .andReturn().getResponse().getContentAsString()).get("createdAt").asText();
+        mockMvc.perform(get("/api/customers/" + customerId + "/summary"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.customerId").value(customerId))
+                .andExpect(jsonPath("$.orderCount").value(1))
+                .andExpect(jsonPath("$.lifetimeValue").value(10.50))
+                .andExpect(jsonPath("$.lastOrderAt").value(firstCreatedAt));
+    }
+
+    @Test
+    @DisplayName("Should repair a drifted customer order summary on rebuild")
+    void testCustomerSummaryRebuild_Integration() throws Exception {
+        // Given - a summary that no longer matches the orders
+        Long customerId = createCustomer("drift@example.com");
+        Product product = new Product();
+        product.setName("Drift Product");
+        product.setPrice(Money.of("3.00"));
+        product.setIsActive(true);
+        product = productRepository.save(product);
+        createOrder(customerId, product.getId(), 2);
+        entityManager.createNativeQuery("UPDATE customer_order_summary SET order_count = 7 WHERE customer_id = :id")
+                .setParameter("id", customerId)
+                .executeUpdate();
+
+        // When
+        int repaired = customerOrderSummaryRebuildJob.rebuildAll();
+
+        // Then
+        assertEquals(1, repaired);
+        entityManager.clear();
+        mockMvc.perform(get("/api/customers/" + customerId + "/summary"))
+                .andExpect(jsonPath("$.orderCount").value(1))
+                .andExpect(jsonPath("$.lifetimeValue").value(6.00));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for the summary of an unknown customer")
+    void testCustomerSummary_NotFound_Integration() throws Exception {
+        mockMvc.perform(get("/api/customers/-1/summary"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Customer not found with id: -1"));
+    }
+
+    private Long createCustomer(String email) throws Exception {
+        Customer customer = new Customer();
+        customer.setName("Summary Customer");
+        customer.setEmail(email);
+        customer.setPhone(3312345678L);
+        String created = mockMvc.perform(post("/api/customers")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(customer)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(created).get("id").asLong();
+    }
+
+    private Long createOrder(Long customerId, Long productId, int quantity) throws Exception {
+        OrderCreatedDTO createDTO = new OrderCreatedDTO(customerId, List.of(new OrderItemDTO(productId, quantity)));
+        String created = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(created).get("id").asLong();
+    }
 }
@@ -0,0 +1,114 @@
+package com.ordermanagement.orderapp.controller;
+
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.boot.test.web.server.LocalManagementPort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Integration tests for the Prometheus scrape endpoint on the management port.
+ * Not transactional: requests go through a real server, which must see committed data.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "management.server.port=0")
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@DisplayName("Metrics Integration Tests")
+class MetricsIntegrationTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @LocalManagementPort
+    private int managementPort;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Customer testCustomer;
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testCustomer = new Customer();
+        testCustomer.setName("Metrics Customer");
+        testCustomer.setEmail("metrics@example.com");
+        testCustomer.setPhone(3312345678L);
+        testCustomer = customerRepository.save(testCustomer);
+
+        testProduct = new Product();
+        testProduct.setName("Metrics Product");
+        testProduct.setPrice(Money.of("50.00"));
+        testProduct.setIsActive(true);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    @Test
+    @DisplayName("Should expose HTTP, Hikari, Hibernate, cache and business metrics in Prometheus format")
+    void testPrometheusScrape_Integration() {
+        // Given
+        ResponseEntity<String> created = restTemplate.postForEntity("/api/orders",
+                new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 2))),
+                String.class);
+        assertEquals(HttpStatus.CREATED, created.getStatusCode());
+        restTemplate.getForEntity("/api/products/" + testProduct.getId(), String.class);
+
+        // When
+        ResponseEntity<String> scrape = restTemplate.getForEntity(
+                "http://localhost:" + managementPort + "/actuator/prometheus", String.class);
+
+        // Then
+        assertEquals(HttpStatus.OK, scrape.getStatusCode());
+        assertTrue(scrape.getHeaders().getContentType().toString().startsWith("text/plain"));
+        String body = scrape.getBody();
+        assertTrue(body.contains("http_server_requests_seconds_bucket{"), "HTTP latency histogram");
+        assertTrue(body.contains("uri=\"/api/orders\""), "per-endpoint tag");
+        assertTrue(body.contains("hikaricp_connections_active{"), "Hikari active");
+        assertTrue(body.contains("hikaricp_connections_idle{"), "Hikari idle");
+        assertTrue(body.contains("hikaricp_connections_pending{"), "Hikari pending");
+        assertTrue(body.contains("hikaricp_connections_acquire_seconds_bucket{"), "Hikari acquire time");
+        assertTrue(body.contains("hibernate_statements_total{"), "Hibernate statements");
+        assertTrue(body.contains("hibernate_entities_loads_total{"), "Hibernate entity loads");
+        assertTrue(body.contains("hibernate_cache_query_requests_total{"), "Hibernate query cache");
+        assertTrue(body.contains("cache_gets_total{") && body.contains("cache=\"products\""), "product cache");
+        assertTrue(body.contains("orderapp_orders_create_seconds_bucket{"), "order creation timer");
+        assertTrue(body.contains("orderapp_orders_create_seconds_count{application=\"orderapp\""), "common tag");
+    }
+
+    @Test
+    @DisplayName("Should not serve actuator endpoints on the API port")
+    void testActuatorNotOnApiPort_Integration() {
+        ResponseEntity<String> response = restTemplate.getForEntity("/actuator/prometheus", String.class);
+
+        assertNotEquals(HttpStatus.OK, response.getStatusCode());
+    }
+}
@@ -3,11 +3,16 @@ package com.ordermanagement.orderapp.controller;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
 import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.dto.OrderStatusUpdateDTO;
 import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Order;
 import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
 import com.ordermanagement.orderapp.repository.CustomerRepository;
 import com.ordermanagement.orderapp.repository.OrderRepository;
 import com.ordermanagement.orderapp.repository.ProductRepository;
+import com.ordermanagement.orderapp.support.RecordingStatementInspector;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,13 +20,20 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
 
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -51,6 +63,9 @@ class OrderControllerIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     private Customer testCustomer;
     private Product testProduct;
 
@@ -70,7 +85,7 @@ class OrderControllerIntegrationTest {
         // Create test product
         testProduct = new Product();
         testProduct.setName("Test Product");
-        testProduct.setPrice(new BigDecimal("100.00"));
+        testProduct.setPrice(Money.of("100.00"));
         testProduct.setIsActive(true);
         testProduct = productRepository.save(testProduct);
     }
@@ -110,6 +125,37 @@ class OrderControllerIntegrationTest {
                 .andExpect(jsonPath("$.length()").value(1));
     }
 
+    @Test
+    @DisplayName("Should page through orders with the continuation token")
+    void testGetAllOrders_KeysetPagination_Integration() throws Exception {
+        // Given - three orders
+        OrderCreatedDTO createDTO = new OrderCreatedDTO(testCustomer.getId(),
+                Arrays.asList(new OrderItemDTO(testProduct.getId(), 1)));
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createDTO)))
+                    .andExpect(status().isCreated());
+        }
+
+        // When & Then - two full pages share no order and the last one has no next cursor
+        String nextCursor = mockMvc.perform(get("/api/orders").param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(header().exists("X-Next-Cursor"))
+                .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+        mockMvc.perform(get("/api/orders/customer/" + testCustomer.getId())
+                        .param("limit", "2")
+                        .param("cursor", nextCursor))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(1))
+                .andExpect(header().doesNotExist("X-Next-Cursor"));
+
+        mockMvc.perform(get("/api/orders").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should return 400 when creating order with inactive product")
     void testCreateOrder_InactiveProduct_Integration() throws Exception {
@@ -126,4 +172,318 @@ class OrderControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(createDTO)))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Should use a fixed number of statements regardless of cart size")
+    void testCreateOrder_StatementCountIndependentOfCartSize() throws Exception {
+        for (int cartSize : new int[]{1, 10, 40}) {
+            // Given - a cart with one line per product plus a duplicated line
+            List<OrderItemDTO> items = new ArrayList<>();
+            for (int i = 0; i < cartSize; i++) {
+                Product product = new Product();
+                product.setName("Cart Product " + cartSize + "-" + i);
+                product.setPrice(Money.of("10.00"));
+                product.setIsActive(true);
+                items.add(new OrderItemDTO(productRepository.save(product).getId(), 1));
+            }
+            items.add(new OrderItemDTO(items.get(0).getId(), 1));
+            OrderCreatedDTO createDTO = new OrderCreatedDTO(testCustomer.getId(), items);
+
+            entityManager.flush();
+            entityManager.clear();
+            RecordingStatementInspector.reset();
+
+            // When & Then
+            mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createDTO)))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.items.length()").value(cartSize));
+
+            assertEquals(1, RecordingStatementInspector.countSelectsFrom("customer"));
+            assertEquals(1, RecordingStatementInspector.countSelectsFrom("product"));
+
+            // The cascaded items are flushed as one JDBC batch
+            entityManager.flush();
+            assertEquals(1, RecordingStatementInspector.countInsertsInto("order_item"));
+        }
+    }
+
+    @Test
+    @DisplayName("Should answer revalidation of an unchanged order with 304 until anything it shows changes")
+    void testGetOrder_ConditionalGet_Integration() throws Exception {
+        // Given
+        OrderCreatedDTO createDTO = new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 1)));
+        String created = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long orderId = objectMapper.readTree(created).get("id").asLong();
+
+        MockHttpServletResponse first = mockMvc.perform(get("/api/orders/" + orderId))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse();
+        String eTag = first.getHeader("ETag");
+        String lastModified = first.getHeader("Last-Modified");
+
+        // When & Then - the current version is answered from the version lookup alone
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.reset();
+        mockMvc.perform(get("/api/orders/" + orderId).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+        assertEquals(1, RecordingStatementInspector.countSelects());
+        mockMvc.perform(get("/api/orders/" + orderId).header("If-Modified-Since", lastModified))
+                .andExpect(status().isNotModified());
+
+        // When & Then - renaming a product of the order changes the order's version
+        Product renamed = new Product();
+        renamed.setName("Renamed Product");
+        renamed.setPrice(Money.of("100.00"));
+        renamed.setIsActive(true);
+        mockMvc.perform(put("/api/products/" + testProduct.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(renamed)))
+                .andExpect(status().isOk());
+        String renamedETag = mockMvc.perform(get("/api/orders/" + orderId).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].productName").value("Renamed Product"))
+                .andReturn().getResponse().getHeader("ETag");
+        assertNotEquals(eTag, renamedETag);
+
+        // When & Then - so does a status change
+        mockMvc.perform(patch("/api/orders/" + orderId + "/status").param("status", "CONFIRMED"))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/orders/" + orderId).header("If-None-Match", renamedETag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CONFIRMED"));
+    }
+
+    @Test
+    @DisplayName("Should read orders with a bounded number of statements")
+    void testReadOrders_StatementCount_Integration() throws Exception {
+        // Given - three orders of two lines each, with distinct products
+        Long orderId = null;
+        for (int i = 0; i < 3; i++) {
+            Product other = new Product();
+            other.setName("Other Product " + i);
+            other.setPrice(Money.of("5.00"));
+            other.setIsActive(true);
+            other = productRepository.save(other);
+
+            OrderCreatedDTO createDTO = new OrderCreatedDTO(testCustomer.getId(), Arrays.asList(
+                    new OrderItemDTO(testProduct.getId(), 1),
+                    new OrderItemDTO(other.getId(), 2)));
+            String created = mockMvc.perform(post("/api/orders")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createDTO)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            orderId = objectMapper.readTree(created).get("id").asLong();
+        }
+
+        // When & Then - a page costs one query for orders and customers plus one for items and products
+        assertSelectCount(2, get("/api/orders"));
+        assertSelectCount(2, get("/api/orders/customer/" + testCustomer.getId()));
+        assertSelectCount(1, get("/api/orders/" + orderId));
+    }
+
+    private void assertSelectCount(long expected, MockHttpServletRequestBuilder request) throws Exception {
+        entityManager.flush();
+        entityManager.clear();
+        RecordingStatementInspector.reset();
+
+        mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$..items[*].productName").isNotEmpty());
+
+        assertEquals(expected, RecordingStatementInspector.countSelects());
+    }
+
+    @Test
+    @DisplayName("Should report every missing or inactive product in one error")
+    void testCreateOrder_AllInvalidProductsReported_Integration() throws Exception {
+        // Given
+        testProduct.setIsActive(false);
+        productRepository.save(testProduct);
+
+        OrderCreatedDTO createDTO = new OrderCreatedDTO(testCustomer.getId(), Arrays.asList(
+                new OrderItemDTO(testProduct.getId(), 1),
+                new OrderItemDTO(-1L, 1)));
+
+        // When & Then
+        mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value(
+                        "Product is not active: Test Product; Product not found with id: -1"));
+    }
+
+    @Test
+    @DisplayName("Should move listed orders and report each outcome")
+    void testUpdateOrderStatuses_ByIds_Integration() throws Exception {
+        // Given
+        Long pending = createOrder();
+        Long shipped = createOrder();
+        mockMvc.perform(patch("/api/orders/status").contentType(MediaType.APPLICATION_JSON)
+                        .content(statusRequest(List.of(shipped), null, "CONFIRMED")))
+                .andExpect(status().isOk());
+        for (String next : List.of("PROCESSING", "SHIPPED")) {
+            mockMvc.perform(patch("/api/orders/" + shipped + "/status").param("status", next))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.status").value(next))
+                    .andExpect(jsonPath("$.items[0].productName").value("Test Product"));
+        }
+
+        // When & Then
+        mockMvc.perform(patch("/api/orders/status").contentType(MediaType.APPLICATION_JSON)
+                        .content(statusRequest(List.of(pending, shipped, -1L), null, "CANCELLED")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.status").value("CANCELLED"))
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.outcomes[0].outcome").value("UPDATED"))
+                .andExpect(jsonPath("$.outcomes[0].previousStatus").value("PENDING"))
+                .andExpect(jsonPath("$.outcomes[1].outcome").value("ILLEGAL_TRANSITION"))
+                .andExpect(jsonPath("$.outcomes[1].previousStatus").value("SHIPPED"))
+                .andExpect(jsonPath("$.outcomes[2].outcome").value("NOT_FOUND"));
+
+        mockMvc.perform(get("/api/orders/" + pending))
+                .andExpect(jsonPath("$.status").value("CANCELLED"));
+    }
+
+    @Test
+    @DisplayName("Should move every order matching the filter")
+    void testUpdateOrderStatuses_ByFilter_Integration() throws Exception {
+        // Given
+        Long first = createOrder();
+        Long second = createOrder();
+
+        // When & Then
+        mockMvc.perform(patch("/api/orders/status").contentType(MediaType.APPLICATION_JSON)
+                        .content(statusRequest(null, "PENDING", "CONFIRMED")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(2))
+                .andExpect(jsonPath("$.outcomes[*].id").value(containsInAnyOrder(
+                        first.intValue(), second.intValue())));
+
+        mockMvc.perform(patch("/api/orders/status").contentType(MediaType.APPLICATION_JSON)
+                        .content(statusRequest(null, "CONFIRMED", "DELIVERED")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cannot change order status from CONFIRMED to DELIVERED"));
+    }
+
+    @Test
+    @DisplayName("Should reject a single status change that is not allowed")
+    void testUpdateOrderStatus_IllegalTransition_Integration() throws Exception {
+        // Given
+        Long orderId = createOrder();
+
+        // When & Then
+        mockMvc.perform(patch("/api/orders/" + orderId + "/status").param("status", "DELIVERED"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Cannot change order status from PENDING to DELIVERED"));
+    }
+
+    @Test
+    @DisplayName("Should create an order once per Idempotency-Key and replay it to retries")
+    void testCreateOrder_IdempotencyKey_Integration() throws Exception {
+        // Given
+        String key = UUID.randomUUID().toString();
+        String body = objectMapper.writeValueAsString(new OrderCreatedDTO(testCustomer.getId(),
+                List.of(new OrderItemDTO(testProduct.getId(), 2))));
+        String created = mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "false"))
+                .andReturn().getResponse().getContentAsString();
+        long orderId = objectMapper.readTree(created).get("id").asLong();
+
+        // When & Then - the retry gets the same order without reading the order tables
+        RecordingStatementInspector.reset();
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value(orderId))
+                .andExpect(jsonPath("$.totalAmount").value(200.00))
+                .andExpect(jsonPath("$.items[0].quantity").value(2));
+        assertEquals(0, RecordingStatementInspector.countSelectsFrom("orders"));
+        assertEquals(1, orderRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should delete an order reading only the order and its items")
+    void testDeleteOrder_Integration() throws Exception {
+        // Given
+        String created = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderCreatedDTO(testCustomer.getId(),
+                                List.of(new OrderItemDTO(testProduct.getId(), 2))))))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        long orderId = objectMapper.readTree(created).get("id").asLong();
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        RecordingStatementInspector.reset();
+        mockMvc.perform(delete("/api/orders/" + orderId))
+                .andExpect(status().isNoContent());
+        entityManager.flush();
+
+        // Then
+        assertEquals(2, RecordingStatementInspector.countSelects());
+        assertEquals(0, RecordingStatementInspector.countSelectsFrom("customer"));
+        assertEquals(1, RecordingStatementInspector.countSelectsFrom("order_item"));
+        assertEquals(0, orderRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject an Idempotency-Key reused for a different order")
+    void testCreateOrder_IdempotencyKeyReused_Integration() throws Exception {
+        // Given
+        String key = UUID.randomUUID().toString();
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderCreatedDTO(testCustomer.getId(),
+                                List.of(new OrderItemDTO(testProduct.getId(), 1))))))
+                .andExpect(status().isCreated());
+
+        // When & Then
+        mockMvc.perform(post("/api/orders")
+                        .header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new OrderCreatedDTO(testCustomer.getId(),
+                                List.of(new OrderItemDTO(testProduct.getId(), 5))))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Idempotency-Key " + key + " was already used for a different order"));
+        assertEquals(1, orderRepository.count());
+    }
+
+    private Long createOrder() throws Exception {
+        OrderCreatedDTO createDTO = new OrderCreatedDTO(testCustomer.getId(),
+                List.of(new OrderItemDTO(testProduct.getId(), 1)));
+        String created = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createDTO)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(created).get("id").asLong();
+    }
+
+    private String statusRequest(List<Long> ids, String currentStatus, String status) throws Exception {
+        return objectMapper.writeValueAsString(new OrderStatusUpdateDTO(ids,
+                currentStatus == null ? null : Order.OrderStatus.valueOf(currentStatus), null,
+                Order.OrderStatus.valueOf(status)));
+    }
 }
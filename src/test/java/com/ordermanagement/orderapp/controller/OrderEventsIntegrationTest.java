@@ -0,0 +1,235 @@
+package com.ordermanagement.orderapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderEventRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the order event stream.
+ * Not transactional: events are read by the stream's reader thread, which must see committed data.
+ */
+@SpringBootTest(properties = {
+        "orderapp.order-events.poll-interval=50ms",
+        "orderapp.order-events.gap-timeout=200ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Order Events Integration Tests")
+class OrderEventsIntegrationTest {
+
+    private static final long STREAM_TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private OrderEventRepository orderEventRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private final List<MvcResult> streams = new ArrayList<>();
+    private Customer testCustomer;
+    private Customer otherCustomer;
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testCustomer = saveCustomer("Events Customer", "events@example.com");
+        otherCustomer = saveCustomer("Other Events Customer", "other.events@example.com");
+
+        testProduct = new Product();
+        testProduct.setName("Events Product");
+        testProduct.setPrice(Money.of("50.00"));
+        testProduct.setIsActive(true);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    /**
+     * Disconnects the test's clients, so the reader goes idle and stops issuing queries.
+     */
+    @AfterEach
+    void tearDown() {
+        streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+        streams.clear();
+    }
+
+    @Test
+    @DisplayName("Should stream every change of the customer's orders")
+    void testCustomerStream_Integration() throws Exception {
+        // Given
+        MockHttpServletResponse stream = subscribe(get("/api/orders/events")
+                .header("Last-Event-ID", orderEventRepository.findMaxId())
+                .param("customerId", String.valueOf(testCustomer.getId())));
+
+        // When
+        createOrder(otherCustomer);
+        long orderId = createOrder(testCustomer);
+        mockMvc.perform(patch("/api/orders/{id}/status", orderId).param("status", "CONFIRMED"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/orders/{id}/status", orderId).param("status", "CANCELLED"))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/api/orders/{id}", orderId))
+                .andExpect(status().isNoContent());
+
+        // Then
+        List<JsonNode> events = awaitEvents(stream, 4);
+        assertEquals(List.of("CREATED", "STATUS_CHANGED", "STATUS_CHANGED", "DELETED"),
+                events.stream().map(event -> event.get("type").asText()).toList());
+        assertEquals(List.of("PENDING", "CONFIRMED", "CANCELLED", "CANCELLED"),
+                events.stream().map(event -> event.get("status").asText()).toList());
+        events.forEach(event -> {
+            assertEquals(orderId, event.get("orderId").asLong());
+            assertEquals(testCustomer.getId(), event.get("customerId").asLong());
+        });
+    }
+
+    @Test
+    @DisplayName("Should resume after Last-Event-ID with only the requested status")
+    void testResumeWithStatusFilter_Integration() throws Exception {
+        // Given - changes made while the client was disconnected
+        long lastEventId = orderEventRepository.findMaxId();
+        long cancelled = createOrder(testCustomer);
+        long confirmed = createOrder(otherCustomer);
+        mockMvc.perform(patch("/api/orders/{id}/status", cancelled).param("status", "CANCELLED"))
+                .andExpect(status().isOk());
+        mockMvc.perform(patch("/api/orders/{id}/status", confirmed).param("status", "CONFIRMED"))
+                .andExpect(status().isOk());
+
+        // When
+        MockHttpServletResponse stream = subscribe(get("/api/orders/events")
+                .header("Last-Event-ID", lastEventId)
+                .param("status", "CANCELLED"));
+        mockMvc.perform(delete("/api/orders/{id}", cancelled))
+                .andExpect(status().isNoContent());
+
+        // Then
+        List<JsonNode> events = awaitEvents(stream, 2);
+        assertEquals(List.of("STATUS_CHANGED", "DELETED"),
+                events.stream().map(event -> event.get("type").asText()).toList());
+        events.forEach(event -> assertEquals(cancelled, event.get("orderId").asLong()));
+        assertTrue(events.get(0).get("id").asLong() > lastEventId);
+        assertTrue(events.get(1).get("id").asLong() > events.get(0).get("id").asLong());
+    }
+
+    @Test
+    @DisplayName("Should stream the deletion of every order deleted with its customer")
+    void testDeleteCustomer_Integration() throws Exception {
+        // Given
+        long pending = createOrder(testCustomer);
+        long confirmed = createOrder(testCustomer);
+        mockMvc.perform(patch("/api/orders/{id}/status", confirmed).param("status", "CONFIRMED"))
+                .andExpect(status().isOk());
+        createOrder(otherCustomer);
+        MockHttpServletResponse stream = subscribe(get("/api/orders/events")
+                .header("Last-Event-ID", orderEventRepository.findMaxId()));
+
+        // When
+        mockMvc.perform(delete("/api/customers/{id}", testCustomer.getId()))
+                .andExpect(status().isNoContent());
+
+        // Then
+        List<JsonNode> events = awaitEvents(stream, 2);
+        assertEquals(List.of("DELETED", "DELETED"), events.stream().map(event -> event.get("type").asText()).toList());
+        assertEquals(List.of(pending, confirmed), events.stream().map(event -> event.get("orderId").asLong()).toList());
+        assertEquals(List.of("PENDING", "CONFIRMED"), events.stream().map(event -> event.get("status").asText()).toList());
+        assertFalse(orderRepository.existsById(pending));
+    }
+
+    private Customer saveCustomer(String name, String email) {
+        Customer customer = new Customer();
+        customer.setName(name);
+        customer.setEmail(email);
+        customer.setPhone(3312345678L);
+        return customerRepository.save(customer);
+    }
+
+    private long createOrder(Customer customer) throws Exception {
+        OrderCreatedDTO order = new OrderCreatedDTO(customer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 1)));
+        String body = mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(order)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body).get("id").asLong();
+    }
+
+    private MockHttpServletResponse subscribe(MockHttpServletRequestBuilder request) throws Exception {
+        MvcResult stream = mockMvc.perform(request.accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        streams.add(stream);
+        return stream.getResponse();
+    }
+
+    /**
+     * Waits until the stream holds the expected number of events and checks that each event's
+     * SSE ID matches its outbox ID.
+     */
+    private List<JsonNode> awaitEvents(MockHttpServletResponse stream, int expected) throws Exception {
+        long deadline = System.currentTimeMillis() + STREAM_TIMEOUT_MILLIS;
+        List<JsonNode> events;
+        do {
+            Thread.sleep(20);
+            events = parse(stream.getContentAsString());
+        } while (events.size() < expected && System.currentTimeMillis() < deadline);
+        assertEquals(expected, events.size(), stream.getContentAsString());
+        return events;
+    }
+
+    private List<JsonNode> parse(String content) throws Exception {
+        List<JsonNode> events = new ArrayList<>();
+        String id = null;
+        for (String line : content.split("\n")) {
+            if (line.startsWith("id:")) {
+                id = line.substring(3);
+            } else if (line.startsWith("data:")) {
+                JsonNode event = objectMapper.readTree(line.substring(5));
+                assertEquals(id, event.get("id").asText());
+                events.add(event);
+            }
+        }
+        return events;
+    }
+}
@@ -0,0 +1,139 @@
+package com.ordermanagement.orderapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderIntakeRecordRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the asynchronous order intake.
+ * Not transactional: orders are created by the writer thread, which must see committed data.
+ */
+@SpringBootTest(properties = "orderapp.orders.intake.enabled=true")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Order Intake Integration Tests")
+class OrderIntakeIntegrationTest {
+
+    private static final long POLL_TIMEOUT_MILLIS = 10_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private OrderIntakeRecordRepository orderIntakeRecordRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Customer testCustomer;
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderIntakeRecordRepository.deleteAll();
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testCustomer = new Customer();
+        testCustomer.setName("Intake Customer");
+        testCustomer.setEmail("intake@example.com");
+        testCustomer.setPhone(3312345678L);
+        testCustomer = customerRepository.save(testCustomer);
+
+        testProduct = new Product();
+        testProduct.setName("Intake Product");
+        testProduct.setPrice(Money.of("50.00"));
+        testProduct.setIsActive(true);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    @Test
+    @DisplayName("Should queue orders with 202 and create them in the background")
+    void testQueuedOrders_Integration() throws Exception {
+        // When
+        String created = submit(new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 2))));
+        String failed = submit(new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(-1L, 1))));
+
+        // Then
+        JsonNode createdIntake = awaitOutcome(created);
+        assertEquals("CREATED", createdIntake.get("status").asText());
+        assertEquals(createdIntake.get("orderId").asLong(), createdIntake.get("order").get("id").asLong());
+        assertEquals(100.00, createdIntake.get("order").get("totalAmount").asDouble());
+
+        JsonNode failedIntake = awaitOutcome(failed);
+        assertEquals("FAILED", failedIntake.get("status").asText());
+        assertEquals("Product not found with id: -1", failedIntake.get("error").asText());
+
+        assertEquals(1, orderRepository.count());
+        assertEquals(createdIntake.get("orderId").asLong(),
+                orderIntakeRecordRepository.findById(createdIntake.get("trackingId").asText()).orElseThrow().getOrderId());
+        assertEquals(2, orderIntakeRecordRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown tracking ID")
+    void testUnknownTrackingId_Integration() throws Exception {
+        mockMvc.perform(get("/api/orders/intake/unknown"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Order intake not found with tracking id: unknown"));
+    }
+
+    /**
+     * @return Location of the queued order
+     */
+    private String submit(OrderCreatedDTO order) throws Exception {
+        return mockMvc.perform(post("/api/orders")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(order)))
+                .andExpect(status().isAccepted())
+                .andExpect(jsonPath("$.status").value("QUEUED"))
+                .andReturn().getResponse().getHeader("Location");
+    }
+
+    private JsonNode awaitOutcome(String location) throws Exception {
+        long deadline = System.currentTimeMillis() + POLL_TIMEOUT_MILLIS;
+        while (true) {
+            String body = mockMvc.perform(get(location))
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+            JsonNode intake = objectMapper.readTree(body);
+            if (!"QUEUED".equals(intake.get("status").asText()) || System.currentTimeMillis() > deadline) {
+                return intake;
+            }
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.ordermanagement.orderapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Integration tests for the streaming order endpoints (bulk NDJSON ingestion and export).
+ * Not transactional: responses are streamed from another thread, which must see committed data.
+ */
+@SpringBootTest(properties = "orderapp.orders.batch.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Order Streaming Integration Tests")
+class OrderStreamingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Customer testCustomer;
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testCustomer = new Customer();
+        testCustomer.setName("Batch Customer");
+        testCustomer.setEmail("batch@example.com");
+        testCustomer.setPhone(3312345678L);
+        testCustomer = customerRepository.save(testCustomer);
+
+        testProduct = new Product();
+        testProduct.setName("Batch Product");
+        testProduct.setPrice(Money.of("50.00"));
+        testProduct.setIsActive(true);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    @Test
+    @DisplayName("Should stream one result per input line")
+    void testCreateOrdersBatch_Integration() throws Exception {
+        // Given - valid, unknown product, malformed, blank, invalid and valid lines
+        String body = String.join("\n",
+                json(new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 1)))),
+                json(new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(-1L, 1)))),
+                "{not json",
+                "",
+                json(new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 0)))),
+                json(new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 3)))));
+
+        // When
+        MvcResult started = mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofMinutes(30).toMillis(), started.getRequest().getAsyncContext().getTimeout());
+
+        String response = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        // Then
+        List<JsonNode> results = response.lines().map(this::parse).toList();
+        assertEquals(5, results.size());
+
+        assertEquals(1, results.get(0).get("line").asLong());
+        assertTrue(results.get(0).hasNonNull("orderId"));
+        assertEquals("Product not found with id: -1", results.get(1).get("error").asText());
+        assertTrue(results.get(2).get("error").asText().startsWith("Malformed order"));
+        assertEquals(5, results.get(3).get("line").asLong());
+        assertTrue(results.get(3).get("error").asText().contains("[0].quantity: Quantity is required"));
+        assertEquals(6, results.get(4).get("line").asLong());
+        assertTrue(results.get(4).hasNonNull("orderId"));
+
+        assertEquals(2, orderRepository.count());
+    }
+
+    @Test
+    @DisplayName("Should export every order as one streamed JSON array")
+    void testExportOrders_Integration() throws Exception {
+        // Given
+        String body = String.join("\n",
+                json(new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 1)))),
+                json(new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 2)))));
+        MvcResult ingested = mockMvc.perform(post("/api/orders/batch")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(ingested)).andExpect(status().isOk());
+
+        // When & Then
+        MvcResult started = mockMvc.perform(get("/api/orders/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofHours(2).toMillis(), started.getRequest().getAsyncContext().getTimeout());
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].customerName").value("Batch Customer"))
+                .andExpect(jsonPath("$[0].items[0].quantity").value(1))
+                .andExpect(jsonPath("$[1].totalAmount").value(100.00));
+    }
+
+    private String json(Object value) throws Exception {
+        return objectMapper.writeValueAsString(value);
+    }
+
+    private JsonNode parse(String line) {
+        try {
+            return objectMapper.readTree(line);
+        } catch (Exception ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
@@ -2,7 +2,10 @@ package com.ordermanagement.orderapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
 import com.ordermanagement.orderapp.repository.ProductRepository;
+import com.ordermanagement.orderapp.support.RecordingStatementInspector;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,8 +17,8 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.math.BigDecimal;
-
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,6 +42,9 @@ class ProductControllerIntegrationTest {
     @Autowired
     private ProductRepository productRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @BeforeEach
     void setUp() {
         productRepository.deleteAll();
@@ -51,7 +57,7 @@ class ProductControllerIntegrationTest {
         Product product = new Product();
         product.setName("Test Laptop");
         product.setDescription("Test Description");
-        product.setPrice(new BigDecimal("25999.99"));
+        product.setPrice(Money.of("25999.99"));
         product.setIsActive(true);
 
         // When & Then
@@ -63,18 +69,27 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.price").value(25999.99));
     }
 
+    @Test
+    @DisplayName("Should return 400 for a price with more than two decimal places")
+    void testCreateProduct_InvalidPrice_Integration() throws Exception {
+        mockMvc.perform(post("/api/products")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"name\": \"Test Laptop\", \"price\": 10.999, \"isActive\": true}"))
+                .andExpect(status().isBadRequest());
+    }
+
     @Test
     @DisplayName("Should get all products via API")
     void testGetAllProducts_Integration() throws Exception {
         // Given
         Product product1 = new Product();
         product1.setName("Product 1");
-        product1.setPrice(new BigDecimal("100.00"));
+        product1.setPrice(Money.of("100.00"));
         product1.setIsActive(true);
 
         Product product2 = new Product();
         product2.setName("Product 2");
-        product2.setPrice(new BigDecimal("200.00"));
+        product2.setPrice(Money.of("200.00"));
         product2.setIsActive(true);
 
         productRepository.save(product1);
@@ -92,13 +107,13 @@ class ProductControllerIntegrationTest {
         // Given
         Product product = new Product();
         product.setName("Original Product");
-        product.setPrice(new BigDecimal("1000.00"));
+        product.setPrice(Money.of("1000.00"));
         product.setIsActive(true);
         Product saved = productRepository.save(product);
 
         Product updatedProduct = new Product();
         updatedProduct.setName("Updated Product");
-        updatedProduct.setPrice(new BigDecimal("1500.00"));
+        updatedProduct.setPrice(Money.of("1500.00"));
         updatedProduct.setIsActive(true);
 
         // When & Then
@@ -109,4 +124,120 @@ class ProductControllerIntegrationTest {
                 .andExpect(jsonPath("$.name").value("Updated Product"))
                 .andExpect(jsonPath("$.price").value(1500.00));
     }
+
+    @Test
+    @DisplayName("Should serve repeated reads from the product cache until the product changes")
+    void testGetProductById_Cached_Integration() throws Exception {
+        // Given
+        Product product = new Product();
+        product.setName("Cached Product");
+        product.setPrice(Money.of("100.00"));
+        product.setIsActive(true);
+        Product saved = productRepository.saveAndFlush(product);
+
+        mockMvc.perform(get("/api/products/" + saved.getId()))
+                .andExpect(status().isOk());
+
+        // When & Then - the second read does not query the database
+        RecordingStatementInspector.reset();
+        mockMvc.perform(get("/api/products/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(100.00));
+        assertEquals(0, RecordingStatementInspector.countSelectsFrom("product"));
+
+        // When & Then - an update drops the cached copy
+        Product updatedProduct = new Product();
+        updatedProduct.setName("Cached Product");
+        updatedProduct.setPrice(Money.of("120.00"));
+        updatedProduct.setIsActive(false);
+        mockMvc.perform(put("/api/products/" + saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedProduct)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/api/products/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.price").value(120.00))
+                .andExpect(jsonPath("$.isActive").value(false));
+
+        mockMvc.perform(get("/api/products/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.hitCount").isNumber())
+                .andExpect(jsonPath("$.missCount").isNumber())
+                .andExpect(jsonPath("$.evictionCount").isNumber());
+    }
+
+    @Test
+    @DisplayName("Should answer revalidation of an unchanged product with 304 until it changes")
+    void testGetProductById_ConditionalGet_Integration() throws Exception {
+        // Given
+        Product product = new Product();
+        product.setName("Versioned Product");
+        product.setPrice(Money.of("100.00"));
+        product.setIsActive(true);
+        Product saved = productRepository.saveAndFlush(product);
+
+        String eTag = mockMvc.perform(get("/api/products/" + saved.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("Last-Modified"))
+                .andExpect(header().string("Cache-Control", "no-cache"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then - the current version is not sent again
+        mockMvc.perform(get("/api/products/" + saved.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag))
+                .andExpect(content().string(""));
+
+        // When & Then - a change makes the old version outdated
+        Product updatedProduct = new Product();
+        updatedProduct.setName("Versioned Product");
+        updatedProduct.setPrice(Money.of("120.00"));
+        updatedProduct.setIsActive(true);
+        mockMvc.perform(put("/api/products/" + saved.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(updatedProduct)))
+                .andExpect(status().isOk());
+        entityManager.flush(); // stamps updated_at, as the commit of the request would
+
+        mockMvc.perform(get("/api/products/" + saved.getId()).header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.price").value(120.00));
+    }
+
+    @Test
+    @DisplayName("Should version the product list with the catalog")
+    void testGetAllProducts_ConditionalGet_Integration() throws Exception {
+        // Given
+        Product first = new Product();
+        first.setName("Listed Product 1");
+        first.setPrice(Money.of("100.00"));
+        first.setIsActive(true);
+        Product second = new Product();
+        second.setName("Listed Product 2");
+        second.setPrice(Money.of("200.00"));
+        second.setIsActive(true);
+        productRepository.save(first);
+        second = productRepository.saveAndFlush(second);
+
+        String eTag = mockMvc.perform(get("/api/products"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("Last-Modified"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When & Then - an unchanged catalog is answered from the version lookup alone
+        RecordingStatementInspector.reset();
+        mockMvc.perform(get("/api/products").header("If-None-Match", eTag))
+                .andExpect(status().isNotModified());
+        assertEquals(1, RecordingStatementInspector.countSelects());
+
+        // When & Then - deleting a product changes the version
+        mockMvc.perform(delete("/api/products/" + second.getId()))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(get("/api/products").header("If-None-Match", eTag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(eTag)))
+                .andExpect(jsonPath("$.length()").value(1));
+    }
 }
@@ -0,0 +1,263 @@
+package com.ordermanagement.orderapp.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ordermanagement.orderapp.config.ReplicaRoutingContext;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import com.ordermanagement.orderapp.entity.Customer;
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.repository.OrderEventRepository;
+import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import com.ordermanagement.orderapp.service.CustomerService;
+import com.ordermanagement.orderapp.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.NestedTestConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for read-replica routing.
+ * The replica pool connects to the test database itself, standing in for a replica that is never behind,
+ * so routing is observed through the read counters. Not transactional: a test transaction would hold
+ * a primary connection that every read joins.
+ * {@link StaleReplica} runs against a replica database of its own that lags behind the primary.
+ */
+@SpringBootTest(properties = {
+        "orderapp.datasource.replicas.enabled=true",
+        "orderapp.datasource.replicas.urls=jdbc:h2:mem:testdb",
+        "orderapp.datasource.replicas.lag-query=",
+        "orderapp.datasource.replicas.lag-check-interval=1h",
+        "spring.jpa.open-in-view=false"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@DisplayName("Replica Routing Integration Tests")
+class ReplicaRoutingIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CustomerService customerService;
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductRepository productRepository;
+
+    private Customer testCustomer;
+    private Product testProduct;
+
+    @BeforeEach
+    void setUp() {
+        orderRepository.deleteAll();
+        customerRepository.deleteAll();
+        productRepository.deleteAll();
+
+        testCustomer = new Customer();
+        testCustomer.setName("Replica Customer");
+        testCustomer.setEmail("replica@example.com");
+        testCustomer.setPhone(3312345678L);
+        testCustomer = customerRepository.save(testCustomer);
+
+        testProduct = new Product();
+        testProduct.setName("Replica Product");
+        testProduct.setPrice(Money.of("10.00"));
+        testProduct.setIsActive(true);
+        testProduct = productRepository.save(testProduct);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReplicaRoutingContext.end();
+    }
+
+    @Test
+    @DisplayName("Should read from the replica when the request has not written")
+    void testReadOnlyRequest_UsesReplica() throws Exception {
+        // Given
+        double replicaReads = reads("replica-1");
+        double primaryReads = reads("primary");
+
+        // When
+        mockMvc.perform(get("/api/customers/{id}", testCustomer.getId()))
+                .andExpect(status().isOk());
+
+        // Then
+        assertEquals(replicaReads + 1, reads("replica-1"));
+        assertEquals(primaryReads, reads("primary"));
+    }
+
+    @Test
+    @DisplayName("Should read from the primary after the request has created an order")
+    void testReadAfterWrite_UsesPrimary() {
+        // Given
+        ReplicaRoutingContext.begin();
+        customerService.getCustomerById(testCustomer.getId());
+        double replicaReads = reads("replica-1");
+        double primaryReads = reads("primary");
+
+        // When
+        OrderResponseDTO created = orderService.createOrder(
+                new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 1))));
+        OrderResponseDTO read = orderService.getOrderById(created.getId());
+
+        // Then
+        assertEquals(created.getId(), read.getId());
+        assertEquals(replicaReads, reads("replica-1"));
+        assertEquals(primaryReads + 1, reads("primary"));
+    }
+
+    @Test
+    @DisplayName("Should write to the primary after the request has read from the replica")
+    void testWriteAfterRead_UsesPrimary() {
+        // Given
+        ReplicaRoutingContext.begin();
+        double replicaReads = reads("replica-1");
+        customerService.getCustomerById(testCustomer.getId());
+        assertEquals(replicaReads + 1, reads("replica-1"));
+        assertFalse(ReplicaRoutingContext.isPinnedToPrimary());
+
+        // When
+        OrderResponseDTO created = orderService.createOrder(
+                new OrderCreatedDTO(testCustomer.getId(), List.of(new OrderItemDTO(testProduct.getId(), 1))));
+
+        // Then
+        assertTrue(ReplicaRoutingContext.isPinnedToPrimary());
+        assertTrue(orderRepository.existsById(created.getId()));
+    }
+
+    private double reads(String target) {
+        return meterRegistry.get("orderapp.datasource.reads").tag("target", target).counter().count();
+    }
+
+    /**
+     * The replica is a separate database holding only the first of the outbox events, as a
+     * replica that has not yet applied the others would.
+     */
+    @Nested
+    @NestedTestConfiguration(NestedTestConfiguration.EnclosingConfiguration.OVERRIDE)
+    @SpringBootTest(properties = {
+            "orderapp.datasource.replicas.enabled=true",
+            "orderapp.datasource.replicas.urls=" + StaleReplica.URL,
+            "orderapp.datasource.replicas.lag-query=",
+            "orderapp.datasource.replicas.lag-check-interval=1h",
+            "orderapp.order-events.poll-interval=50ms",
+            "spring.jpa.open-in-view=false"
+    })
+    @AutoConfigureMockMvc
+    @ActiveProfiles("test")
+    @DisplayName("Stale Replica")
+    class StaleReplica {
+
+        static final String URL = "jdbc:h2:mem:stale-replica;DB_CLOSE_DELAY=-1";
+        private static final long STREAM_TIMEOUT_MILLIS = 10_000;
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @Autowired
+        private ObjectMapper objectMapper;
+
+        @Autowired
+        private OrderService orderService;
+
+        @Autowired
+        private OrderEventRepository orderEventRepository;
+
+        private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(URL, "sa", ""));
+        private final List<MvcResult> streams = new ArrayList<>();
+
+        @BeforeEach
+        void setUp() {
+            replica.execute("DROP TABLE IF EXISTS order_event");
+            replica.execute("CREATE TABLE order_event (id BIGINT PRIMARY KEY, order_id BIGINT NOT NULL, " +
+                    "customer_id BIGINT NOT NULL, type VARCHAR(20) NOT NULL, status VARCHAR(20) NOT NULL, " +
+                    "created_at TIMESTAMP NOT NULL)");
+        }
+
+        @AfterEach
+        void tearDown() {
+            streams.forEach(stream -> stream.getRequest().getAsyncContext().complete());
+            streams.clear();
+        }
+
+        @Test
+        @DisplayName("Should resume from the primary without losing the events the replica lacks")
+        void testResume_ReadsOutboxFromPrimary() throws Exception {
+            // Given - three orders created on the primary, of which the replica has applied one
+            long lastEventId = orderEventRepository.findMaxId();
+            List<Long> orderIds = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                orderIds.add(orderService.createOrder(new OrderCreatedDTO(testCustomer.getId(),
+                        List.of(new OrderItemDTO(testProduct.getId(), 1)))).getId());
+            }
+            replica.update("INSERT INTO order_event (id, order_id, customer_id, type, status, created_at) " +
+                    "VALUES (?, ?, ?, 'CREATED', 'PENDING', CURRENT_TIMESTAMP)", lastEventId + 1, orderIds.get(0), testCustomer.getId());
+
+            // When
+            MvcResult stream = mockMvc.perform(get("/api/orders/events")
+                            .header("Last-Event-ID", lastEventId)
+                            .accept(MediaType.TEXT_EVENT_STREAM))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            streams.add(stream);
+
+            // Then
+            List<JsonNode> events = awaitEvents(stream.getResponse(), 3);
+            assertEquals(orderIds, events.stream().map(event -> event.get("orderId").asLong()).toList());
+        }
+
+        private List<JsonNode> awaitEvents(MockHttpServletResponse stream, int expected) throws Exception {
+            long deadline = System.currentTimeMillis() + STREAM_TIMEOUT_MILLIS;
+            List<JsonNode> events;
+            do {
+                Thread.sleep(20);
+                events = new ArrayList<>();
+                for (String line : stream.getContentAsString().split("\n")) {
+                    if (line.startsWith("data:")) {
+                        events.add(objectMapper.readTree(line.substring(5)));
+                    }
+                }
+            } while (events.size() < expected && System.currentTimeMillis() < deadline);
+            assertEquals(expected, events.size(), stream.getContentAsString());
+            return events;
+        }
+    }
+}
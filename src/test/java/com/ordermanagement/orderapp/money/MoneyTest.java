@@ -0,0 +1,87 @@
+package com.ordermanagement.orderapp.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.JsonGeneratorDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.ValueInstantiationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for Money
+ * Tests arithmetic, conversions and JSON mapping
+ */
+@DisplayName("Money Unit Tests")
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    @DisplayName("Should add and multiply exactly")
+    void testArithmetic() {
+        Money price = Money.of("25999.99");
+
+        assertEquals(Money.of("129999.95"), price.times(5));
+        assertEquals(Money.of("26000.00"), price.plus(Money.ofCents(1)));
+        assertEquals(new BigDecimal("129999.95"), price.times(5).toBigDecimal());
+    }
+
+    @Test
+    @DisplayName("Should throw instead of overflowing")
+    void testOverflow() {
+        Money max = Money.ofCents(Long.MAX_VALUE);
+
+        assertThrows(ArithmeticException.class, () -> max.plus(Money.ofCents(1)));
+        assertThrows(ArithmeticException.class, () -> max.times(2));
+    }
+
+    @Test
+    @DisplayName("Should reject more than two decimal places")
+    void testScale() {
+        assertEquals(Money.ofCents(1050), Money.of("10.5"));
+        assertThrows(IllegalArgumentException.class, () -> Money.of("10.999"));
+    }
+
+    @Test
+    @DisplayName("Should format with two decimal places")
+    void testToString() {
+        assertEquals("0.00", Money.ZERO.toString());
+        assertEquals("0.05", Money.ofCents(5).toString());
+        assertEquals("-12.30", Money.ofCents(-1230).toString());
+        assertEquals("92233720368547758.07", Money.ofCents(Long.MAX_VALUE).toString());
+    }
+
+    @Test
+    @DisplayName("Should read and write JSON numbers")
+    void testJson() throws Exception {
+        assertEquals("25999.99", objectMapper.writeValueAsString(Money.of("25999.99")));
+        assertEquals("100.00", objectMapper.writeValueAsString(Money.ofCents(10000)));
+        assertEquals(Money.of("25999.99"), objectMapper.readValue("25999.99", Money.class));
+        assertEquals(Money.of("100.00"), objectMapper.readValue("\"100\"", Money.class));
+        assertThrows(ValueInstantiationException.class, () -> objectMapper.readValue("1.001", Money.class));
+    }
+
+    @Test
+    @DisplayName("Should format JSON numbers from the cents when writing bytes")
+    void testJsonBytes() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        JsonGenerator bytes = objectMapper.getFactory().createGenerator(out);
+        JsonGenerator generator = new JsonGeneratorDelegate(bytes) {
+            @Override
+            public void writeNumber(BigDecimal value) {
+                fail("Wrote " + value + " as a BigDecimal");
+            }
+        };
+
+        objectMapper.writeValue(generator, Money.of("12.30"));
+
+        assertEquals("12.30", out.toString(StandardCharsets.UTF_8));
+        assertEquals("12.30", new String(objectMapper.writeValueAsBytes(Money.of("12.30")), StandardCharsets.UTF_8));
+    }
+}
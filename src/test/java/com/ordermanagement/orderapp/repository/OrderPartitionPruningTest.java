@@ -0,0 +1,162 @@
+package com.ordermanagement.orderapp.repository;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that PostgreSQL prunes the monthly partitions of orders and order_item for the
+ * date-bounded queries of the repositories, by reading the partitions each EXPLAIN plan scans.
+ * The statements mirror the SQL Hibernate generates for them; parameters are bound, as in the
+ * application, so the partitions are pruned when the plan is made.
+ * Needs the partitioned schema of database.sql in the dev database, so it is excluded from the
+ * default build; run it with {@code ./mvnw test -Dgroups=postgres -Dsurefire.excludedGroups=}.
+ * The plans are printed.
+ */
+@Tag("postgres")
+@SpringBootTest
+@ActiveProfiles("dev")
+@DisplayName("Order Partition Pruning Tests")
+class OrderPartitionPruningTest {
+
+    private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyy_MM");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final YearMonth current = YearMonth.now();
+
+    @Test
+    @DisplayName("Should scan one partition to refresh the rollups of an hour")
+    void testDateRange_ScansOneMonth() throws Exception {
+        LocalDateTime from = current.atDay(1).atTime(10, 0);
+
+        Set<String> scanned = scannedPartitions(
+                "SELECT DATE_TRUNC('hour', o.created_at), o.status, COUNT(*), COALESCE(SUM(o.total_amount), 0) " +
+                "FROM orders o WHERE o.created_at >= ? AND o.created_at < ? " +
+                "GROUP BY DATE_TRUNC('hour', o.created_at), o.status",
+                Timestamp.valueOf(from), Timestamp.valueOf(from.plusHours(1)));
+
+        assertEquals(Set.of(partition("orders", current)), scanned);
+    }
+
+    @Test
+    @DisplayName("Should scan the items of the same month only when joining them on the partition key")
+    void testDateRangeWithItems_ScansOneMonthOfEach() throws Exception {
+        LocalDateTime from = current.atDay(1).atStartOfDay();
+
+        Set<String> scanned = scannedPartitions(
+                "SELECT DATE_TRUNC('hour', o.created_at), i.product_id, SUM(i.quantity), SUM(i.quantity * i.unit_price) " +
+                "FROM orders o JOIN order_item i ON i.order_id = o.id AND i.order_created_at = o.created_at " +
+                "WHERE o.created_at >= ? AND o.created_at < ? AND o.status <> 'CANCELLED' " +
+                "GROUP BY DATE_TRUNC('hour', o.created_at), i.product_id",
+                Timestamp.valueOf(from), Timestamp.valueOf(from.plusDays(1)));
+
+        assertEquals(Set.of(partition("orders", current), partition("order_item", current)), scanned);
+    }
+
+    @Test
+    @DisplayName("Should scan one month of orders and items to read the rows of a page")
+    void testPageRows_ScansOneMonthOfEach() throws Exception {
+        LocalDateTime to = current.atDay(1).atTime(12, 0);
+
+        Set<String> scanned = scannedPartitions(
+                "SELECT o.id, c.id, i.id, p.id FROM orders o JOIN customer c ON c.id = o.customer_id " +
+                "LEFT JOIN order_item i ON i.order_id = o.id AND i.order_created_at = o.created_at " +
+                "LEFT JOIN product p ON p.id = i.product_id " +
+                "WHERE o.id IN (?, ?, ?) AND o.created_at BETWEEN ? AND ? " +
+                "ORDER BY o.created_at DESC, o.id DESC, i.id",
+                1L, 2L, 3L, Timestamp.valueOf(to.minusHours(1)), Timestamp.valueOf(to));
+
+        assertEquals(Set.of(partition("orders", current), partition("order_item", current)), scanned);
+    }
+
+    @Test
+    @DisplayName("Should skip the months after the cursor when paging back")
+    void testPageKeysAfter_SkipsLaterMonths() throws Exception {
+        YearMonth previous = current.minusMonths(1);
+        LocalDateTime cursor = previous.atDay(15).atStartOfDay();
+
+        Set<String> scanned = scannedPartitions(
+                "SELECT o.created_at, o.id FROM orders o " +
+                "WHERE o.created_at <= ? AND (o.created_at, o.id) < (?, ?) " +
+                "ORDER BY o.created_at DESC, o.id DESC FETCH FIRST 21 ROWS ONLY",
+                Timestamp.valueOf(cursor), Timestamp.valueOf(cursor), 1000L);
+
+        assertEquals(Set.of(), monthsFrom(current, scanned));
+        assertTrue(scanned.contains(partition("orders", previous)), "Scanned: " + scanned);
+    }
+
+    @Test
+    @DisplayName("Should skip the months after the bound when moving orders of a status")
+    void testStatusCreatedBefore_SkipsLaterMonths() throws Exception {
+        LocalDateTime createdBefore = current.minusMonths(1).atDay(1).atStartOfDay();
+
+        Set<String> scanned = scannedPartitions(
+                "SELECT o.id, o.customer_id, o.status, o.total_amount FROM orders o " +
+                "WHERE o.status = ? AND o.created_at < ? AND o.id > ? " +
+                "ORDER BY o.id FETCH FIRST 1000 ROWS ONLY FOR UPDATE",
+                "CONFIRMED", Timestamp.valueOf(createdBefore), 0L);
+
+        assertEquals(Set.of(), monthsFrom(current.minusMonths(1), scanned));
+    }
+
+    /**
+     * @return The partitions the plan of the statement scans
+     */
+    private Set<String> scannedPartitions(String sql, Object... args) throws Exception {
+        System.out.println(String.join("\n", jdbcTemplate.queryForList("EXPLAIN " + sql, String.class, args)));
+        String plan = jdbcTemplate.queryForObject("EXPLAIN (FORMAT JSON) " + sql, String.class, args);
+        Set<String> scanned = new TreeSet<>();
+        collect(objectMapper.readTree(plan).get(0).get("Plan"), scanned);
+        return scanned;
+    }
+
+    private static void collect(JsonNode node, Set<String> scanned) {
+        JsonNode relation = node.get("Relation Name");
+        if (relation != null && relation.asText().matches("(orders|order_item)_p\\d{4}_\\d{2}")) {
+            scanned.add(relation.asText());
+        }
+        JsonNode plans = node.get("Plans");
+        if (plans != null) {
+            plans.forEach(child -> collect(child, scanned));
+        }
+    }
+
+    /**
+     * @return The scanned partitions of the given month or later
+     */
+    private static Set<String> monthsFrom(YearMonth month, Set<String> scanned) {
+        Set<String> later = new TreeSet<>();
+        for (String partition : scanned) {
+            String suffix = partition.substring(partition.lastIndexOf("_p") + 2);
+            if (suffix.compareTo(month.format(SUFFIX)) >= 0) {
+                later.add(partition);
+            }
+        }
+        return later;
+    }
+
+    private static String partition(String table, YearMonth month) {
+        return table + "_p" + month.format(SUFFIX);
+    }
+}
@@ -0,0 +1,130 @@
+package com.ordermanagement.orderapp.services;
+
+import com.ordermanagement.orderapp.dto.EmailFilterStatsDTO;
+import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.service.CustomerEmailFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for CustomerEmailFilter
+ * Tests lookups and false-positive rates of a filter built from a mocked repository
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Customer Email Filter Unit Tests")
+class CustomerEmailFilterTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Test
+    @DisplayName("Should contain every built and added email, lowercased and trimmed")
+    void testContainsBuiltAndAddedEmails() {
+        // Given
+        CustomerEmailFilter filter = new CustomerEmailFilter(customerRepository, true, 1_000, 0.01);
+        assertTrue(filter.mightContain("anyone@example.com"));
+        when(customerRepository.findEmailsAfter(anyLong(), any(Limit.class)))
+                .thenReturn(List.of(row(1L, "Juan.Perez@example.com"), row(2L, "ana@example.com")));
+
+        // When
+        filter.build();
+        filter.add(" Luis@Example.com ");
+
+        // Then
+        assertTrue(filter.mightContain("juan.perez@example.com"));
+        assertTrue(filter.mightContain("ANA@example.com"));
+        assertTrue(filter.mightContain("luis@example.com"));
+        assertFalse(filter.mightContain("nobody@example.com"));
+        EmailFilterStatsDTO stats = filter.stats();
+        assertTrue(stats.isReady());
+        assertEquals(3, stats.getInsertions());
+        assertEquals(1, stats.getDefiniteNegatives());
+    }
+
+    @Test
+    @DisplayName("Should keep false positives near the configured rate at the expected size")
+    void testFalsePositiveRate() {
+        // Given - two pages of emails
+        List<CustomerRepository.EmailRow> rows = IntStream.rangeClosed(1, 10_000)
+                .mapToObj(i -> row((long) i, "customer" + i + "@example.com"))
+                .toList();
+        when(customerRepository.findEmailsAfter(eq(0L), any(Limit.class))).thenReturn(rows.subList(0, 1_000));
+        when(customerRepository.findEmailsAfter(eq(1_000L), any(Limit.class))).thenReturn(rows.subList(1_000, 10_000));
+        CustomerEmailFilter filter = new CustomerEmailFilter(customerRepository, true, 10_000, 0.01);
+
+        // When
+        filter.build();
+
+        // Then
+        rows.forEach(row -> assertTrue(filter.mightContain(row.getEmail())));
+        long falsePositives = IntStream.rangeClosed(1, 100_000)
+                .filter(i -> filter.mightContain("someone" + i + "@example.org"))
+                .count();
+        assertTrue(falsePositives < 2_000, "False positives: " + falsePositives);
+        EmailFilterStatsDTO stats = filter.stats();
+        assertEquals(10_000, stats.getInsertions());
+        assertEquals(0.01, stats.getExpectedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    @DisplayName("Should drop emails no customer has any more on rebuild")
+    void testRebuild() {
+        // Given
+        CustomerEmailFilter filter = new CustomerEmailFilter(customerRepository, true, 1_000, 0.01);
+        List<CustomerRepository.EmailRow> rows = new ArrayList<>(List.of(row(1L, "old@example.com")));
+        when(customerRepository.findEmailsAfter(anyLong(), any(Limit.class))).thenAnswer(invocation -> List.copyOf(rows));
+        filter.build();
+        filter.mightContain("old@example.com");
+        filter.recordFalsePositive();
+
+        // When
+        rows.set(0, row(1L, "new@example.com"));
+        EmailFilterStatsDTO stats = filter.rebuild();
+
+        // Then
+        assertFalse(filter.mightContain("old@example.com"));
+        assertTrue(filter.mightContain("new@example.com"));
+        assertEquals(1, stats.getInsertions());
+        assertEquals(0, stats.getFalsePositives());
+    }
+
+    @Test
+    @DisplayName("Should treat every email as possibly taken when disabled")
+    void testDisabled() {
+        CustomerEmailFilter filter = new CustomerEmailFilter(customerRepository, false, 1_000, 0.01);
+
+        filter.build();
+
+        assertTrue(filter.mightContain("nobody@example.com"));
+        assertFalse(filter.stats().isEnabled());
+        assertThrows(IllegalArgumentException.class, filter::rebuild);
+    }
+
+    private static CustomerRepository.EmailRow row(Long id, String email) {
+        return new CustomerRepository.EmailRow() {
+            @Override
+            public Long getId() {
+                return id;
+            }
+
+            @Override
+            public String getEmail() {
+                return email;
+            }
+        };
+    }
+}
@@ -2,7 +2,10 @@ package com.ordermanagement.orderapp.services;
 
 import com.ordermanagement.orderapp.entity.Customer;
 import com.ordermanagement.orderapp.repository.CustomerRepository;
+import com.ordermanagement.orderapp.service.CustomerEmailFilter;
+import com.ordermanagement.orderapp.service.CustomerOrderSummaryService;
 import com.ordermanagement.orderapp.service.CustomerService;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,7 +13,9 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 
+import java.sql.SQLException;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -28,6 +33,12 @@ class CustomerServiceTest {
     @Mock
     private CustomerRepository customerRepository;
 
+    @Mock
+    private CustomerOrderSummaryService customerOrderSummaryService;
+
+    @Mock
+    private CustomerEmailFilter customerEmailFilter;
+
     @InjectMocks
     private CustomerService customerService;
 
@@ -46,23 +57,63 @@ class CustomerServiceTest {
     @DisplayName("Should create customer successfully")
     void testCreateCustomer_Success() {
         // Given
+        when(customerEmailFilter.mightContain(testCustomer.getEmail())).thenReturn(true);
         when(customerRepository.existsByEmail(testCustomer.getEmail())).thenReturn(false);
-        when(customerRepository.save(any(Customer.class))).thenReturn(testCustomer);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
 
         // When
         Customer result = customerService.createCustomer(testCustomer);
 
         // Then
         assertNotNull(result);
+        verify(customerOrderSummaryService).initialize(1L);
         assertEquals("Juan Pérez", result.getName());
         assertEquals("juan.perez@example.com", result.getEmail());
-        verify(customerRepository, times(1)).save(any(Customer.class));
+        verify(customerRepository, times(1)).saveAndFlush(any(Customer.class));
+        verify(customerEmailFilter).recordFalsePositive();
+        verify(customerEmailFilter).add("juan.perez@example.com");
+    }
+
+    @Test
+    @DisplayName("Should skip the email lookup when the filter rules the email out")
+    void testCreateCustomer_EmailFilterNegative() {
+        // Given
+        when(customerEmailFilter.mightContain(testCustomer.getEmail())).thenReturn(false);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenReturn(testCustomer);
+
+        // When
+        Customer result = customerService.createCustomer(testCustomer);
+
+        // Then
+        assertEquals(1L, result.getId());
+        verify(customerRepository, never()).existsByEmail(any());
+        verify(customerEmailFilter, never()).recordFalsePositive();
+    }
+
+    @Test
+    @DisplayName("Should report a duplicate email caught by the unique constraint")
+    void testCreateCustomer_UniqueConstraint() {
+        // Given - a customer with the email committed after the filter was checked
+        when(customerEmailFilter.mightContain(testCustomer.getEmail())).thenReturn(false);
+        when(customerRepository.saveAndFlush(any(Customer.class))).thenThrow(new DataIntegrityViolationException(
+                "duplicate", new ConstraintViolationException("duplicate", new SQLException(),
+                ConstraintViolationException.ConstraintKind.UNIQUE, "customer_email")));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> customerService.createCustomer(testCustomer)
+        );
+
+        assertTrue(exception.getMessage().contains("Email already exists"));
+        verify(customerOrderSummaryService, never()).initialize(any());
     }
 
     @Test
     @DisplayName("Should throw exception when email already exists")
     void testCreateCustomer_DuplicateEmail() {
         // Given
+        when(customerEmailFilter.mightContain(testCustomer.getEmail())).thenReturn(true);
         when(customerRepository.existsByEmail(testCustomer.getEmail())).thenReturn(true);
 
         // When & Then
@@ -72,7 +123,7 @@ class CustomerServiceTest {
         );
 
         assertTrue(exception.getMessage().contains("Email already exists"));
-        verify(customerRepository, never()).save(any(Customer.class));
+        verify(customerRepository, never()).saveAndFlush(any(Customer.class));
     }
 
     @Test
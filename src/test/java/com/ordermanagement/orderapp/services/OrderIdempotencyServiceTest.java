@@ -0,0 +1,190 @@
+package com.ordermanagement.orderapp.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import com.ordermanagement.orderapp.entity.IdempotencyRecord;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.service.IdempotencyRecordService;
+import com.ordermanagement.orderapp.service.OrderIdempotencyService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderIdempotencyService
+ * Tests replays from memory and from the store, concurrent duplicates and key reuse
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Idempotency Service Unit Tests")
+class OrderIdempotencyServiceTest {
+
+    private static final String KEY = "retry-1";
+
+    @Mock
+    private IdempotencyRecordService idempotencyRecordService;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private OrderIdempotencyService orderIdempotencyService;
+    private OrderCreatedDTO request;
+    private OrderResponseDTO order;
+
+    @BeforeEach
+    void setUp() {
+        orderIdempotencyService = new OrderIdempotencyService(idempotencyRecordService, objectMapper,
+                Duration.ofHours(24), Duration.ofSeconds(5), 100, Duration.ofMinutes(10));
+        request = new OrderCreatedDTO(1L, List.of(new OrderItemDTO(2L, 3)));
+        order = new OrderResponseDTO(10L, 1L, "John Doe", "john@example.com", List.of(),
+                Money.of("300.00"), "PENDING", LocalDateTime.of(2025, 1, 1, 12, 0), null);
+    }
+
+    @Test
+    @DisplayName("Should create the order once and replay it from memory")
+    void testCreateOrder_ReplayFromMemory() {
+        // Given
+        when(idempotencyRecordService.find(KEY)).thenReturn(Optional.empty());
+        when(idempotencyRecordService.createOrder(eq(KEY), anyString(), any(), eq(request))).thenReturn(order);
+
+        // When
+        OrderIdempotencyService.Result first = orderIdempotencyService.createOrder(KEY, request);
+        OrderIdempotencyService.Result retry = orderIdempotencyService.createOrder(KEY,
+                new OrderCreatedDTO(1L, List.of(new OrderItemDTO(2L, 3))));
+
+        // Then
+        assertFalse(first.isReplayed());
+        assertTrue(retry.isReplayed());
+        assertSame(order, retry.getOrder());
+        verify(idempotencyRecordService, times(1)).createOrder(any(), any(), any(), any());
+        verify(idempotencyRecordService, times(1)).find(KEY);
+    }
+
+    @Test
+    @DisplayName("Should replay a response stored by another instance")
+    void testCreateOrder_ReplayFromStore() throws Exception {
+        // Given - another instance claimed the key while this one was inserting
+        String requestHash = storedHash();
+        when(idempotencyRecordService.find(KEY))
+                .thenReturn(Optional.empty())
+                .thenReturn(Optional.of(new IdempotencyRecord(KEY, requestHash, 10L,
+                        objectMapper.writeValueAsString(order), LocalDateTime.now(), LocalDateTime.now().plusDays(1))));
+        when(idempotencyRecordService.createOrder(eq(KEY), anyString(), any(), eq(request)))
+                .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        OrderIdempotencyService.Result result = orderIdempotencyService.createOrder(KEY, request);
+
+        // Then
+        assertTrue(result.isReplayed());
+        assertEquals(10L, result.getOrder().getId());
+        assertEquals(Money.of("300.00"), result.getOrder().getTotalAmount());
+    }
+
+    @Test
+    @DisplayName("Should reject a key reused for a different order")
+    void testCreateOrder_KeyReused() {
+        // Given
+        when(idempotencyRecordService.find(KEY)).thenReturn(Optional.empty());
+        when(idempotencyRecordService.createOrder(eq(KEY), anyString(), any(), eq(request))).thenReturn(order);
+        orderIdempotencyService.createOrder(KEY, request);
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                orderIdempotencyService.createOrder(KEY, new OrderCreatedDTO(1L, List.of(new OrderItemDTO(2L, 4)))));
+        assertEquals("Idempotency-Key retry-1 was already used for a different order", exception.getMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject a blank or too long key")
+    void testCreateOrder_InvalidKey() {
+        assertThrows(IllegalArgumentException.class, () -> orderIdempotencyService.createOrder(" ", request));
+        assertThrows(IllegalArgumentException.class, () -> orderIdempotencyService.createOrder("k".repeat(256), request));
+        verifyNoInteractions(idempotencyRecordService);
+    }
+
+    @Test
+    @DisplayName("Should make a concurrent duplicate wait for the running request")
+    void testCreateOrder_ConcurrentDuplicateWaits() throws Exception {
+        // Given - the first request is inside createOrder until released
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(idempotencyRecordService.find(KEY)).thenReturn(Optional.empty());
+        when(idempotencyRecordService.createOrder(eq(KEY), anyString(), any(), eq(request))).thenAnswer(invocation -> {
+            entered.countDown();
+            release.await();
+            return order;
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<OrderIdempotencyService.Result> first = executor.submit(() -> orderIdempotencyService.createOrder(KEY, request));
+            entered.await();
+
+            // When
+            Future<OrderIdempotencyService.Result> duplicate = executor.submit(() -> orderIdempotencyService.createOrder(KEY, request));
+            release.countDown();
+
+            // Then
+            assertFalse(first.get().isReplayed());
+            assertTrue(duplicate.get().isReplayed());
+            assertSame(order, duplicate.get().getOrder());
+            verify(idempotencyRecordService, times(1)).createOrder(any(), any(), any(), any());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run the order again when the earlier request with the key failed")
+    void testCreateOrder_RetryAfterFailure() {
+        // Given
+        when(idempotencyRecordService.find(KEY)).thenReturn(Optional.empty());
+        when(idempotencyRecordService.createOrder(eq(KEY), anyString(), any(), eq(request)))
+                .thenThrow(new IllegalArgumentException("Customer not found with id: 1"))
+                .thenReturn(order);
+
+        // When
+        assertThrows(IllegalArgumentException.class, () -> orderIdempotencyService.createOrder(KEY, request));
+        OrderIdempotencyService.Result retry = orderIdempotencyService.createOrder(KEY, request);
+
+        // Then
+        assertFalse(retry.isReplayed());
+        assertSame(order, retry.getOrder());
+    }
+
+    /**
+     * Captures the hash the service computes for the request, as stored by the first instance.
+     */
+    private String storedHash() {
+        String[] hash = new String[1];
+        IdempotencyRecordService probe = mock(IdempotencyRecordService.class);
+        when(probe.find(KEY)).thenReturn(Optional.empty());
+        when(probe.createOrder(eq(KEY), anyString(), any(), any())).thenAnswer(invocation -> {
+            hash[0] = invocation.getArgument(1);
+            return order;
+        });
+        new OrderIdempotencyService(probe, objectMapper, Duration.ofHours(24), Duration.ofSeconds(5), 100,
+                Duration.ofMinutes(10)).createOrder(KEY, request);
+        return hash[0];
+    }
+}
@@ -0,0 +1,218 @@
+package com.ordermanagement.orderapp.services;
+
+import com.ordermanagement.orderapp.dto.OrderBatchResultDTO;
+import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
+import com.ordermanagement.orderapp.dto.OrderIntakeDTO;
+import com.ordermanagement.orderapp.dto.OrderItemDTO;
+import com.ordermanagement.orderapp.entity.OrderIntakeRecord;
+import com.ordermanagement.orderapp.exception.OrderIntakeFullException;
+import com.ordermanagement.orderapp.service.OrderIntakeRecordService;
+import com.ordermanagement.orderapp.service.OrderIntakeService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderIntakeService
+ * Tests group commit of queued orders, backpressure, shutdown and tracking across instances
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Intake Service Unit Tests")
+class OrderIntakeServiceTest {
+
+    @Mock
+    private OrderIntakeRecordService orderIntakeRecordService;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicLong nextOrderId = new AtomicLong(1);
+    private final CountDownLatch firstBatchEntered = new CountDownLatch(1);
+    private final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+    private final Map<String, OrderIntakeRecord> records = new ConcurrentHashMap<>();
+
+    private OrderIntakeService orderIntakeService;
+
+    @BeforeEach
+    void setUp() {
+        orderIntakeService = new OrderIntakeService(orderIntakeRecordService, meterRegistry, true, 3, 10,
+                Duration.ZERO, Duration.ofHours(1));
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseFirstBatch.countDown();
+        orderIntakeService.stop();
+    }
+
+    @Test
+    @DisplayName("Should create the orders queued behind a running batch in one transaction")
+    void testGroupCommit() throws Exception {
+        // Given - the writer is busy with the first order
+        blockFirstBatch();
+        orderIntakeService.start();
+        OrderIntakeDTO first = orderIntakeService.submit(order(1));
+        firstBatchEntered.await();
+        List<OrderIntakeDTO> queued = List.of(orderIntakeService.submit(order(2)),
+                orderIntakeService.submit(order(-1)), orderIntakeService.submit(order(3)));
+        assertEquals(3, orderIntakeService.getQueueDepth());
+
+        // When
+        releaseFirstBatch.countDown();
+        orderIntakeService.stop();
+
+        // Then
+        verify(orderIntakeRecordService, times(2)).createOrders(any(), any(), any());
+        DistributionSummary batchSizes = meterRegistry.get("orderapp.orders.intake.batch.size").summary();
+        assertEquals(2, batchSizes.count());
+        assertEquals(3, batchSizes.max());
+
+        assertEquals(OrderIntakeDTO.Status.CREATED, status(first).getStatus());
+        assertEquals(OrderIntakeDTO.Status.CREATED, status(queued.get(0)).getStatus());
+        OrderIntakeDTO failed = status(queued.get(1));
+        assertEquals(OrderIntakeDTO.Status.FAILED, failed.getStatus());
+        assertEquals("Product not found with id: -1", failed.getError());
+        assertEquals(3L, status(queued.get(2)).getOrderId());
+    }
+
+    @Test
+    @DisplayName("Should reject orders while the queue is full")
+    void testBackpressure() throws Exception {
+        // Given - the writer is busy and the queue holds three orders
+        blockFirstBatch();
+        orderIntakeService.start();
+        orderIntakeService.submit(order(1));
+        firstBatchEntered.await();
+        for (int i = 0; i < 3; i++) {
+            orderIntakeService.submit(order(1));
+        }
+
+        // When & Then
+        assertThrows(OrderIntakeFullException.class, () -> orderIntakeService.submit(order(1)));
+        assertEquals(1.0, meterRegistry.get("orderapp.orders.intake.rejected").counter().count());
+        assertEquals(3.0, meterRegistry.get("orderapp.orders.intake.queue.depth").gauge().value());
+    }
+
+    @Test
+    @DisplayName("Should not accept orders when the intake is disabled")
+    void testDisabled() {
+        // Given
+        OrderIntakeService disabled = new OrderIntakeService(orderIntakeRecordService, new SimpleMeterRegistry(), false, 3, 10,
+                Duration.ZERO, Duration.ofHours(1));
+
+        // When
+        disabled.start();
+
+        // Then
+        assertFalse(disabled.isEnabled());
+        assertFalse(disabled.isRunning());
+        assertThrows(OrderIntakeFullException.class, () -> disabled.submit(order(1)));
+        verifyNoInteractions(orderIntakeRecordService);
+    }
+
+    @Test
+    @DisplayName("Should report QUEUED on the accepting instance only, and the outcome on any instance")
+    void testTrackingAcrossInstances() throws Exception {
+        // Given - another instance sharing the store
+        OrderIntakeService other = new OrderIntakeService(orderIntakeRecordService, new SimpleMeterRegistry(), true, 3, 10,
+                Duration.ZERO, Duration.ofHours(1));
+        blockFirstBatch();
+        orderIntakeService.start();
+        OrderIntakeDTO queued = orderIntakeService.submit(order(1));
+        firstBatchEntered.await();
+
+        // Then - only the accepting instance knows the order while its batch is being written
+        assertEquals(OrderIntakeDTO.Status.QUEUED, status(queued).getStatus());
+        assertTrue(other.getStatus(queued.getTrackingId()).isEmpty());
+
+        // When
+        releaseFirstBatch.countDown();
+        orderIntakeService.stop();
+
+        // Then
+        assertEquals(OrderIntakeDTO.Status.CREATED, other.getStatus(queued.getTrackingId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    @DisplayName("Should record every order of a batch that could not be stored as failed")
+    void testBatchFailure() {
+        // Given
+        when(orderIntakeRecordService.createOrders(any(), any(), any()))
+                .thenThrow(new IllegalStateException("Connection refused"));
+        doAnswer(invocation -> {
+            invocation.<List<String>>getArgument(0).forEach(trackingId -> records.put(trackingId,
+                    new OrderIntakeRecord(trackingId, null, invocation.getArgument(1), null, null)));
+            return null;
+        }).when(orderIntakeRecordService).recordFailed(any(), any(), any());
+        stubFind();
+        orderIntakeService.start();
+        OrderIntakeDTO queued = orderIntakeService.submit(order(1));
+
+        // When
+        orderIntakeService.stop();
+
+        // Then
+        OrderIntakeDTO failed = status(queued);
+        assertEquals(OrderIntakeDTO.Status.FAILED, failed.getStatus());
+        assertEquals("Order could not be stored: Connection refused", failed.getError());
+    }
+
+    /**
+     * Makes the first createOrders call wait until released; every call creates its orders
+     * with increasing IDs except those with a negative product ID, and stores their outcomes.
+     */
+    private void blockFirstBatch() {
+        when(orderIntakeRecordService.createOrders(any(), any(), any())).thenAnswer(invocation -> {
+            if (firstBatchEntered.getCount() > 0) {
+                firstBatchEntered.countDown();
+                releaseFirstBatch.await();
+            }
+            List<String> trackingIds = invocation.getArgument(0);
+            List<OrderBatchResultDTO> results = invocation.<List<OrderCreatedDTO>>getArgument(1).stream()
+                    .map(dto -> {
+                        Long productId = dto.getItems().get(0).getId();
+                        return productId < 0
+                                ? OrderBatchResultDTO.failure("Product not found with id: " + productId)
+                                : OrderBatchResultDTO.success(nextOrderId.getAndIncrement());
+                    })
+                    .collect(Collectors.toList());
+            for (int i = 0; i < results.size(); i++) {
+                records.put(trackingIds.get(i), new OrderIntakeRecord(trackingIds.get(i), results.get(i).getOrderId(),
+                        results.get(i).getError(), LocalDateTime.now(), invocation.getArgument(2)));
+            }
+            return results;
+        });
+        stubFind();
+    }
+
+    private void stubFind() {
+        lenient().when(orderIntakeRecordService.find(any()))
+                .thenAnswer(invocation -> Optional.ofNullable(records.get(invocation.<String>getArgument(0))));
+    }
+
+    private OrderIntakeDTO status(OrderIntakeDTO queued) {
+        return orderIntakeService.getStatus(queued.getTrackingId()).orElseThrow();
+    }
+
+    private static OrderCreatedDTO order(long productId) {
+        return new OrderCreatedDTO(1L, List.of(new OrderItemDTO(productId, 1)));
+    }
+}
@@ -0,0 +1,163 @@
+package com.ordermanagement.orderapp.services;
+
+import com.ordermanagement.orderapp.service.OrderPartitionMaintenanceJob;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for OrderPartitionMaintenanceJob
+ * Tests the partition DDL issued for a mocked PostgreSQL catalog, and the lock between instances
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Partition Maintenance Job Unit Tests")
+class OrderPartitionMaintenanceJobTest {
+
+    private static final YearMonth CURRENT = YearMonth.of(2025, 12);
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    @Mock
+    private Connection connection;
+
+    @Mock
+    private DatabaseMetaData metaData;
+
+    @Mock
+    private Statement statement;
+
+    @Mock
+    private ResultSet resultSet;
+
+    @Test
+    @DisplayName("Should create the missing partitions of the current and next months")
+    void testCreateMissingPartitions() {
+        // Given
+        partitions("orders", "orders_p2025_11", "orders_p2025_12");
+        partitions("order_item", "order_item_p2025_11", "order_item_p2025_12");
+        OrderPartitionMaintenanceJob job = new OrderPartitionMaintenanceJob(jdbcTemplate, 2, 0);
+
+        // When
+        job.maintain(CURRENT);
+
+        // Then
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS orders_p2026_01 PARTITION OF orders " +
+                "FOR VALUES FROM ('2026-01-01') TO ('2026-02-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS order_item_p2026_01 PARTITION OF order_item " +
+                "FOR VALUES FROM ('2026-01-01') TO ('2026-02-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS orders_p2026_02 PARTITION OF orders " +
+                "FOR VALUES FROM ('2026-02-01') TO ('2026-03-01')");
+        verify(jdbcTemplate).execute("CREATE TABLE IF NOT EXISTS order_item_p2026_02 PARTITION OF order_item " +
+                "FOR VALUES FROM ('2026-02-01') TO ('2026-03-01')");
+        verify(jdbcTemplate, never()).execute(contains("2025_12 PARTITION"));
+        verify(jdbcTemplate, never()).execute(contains("DETACH"));
+    }
+
+    @Test
+    @DisplayName("Should detach the items, then the orders, of months past the retention")
+    void testDetachExpiredPartitions() {
+        // Given
+        partitions("orders", "orders_p2025_09", "orders_p2025_10", "orders_p2025_11", "orders_p2025_12",
+                "orders_p2026_01", "orders_default");
+        partitions("order_item", "order_item_p2025_09", "order_item_p2025_10", "order_item_p2025_11",
+                "order_item_p2025_12", "order_item_p2026_01");
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq("order_item_p2025_09")))
+                .thenReturn(List.of("order_item_order_id_order_created_at_fkey"));
+        OrderPartitionMaintenanceJob job = new OrderPartitionMaintenanceJob(jdbcTemplate, 1, 2);
+
+        // When
+        job.maintain(CURRENT);
+
+        // Then
+        InOrder inOrder = inOrder(jdbcTemplate);
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE order_item DETACH PARTITION order_item_p2025_09 CONCURRENTLY");
+        inOrder.verify(jdbcTemplate).execute(
+                "ALTER TABLE order_item_p2025_09 DROP CONSTRAINT \"order_item_order_id_order_created_at_fkey\"");
+        inOrder.verify(jdbcTemplate).execute("ALTER TABLE orders DETACH PARTITION orders_p2025_09 CONCURRENTLY");
+        verify(jdbcTemplate, never()).execute(contains("2025_10"));
+        verify(jdbcTemplate, never()).execute(contains("orders_default"));
+    }
+
+    @Test
+    @DisplayName("Should skip the run while another instance holds the lock")
+    void testRun_LockedByAnotherInstance() throws Exception {
+        // Given
+        partitionedPostgres();
+        when(resultSet.getBoolean(1)).thenReturn(false);
+        OrderPartitionMaintenanceJob job = new OrderPartitionMaintenanceJob(jdbcTemplate, 2, 1);
+
+        // When
+        job.run();
+
+        // Then
+        verify(statement).executeQuery(contains("pg_try_advisory_lock"));
+        verify(statement, never()).executeQuery(contains("pg_advisory_unlock"));
+        verify(jdbcTemplate, never()).execute(anyString());
+    }
+
+    @Test
+    @DisplayName("Should maintain the partitions under the lock and release it")
+    void testRun_TakesAndReleasesLock() throws Exception {
+        // Given
+        partitionedPostgres();
+        when(resultSet.getBoolean(1)).thenReturn(true);
+        OrderPartitionMaintenanceJob job = new OrderPartitionMaintenanceJob(jdbcTemplate, 1, 0);
+
+        // When
+        job.run();
+
+        // Then
+        InOrder inOrder = inOrder(statement, jdbcTemplate);
+        inOrder.verify(statement).executeQuery(contains("pg_try_advisory_lock"));
+        inOrder.verify(jdbcTemplate).execute(contains("CREATE TABLE IF NOT EXISTS orders_p"));
+        inOrder.verify(statement).executeQuery(contains("pg_advisory_unlock"));
+    }
+
+    @Test
+    @DisplayName("Should reject a configuration creating no partitions ahead")
+    void testInvalidConfiguration() {
+        assertThrows(IllegalArgumentException.class, () -> new OrderPartitionMaintenanceJob(jdbcTemplate, 0, 0));
+        assertThrows(IllegalArgumentException.class, () -> new OrderPartitionMaintenanceJob(jdbcTemplate, 3, -1));
+    }
+
+    /**
+     * A partitioned PostgreSQL database without partitions, whose lock queries answer from {@link #resultSet}.
+     */
+    private void partitionedPostgres() throws Exception {
+        when(jdbcTemplate.execute(ArgumentMatchers.<ConnectionCallback<Object>>any())).thenAnswer(invocation ->
+                invocation.<ConnectionCallback<Object>>getArgument(0).doInConnection(connection));
+        when(connection.getMetaData()).thenReturn(metaData);
+        when(metaData.getDatabaseProductName()).thenReturn("PostgreSQL");
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class))).thenReturn(1L);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+    }
+
+    private void partitions(String table, String... names) {
+        when(jdbcTemplate.queryForList(anyString(), eq(String.class), eq(table))).thenReturn(List.of(names));
+    }
+}
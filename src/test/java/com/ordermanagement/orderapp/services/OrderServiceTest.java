@@ -3,11 +3,19 @@ package com.ordermanagement.orderapp.services;
 import com.ordermanagement.orderapp.dto.OrderCreatedDTO;
 import com.ordermanagement.orderapp.dto.OrderItemDTO;
 import com.ordermanagement.orderapp.dto.OrderResponseDTO;
+import com.ordermanagement.orderapp.dto.OrderRow;
+import com.ordermanagement.orderapp.dto.OrderStatusOutcomeDTO;
+import com.ordermanagement.orderapp.dto.OrderStatusRow;
 import com.ordermanagement.orderapp.entity.Customer;
 import com.ordermanagement.orderapp.entity.Order;
 import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.exception.OrderStatusConflictException;
+import com.ordermanagement.orderapp.money.Money;
 import com.ordermanagement.orderapp.repository.OrderRepository;
+import com.ordermanagement.orderapp.service.AnalyticsRollupService;
+import com.ordermanagement.orderapp.service.CustomerOrderSummaryService;
 import com.ordermanagement.orderapp.service.CustomerService;
+import com.ordermanagement.orderapp.service.OrderEventService;
 import com.ordermanagement.orderapp.service.OrderService;
 import com.ordermanagement.orderapp.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,12 +26,16 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -43,6 +55,15 @@ class OrderServiceTest {
     @Mock
     private ProductService productService;
 
+    @Mock
+    private CustomerOrderSummaryService customerOrderSummaryService;
+
+    @Mock
+    private AnalyticsRollupService analyticsRollupService;
+
+    @Mock
+    private OrderEventService orderEventService;
+
     @InjectMocks
     private OrderService orderService;
 
@@ -60,7 +81,7 @@ class OrderServiceTest {
         testProduct = new Product();
         testProduct.setId(1L);
         testProduct.setName("Laptop");
-        testProduct.setPrice(new BigDecimal("25999.99"));
+        testProduct.setPrice(Money.of("25999.99"));
         testProduct.setIsActive(true);
 
         testOrder = new Order();
@@ -77,7 +98,7 @@ class OrderServiceTest {
         OrderCreatedDTO createDTO = new OrderCreatedDTO(1L, Arrays.asList(itemDTO));
 
         when(customerService.getCustomerById(1L)).thenReturn(testCustomer);
-        when(productService.getProductById(1L)).thenReturn(testProduct);
+        when(productService.getProductsByIds(Set.of(1L))).thenReturn(List.of(testProduct));
         when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
 
         // When
@@ -86,8 +107,10 @@ class OrderServiceTest {
         // Then
         assertNotNull(result);
         verify(customerService, times(1)).getCustomerById(1L);
-        verify(productService, times(1)).getProductById(1L);
+        verify(productService, times(1)).getProductsByIds(Set.of(1L));
         verify(orderRepository, times(1)).save(any(Order.class));
+        verify(customerOrderSummaryService, times(1)).recordOrdersPlaced(List.of(testOrder));
+        verify(orderEventService, times(1)).recordCreated(List.of(testOrder));
     }
 
     @Test
@@ -99,7 +122,7 @@ class OrderServiceTest {
         OrderCreatedDTO createDTO = new OrderCreatedDTO(1L, Arrays.asList(itemDTO));
 
         when(customerService.getCustomerById(1L)).thenReturn(testCustomer);
-        when(productService.getProductById(1L)).thenReturn(testProduct);
+        when(productService.getProductsByIds(Set.of(1L))).thenReturn(List.of(testProduct));
 
         // When & Then
         IllegalArgumentException exception = assertThrows(
@@ -112,18 +135,145 @@ class OrderServiceTest {
     }
 
     @Test
-    @DisplayName("Should update order status successfully")
+    @DisplayName("Should merge duplicate lines and resolve products in one call")
+    void testCreateOrder_MergesDuplicateLines() {
+        // Given
+        OrderCreatedDTO createDTO = new OrderCreatedDTO(1L, Arrays.asList(
+                new OrderItemDTO(1L, 2),
+                new OrderItemDTO(1L, 3)));
+
+        when(customerService.getCustomerById(1L)).thenReturn(testCustomer);
+        when(productService.getProductsByIds(Set.of(1L))).thenReturn(List.of(testProduct));
+        when(orderRepository.save(any(Order.class))).thenAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        OrderResponseDTO result = orderService.createOrder(createDTO);
+
+        // Then
+        assertEquals(1, result.getItems().size());
+        assertEquals(5, result.getItems().get(0).getQuantity());
+        assertEquals(Money.of("129999.95"), result.getTotalAmount());
+        verify(productService, times(1)).getProductsByIds(Set.of(1L));
+    }
+
+    @Test
+    @DisplayName("Should report every missing or inactive product in a single error")
+    void testCreateOrder_ReportsAllInvalidProducts() {
+        // Given
+        testProduct.setIsActive(false);
+        OrderCreatedDTO createDTO = new OrderCreatedDTO(1L, Arrays.asList(
+                new OrderItemDTO(1L, 1),
+                new OrderItemDTO(99L, 1)));
+
+        when(customerService.getCustomerById(1L)).thenReturn(testCustomer);
+        when(productService.getProductsByIds(Set.of(1L, 99L))).thenReturn(List.of(testProduct));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+                IllegalArgumentException.class,
+                () -> orderService.createOrder(createDTO)
+        );
+
+        assertTrue(exception.getMessage().contains("Product is not active: Laptop"));
+        assertTrue(exception.getMessage().contains("Product not found with id: 99"));
+        verify(orderRepository, never()).save(any(Order.class));
+    }
+
+    @Test
+    @DisplayName("Should update order status with a conditional update")
     void testUpdateOrderStatus_Success() {
         // Given
-        when(orderRepository.findById(1L)).thenReturn(Optional.of(testOrder));
-        when(orderRepository.save(any(Order.class))).thenReturn(testOrder);
+        when(orderRepository.findStatusRowById(1L)).thenReturn(Optional.of(statusRow(1L, Order.OrderStatus.PENDING)));
+        when(orderRepository.updateStatus(eq(List.of(1L)), eq(Order.OrderStatus.PENDING),
+                eq(Order.OrderStatus.CONFIRMED), any(LocalDateTime.class))).thenReturn(1);
+        when(orderRepository.findRowsById(1L)).thenReturn(List.of(orderRow(Order.OrderStatus.CONFIRMED)));
 
         // When
         OrderResponseDTO result = orderService.updateOrderStatus(1L, Order.OrderStatus.CONFIRMED);
 
         // Then
-        assertNotNull(result);
-        verify(orderRepository, times(1)).findById(1L);
-        verify(orderRepository, times(1)).save(any(Order.class));
+        assertEquals("CONFIRMED", result.getStatus());
+        verify(orderRepository, never()).findById(any());
+        verify(orderRepository, never()).save(any(Order.class));
+        verify(customerOrderSummaryService, never()).recordOrdersRemoved(any());
+    }
+
+    @Test
+    @DisplayName("Should reject a status transition that is not allowed")
+    void testUpdateOrderStatus_IllegalTransition() {
+        // Given
+        when(orderRepository.findStatusRowById(1L)).thenReturn(Optional.of(statusRow(1L, Order.OrderStatus.DELIVERED)));
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> orderService.updateOrderStatus(1L, Order.OrderStatus.PENDING));
+        assertEquals("Cannot change order status from DELIVERED to PENDING", exception.getMessage());
+        verify(orderRepository, never()).updateStatus(any(), any(), any(), any());
+    }
+
+    @Test
+    @DisplayName("Should report a conflict when the status changed concurrently")
+    void testUpdateOrderStatus_Conflict() {
+        // Given
+        when(orderRepository.findStatusRowById(1L)).thenReturn(Optional.of(statusRow(1L, Order.OrderStatus.PENDING)));
+        when(orderRepository.updateStatus(any(), any(), any(), any())).thenReturn(0);
+
+        // When & Then
+        assertThrows(OrderStatusConflictException.class,
+                () -> orderService.updateOrderStatus(1L, Order.OrderStatus.CONFIRMED));
+    }
+
+    @Test
+    @DisplayName("Should move locked orders with one update per current status")
+    void testUpdateOrderStatuses_Outcomes() {
+        // Given
+        when(orderRepository.lockStatusesByIdIn(List.of(1L, 2L, 3L, 4L, 5L))).thenReturn(List.of(
+                statusRow(1L, Order.OrderStatus.PENDING),
+                statusRow(2L, Order.OrderStatus.PROCESSING),
+                statusRow(3L, Order.OrderStatus.CANCELLED),
+                statusRow(5L, Order.OrderStatus.DELIVERED)));
+        when(orderRepository.updateStatus(any(), any(), any(), any())).thenReturn(1);
+
+        // When
+        List<OrderStatusOutcomeDTO> outcomes =
+                orderService.updateOrderStatuses(List.of(1L, 2L, 3L, 4L, 5L), Order.OrderStatus.CANCELLED);
+
+        // Then
+        assertEquals(List.of(
+                new OrderStatusOutcomeDTO(1L, OrderStatusOutcomeDTO.Outcome.UPDATED, Order.OrderStatus.PENDING),
+                new OrderStatusOutcomeDTO(2L, OrderStatusOutcomeDTO.Outcome.UPDATED, Order.OrderStatus.PROCESSING),
+                new OrderStatusOutcomeDTO(3L, OrderStatusOutcomeDTO.Outcome.UNCHANGED, Order.OrderStatus.CANCELLED),
+                new OrderStatusOutcomeDTO(4L, OrderStatusOutcomeDTO.Outcome.NOT_FOUND, null),
+                new OrderStatusOutcomeDTO(5L, OrderStatusOutcomeDTO.Outcome.ILLEGAL_TRANSITION, Order.OrderStatus.DELIVERED)),
+                outcomes);
+        verify(orderRepository).updateStatus(eq(List.of(1L)), eq(Order.OrderStatus.PENDING),
+                eq(Order.OrderStatus.CANCELLED), any(LocalDateTime.class));
+        verify(orderRepository).updateStatus(eq(List.of(2L)), eq(Order.OrderStatus.PROCESSING),
+                eq(Order.OrderStatus.CANCELLED), any(LocalDateTime.class));
+        verify(customerOrderSummaryService).recordOrdersRemoved(argThat(rows ->
+                rows.stream().map(OrderStatusRow::getId).toList().equals(List.of(1L, 2L))));
+        verify(orderEventService).recordStatusChanged(List.of(1L, 2L));
+    }
+
+    @Test
+    @DisplayName("Should only allow forward steps and cancellation before shipping")
+    void testOrderStatusTransitions() {
+        assertTrue(Order.OrderStatus.PENDING.canTransitionTo(Order.OrderStatus.CONFIRMED));
+        assertTrue(Order.OrderStatus.PROCESSING.canTransitionTo(Order.OrderStatus.CANCELLED));
+        assertTrue(Order.OrderStatus.SHIPPED.canTransitionTo(Order.OrderStatus.DELIVERED));
+        assertFalse(Order.OrderStatus.PENDING.canTransitionTo(Order.OrderStatus.SHIPPED));
+        assertFalse(Order.OrderStatus.SHIPPED.canTransitionTo(Order.OrderStatus.CANCELLED));
+        assertFalse(Order.OrderStatus.CANCELLED.canTransitionTo(Order.OrderStatus.PENDING));
+        assertFalse(Order.OrderStatus.DELIVERED.canTransitionTo(Order.OrderStatus.DELIVERED));
+    }
+
+    private OrderStatusRow statusRow(Long id, Order.OrderStatus status) {
+        return new OrderStatusRow(id, 1L, status, Money.of("100.00"));
+    }
+
+    private OrderRow orderRow(Order.OrderStatus status) {
+        return new OrderRow(1L, 1L, "Juan Pérez", "juan.perez@example.com", LocalDateTime.now(), Money.of("25999.99"),
+                status, LocalDateTime.now(), LocalDateTime.now(), 1L, 1L, "Laptop", LocalDateTime.now(), 1,
+                Money.of("25999.99"));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,97 @@
+package com.ordermanagement.orderapp.services;
+
+import com.ordermanagement.orderapp.dto.OrderStatusOutcomeDTO;
+import com.ordermanagement.orderapp.dto.OrderStatusUpdateDTO;
+import com.ordermanagement.orderapp.dto.OrderStatusUpdateResultDTO;
+import com.ordermanagement.orderapp.entity.Order;
+import com.ordermanagement.orderapp.service.OrderService;
+import com.ordermanagement.orderapp.service.OrderStatusService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for OrderStatusService
+ * Tests how bulk status changes are split into chunks
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Order Status Service Unit Tests")
+class OrderStatusServiceTest {
+
+    @Mock
+    private OrderService orderService;
+
+    private OrderStatusService orderStatusService;
+
+    @BeforeEach
+    void setUp() {
+        orderStatusService = new OrderStatusService(orderService, 2);
+    }
+
+    @Test
+    @DisplayName("Should move listed orders in chunks, once per distinct ID")
+    void testUpdateStatuses_ByIds() {
+        // Given
+        when(orderService.updateOrderStatuses(any(), eq(Order.OrderStatus.CONFIRMED))).thenAnswer(invocation ->
+                invocation.<List<Long>>getArgument(0).stream()
+                        .map(id -> new OrderStatusOutcomeDTO(id, OrderStatusOutcomeDTO.Outcome.UPDATED, Order.OrderStatus.PENDING))
+                        .collect(Collectors.toList()));
+        OrderStatusUpdateDTO request = new OrderStatusUpdateDTO(List.of(3L, 1L, 3L, 2L), null, null, Order.OrderStatus.CONFIRMED);
+
+        // When
+        OrderStatusUpdateResultDTO result = orderStatusService.updateStatuses(request);
+
+        // Then
+        assertEquals(3, result.getUpdated());
+        assertEquals(List.of(3L, 1L, 2L), result.getOutcomes().stream().map(OrderStatusOutcomeDTO::getId).toList());
+        verify(orderService).updateOrderStatuses(List.of(3L, 1L), Order.OrderStatus.CONFIRMED);
+        verify(orderService).updateOrderStatuses(List.of(2L), Order.OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    @DisplayName("Should walk filtered orders chunk by chunk until a chunk is not full")
+    void testUpdateStatuses_ByFilter() {
+        // Given
+        LocalDateTime createdBefore = LocalDateTime.of(2024, 1, 1, 0, 0);
+        when(orderService.updateOrderStatusesByStatus(eq(Order.OrderStatus.CONFIRMED), eq(createdBefore), anyLong(),
+                anyInt(), eq(Order.OrderStatus.PROCESSING)))
+                .thenReturn(List.of(4L, 7L))
+                .thenReturn(List.of(9L));
+        OrderStatusUpdateDTO request = new OrderStatusUpdateDTO(
+                null, Order.OrderStatus.CONFIRMED, createdBefore, Order.OrderStatus.PROCESSING);
+
+        // When
+        OrderStatusUpdateResultDTO result = orderStatusService.updateStatuses(request);
+
+        // Then
+        assertEquals(3, result.getUpdated());
+        verify(orderService).updateOrderStatusesByStatus(Order.OrderStatus.CONFIRMED, createdBefore, 0L, 2, Order.OrderStatus.PROCESSING);
+        verify(orderService).updateOrderStatusesByStatus(Order.OrderStatus.CONFIRMED, createdBefore, 7L, 2, Order.OrderStatus.PROCESSING);
+    }
+
+    @Test
+    @DisplayName("Should require selecting orders either by IDs or by filter")
+    void testUpdateStatuses_InvalidSelection() {
+        assertThrows(IllegalArgumentException.class, () -> orderStatusService.updateStatuses(
+                new OrderStatusUpdateDTO(null, null, null, Order.OrderStatus.CONFIRMED)));
+        assertThrows(IllegalArgumentException.class, () -> orderStatusService.updateStatuses(
+                new OrderStatusUpdateDTO(List.of(1L), Order.OrderStatus.PENDING, null, Order.OrderStatus.CONFIRMED)));
+        assertThrows(IllegalArgumentException.class, () -> orderStatusService.updateStatuses(
+                new OrderStatusUpdateDTO(null, null, LocalDateTime.now(), Order.OrderStatus.CONFIRMED)));
+        verifyNoInteractions(orderService);
+    }
+}
@@ -0,0 +1,98 @@
+package com.ordermanagement.orderapp.services;
+
+import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
+import com.ordermanagement.orderapp.repository.ProductRepository;
+import com.ordermanagement.orderapp.service.ProductSearchIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ProductSearchIndex
+ * Tests matching and ranking over an index built from a mocked repository
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Product Search Index Unit Tests")
+class ProductSearchIndexTest {
+
+    @Mock
+    private ProductRepository productRepository;
+
+    private ProductSearchIndex productSearchIndex;
+
+    @BeforeEach
+    void setUp() {
+        when(productRepository.findByIdGreaterThanOrderByIdAsc(anyLong(), any(Limit.class))).thenReturn(List.of(
+                product(1L, "Laptop Dell XPS 15", "High performance laptop"),
+                product(2L, "Mouse Logitech", "Wireless mouse for laptop"),
+                product(3L, "Laptop", "Entry level"),
+                product(4L, "Teclado Mecánico", "Switches rojos"),
+                product(5L, "Monitor Dell 27", null)));
+        productSearchIndex = new ProductSearchIndex(productRepository);
+        productSearchIndex.build();
+    }
+
+    @Test
+    @DisplayName("Should rank name matches before description matches")
+    void testSearch_Ranking() {
+        // When
+        List<Product> result = productSearchIndex.search("LAPTOP", 10);
+
+        // Then - exact name, then name prefix, then description only
+        assertEquals(List.of(3L, 1L, 2L), ids(result));
+    }
+
+    @Test
+    @DisplayName("Should require every term and honour the limit")
+    void testSearch_AllTermsAndLimit() {
+        assertEquals(List.of(1L), ids(productSearchIndex.search("dell laptop", 10)));
+        assertEquals(List.of(5L), ids(productSearchIndex.search("dell", 1)));
+    }
+
+    @Test
+    @DisplayName("Should ignore case and accents and match two-character word prefixes")
+    void testSearch_Normalization() {
+        assertEquals(List.of(4L), ids(productSearchIndex.search("mecanico", 10)));
+        assertEquals(List.of(4L), ids(productSearchIndex.search("te", 10)));
+        assertTrue(productSearchIndex.search("ca", 10).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should apply writes made outside of a transaction immediately")
+    void testIndexAndRemove() {
+        // When
+        productSearchIndex.index(product(6L, "Laptop Stand", null));
+        productSearchIndex.remove(3L);
+
+        // Then
+        assertEquals(List.of(6L, 1L, 2L), ids(productSearchIndex.search("laptop", 10)));
+        assertEquals(5, productSearchIndex.size());
+    }
+
+    @Test
+    @DisplayName("Should reject a search text without a term of two characters")
+    void testSearch_TooShort() {
+        assertThrows(IllegalArgumentException.class, () -> productSearchIndex.search("a", 10));
+        assertThrows(IllegalArgumentException.class, () -> productSearchIndex.search("laptop", 0));
+    }
+
+    private static Product product(Long id, String name, String description) {
+        return new Product(id, name, description, Money.of("10.00"), true, null);
+    }
+
+    private static List<Long> ids(List<Product> products) {
+        return products.stream().map(Product::getId).toList();
+    }
+}
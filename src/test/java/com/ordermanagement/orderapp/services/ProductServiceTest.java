@@ -1,7 +1,12 @@
 package com.ordermanagement.orderapp.services;
 
+import com.ordermanagement.orderapp.dto.CursorPage;
+import com.ordermanagement.orderapp.dto.PageCursor;
 import com.ordermanagement.orderapp.entity.Product;
+import com.ordermanagement.orderapp.money.Money;
 import com.ordermanagement.orderapp.repository.ProductRepository;
+import com.ordermanagement.orderapp.service.ProductCache;
+import com.ordermanagement.orderapp.service.ProductSearchIndex;
 import com.ordermanagement.orderapp.service.ProductService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -10,8 +15,8 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
-import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -31,6 +36,12 @@ class ProductServiceTest {
     @Mock
     private ProductRepository productRepository;
 
+    @Mock
+    private ProductCache productCache;
+
+    @Mock
+    private ProductSearchIndex productSearchIndex;
+
     @InjectMocks
     private ProductService productService;
 
@@ -42,7 +53,7 @@ class ProductServiceTest {
         testProduct.setId(1L);
         testProduct.setName("Laptop Dell XPS 15");
         testProduct.setDescription("High performance laptop");
-        testProduct.setPrice(new BigDecimal("25999.99"));
+        testProduct.setPrice(Money.of("25999.99"));
         testProduct.setIsActive(true);
     }
 
@@ -58,30 +69,56 @@ class ProductServiceTest {
         // Then
         assertNotNull(result);
         assertEquals("Laptop Dell XPS 15", result.getName());
-        assertEquals(new BigDecimal("25999.99"), result.getPrice());
+        assertEquals(Money.of("25999.99"), result.getPrice());
         assertTrue(result.getIsActive());
         verify(productRepository, times(1)).save(any(Product.class));
     }
 
     @Test
-    @DisplayName("Should get all active products")
+    @DisplayName("Should get a page of active products")
     void testGetActiveProducts_Success() {
         // Given
         Product product1 = new Product();
+        product1.setId(1L);
         product1.setIsActive(true);
         Product product2 = new Product();
+        product2.setId(2L);
         product2.setIsActive(true);
 
-        when(productRepository.findByIsActiveTrue()).thenReturn(Arrays.asList(product1, product2));
+        when(productRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(0L, Limit.of(3)))
+                .thenReturn(Arrays.asList(product1, product2));
 
         // When
-        List<Product> result = productService.getActiveProducts();
+        CursorPage<Product> result = productService.getActiveProducts(null, 2);
 
         // Then
         assertNotNull(result);
-        assertEquals(2, result.size());
-        assertTrue(result.stream().allMatch(Product::getIsActive));
-        verify(productRepository, times(1)).findByIsActiveTrue();
+        assertEquals(2, result.getItems().size());
+        assertTrue(result.getItems().stream().allMatch(Product::getIsActive));
+        assertNull(result.getNextCursor());
+        verify(productRepository, times(1)).findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(0L, Limit.of(3));
+    }
+
+    @Test
+    @DisplayName("Should continue after the cursor of a full page")
+    void testGetActiveProducts_NextPage() {
+        // Given
+        Product product1 = new Product();
+        product1.setId(1L);
+        product1.setIsActive(true);
+        Product product2 = new Product();
+        product2.setId(2L);
+        product2.setIsActive(true);
+
+        when(productRepository.findByIsActiveTrueAndIdGreaterThanOrderByIdAsc(0L, Limit.of(2)))
+                .thenReturn(Arrays.asList(product1, product2));
+
+        // When
+        CursorPage<Product> result = productService.getActiveProducts(null, 1);
+
+        // Then
+        assertEquals(List.of(product1), result.getItems());
+        assertEquals(1L, PageCursor.decode(result.getNextCursor()).getId());
     }
 
     @Test
@@ -90,7 +127,7 @@ class ProductServiceTest {
         // Given
         Product updatedProduct = new Product();
         updatedProduct.setName("Laptop Dell XPS 15 Updated");
-        updatedProduct.setPrice(new BigDecimal("24999.99"));
+        updatedProduct.setPrice(Money.of("24999.99"));
         updatedProduct.setIsActive(true);
 
         when(productRepository.findById(1L)).thenReturn(Optional.of(testProduct));
@@ -102,5 +139,50 @@ class ProductServiceTest {
         // Then
         assertNotNull(result);
         verify(productRepository, times(1)).save(any(Product.class));
+        verify(productCache, times(1)).invalidate(1L);
+        verify(productSearchIndex, times(1)).index(testProduct);
+    }
+
+    @Test
+    @DisplayName("Should search through the index once it is built")
+    void testSearchProducts_FromIndex() {
+        // Given
+        when(productSearchIndex.isReady()).thenReturn(true);
+        when(productSearchIndex.search("dell", 10)).thenReturn(List.of(testProduct));
+
+        // When
+        List<Product> result = productService.searchProductsByName("dell", 10);
+
+        // Then
+        assertEquals(List.of(testProduct), result);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should read product through the cache")
+    void testGetProductById_FromCache() {
+        // Given
+        when(productCache.get(1L)).thenReturn(Optional.of(testProduct));
+
+        // When
+        Product result = productService.getProductById(1L);
+
+        // Then
+        assertSame(testProduct, result);
+        verifyNoInteractions(productRepository);
+    }
+
+    @Test
+    @DisplayName("Should invalidate the cache when deleting a product")
+    void testDeleteProduct_InvalidatesCache() {
+        // Given
+        when(productRepository.existsById(1L)).thenReturn(true);
+
+        // When
+        productService.deleteProduct(1L);
+
+        // Then
+        verify(productRepository, times(1)).deleteById(1L);
+        verify(productCache, times(1)).invalidate(1L);
     }
 }
@@ -0,0 +1,66 @@
+package com.ordermanagement.orderapp.support;
+
+import com.ordermanagement.orderapp.config.SqlCountingStatementInspector;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Hibernate StatementInspector used by the test profile.
+ * Records every SQL statement prepared by Hibernate so tests can assert on query counts,
+ * in addition to the per-request counting of the application's own inspector.
+ */
+public class RecordingStatementInspector extends SqlCountingStatementInspector {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.add(sql.toLowerCase(Locale.ROOT).replaceAll("\\s+", " "));
+        return super.inspect(sql);
+    }
+
+    /**
+     * Forgets every statement recorded so far.
+     */
+    public static void reset() {
+        STATEMENTS.clear();
+    }
+
+    /**
+     * Counts every recorded SELECT statement.
+     *
+     * @return Number of SELECT statements
+     */
+    public static long countSelects() {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select"))
+                .count();
+    }
+
+    /**
+     * Counts the recorded SELECT statements that read from the given table.
+     *
+     * @param table Table name
+     * @return Number of matching statements
+     */
+    public static long countSelectsFrom(String table) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("select") && sql.contains(" from " + table + " "))
+                .count();
+    }
+
+    /**
+     * Counts the recorded INSERT statements into the given table.
+     * With JDBC batching enabled a whole batch is prepared as a single statement.
+     *
+     * @param table Table name
+     * @return Number of matching statements
+     */
+    public static long countInsertsInto(String table) {
+        return STATEMENTS.stream()
+                .filter(sql -> sql.startsWith("insert into " + table + " "))
+                .count();
+    }
+}